@@ -0,0 +1,63 @@
+package com.examble.drone_api.benchmark;
+
+import com.examble.drone_api.config.SimulationClock;
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.model.type.DroneState;
+import com.examble.drone_api.model.type.Priority;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Dados sintéticos reprodutíveis (semente fixa) compartilhados pelos benchmarks.
+ */
+final class BenchmarkFixtures {
+
+    static final long SEED = 42L;
+    private static final int GRID_SIZE = 100;
+
+    private BenchmarkFixtures() {
+    }
+
+    static SimulationClock frozenClock() {
+        return new SimulationClock(Clock.fixed(Instant.parse("2025-01-01T10:00:00Z"), ZoneOffset.UTC), 0);
+    }
+
+    static Drone idleDrone(Random random) {
+        return Drone.builder()
+                .positionX(1)
+                .positionY(1)
+                .weightLimit(10 + random.nextInt(41))
+                .distancePerCargo(20 + random.nextInt(81))
+                .battery(100.0)
+                .state(DroneState.IDLE)
+                .orderList(new ArrayList<>())
+                .build();
+    }
+
+    static Order randomOrder(Random random) {
+        Priority[] priorities = Priority.values();
+        return Order.builder()
+                .destinationX(1 + random.nextInt(GRID_SIZE))
+                .destinationY(1 + random.nextInt(GRID_SIZE))
+                .weight(1 + random.nextInt(10))
+                .priority(priorities[random.nextInt(priorities.length)])
+                .build();
+    }
+
+    static List<Drone> idleFleet(int size) {
+        Random random = new Random(SEED);
+        List<Drone> drones = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Drone drone = idleDrone(random);
+            drone.setId((long) i + 1);
+            drones.add(drone);
+        }
+        return drones;
+    }
+}
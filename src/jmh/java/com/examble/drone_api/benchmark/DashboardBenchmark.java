@@ -0,0 +1,47 @@
+package com.examble.drone_api.benchmark;
+
+import com.examble.drone_api.config.SimulationClock;
+import com.examble.drone_api.dto.DashboardResponseDTO;
+import com.examble.drone_api.service.DashboardServiceImpl;
+import com.examble.drone_api.service.DroneMetricsServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Montagem do dashboard com métricas registradas para toda a frota.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DashboardBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int drones;
+
+    private DashboardServiceImpl dashboardService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SimulationClock clock = BenchmarkFixtures.frozenClock();
+        DroneMetricsServiceImpl metricsService = new DroneMetricsServiceImpl(clock);
+        Random random = new Random(BenchmarkFixtures.SEED);
+        for (long droneId = 1; droneId <= drones; droneId++) {
+            int deliveries = 1 + random.nextInt(20);
+            for (int i = 0; i < deliveries; i++) {
+                metricsService.recordDelivery(droneId, 1000 + random.nextInt(60_000));
+            }
+            metricsService.recordFlightTime(droneId, 10_000 + random.nextInt(600_000));
+        }
+        dashboardService = new DashboardServiceImpl(metricsService, clock);
+    }
+
+    @Benchmark
+    public DashboardResponseDTO getDashboardData() {
+        return dashboardService.getDashboardData();
+    }
+}
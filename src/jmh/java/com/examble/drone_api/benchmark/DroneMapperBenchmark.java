@@ -0,0 +1,49 @@
+package com.examble.drone_api.benchmark;
+
+import com.examble.drone_api.dto.DroneResponseDTO;
+import com.examble.drone_api.mapper.DroneMapper;
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão da frota inteira para DTO, como em {@code GET /api/v1/drones}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DroneMapperBenchmark {
+
+    @Param({"1000", "100000"})
+    public int drones;
+
+    private List<Drone> fleet;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fleet = BenchmarkFixtures.idleFleet(drones);
+        Random random = new Random(BenchmarkFixtures.SEED);
+        for (Drone drone : fleet) {
+            for (int i = random.nextInt(4); i > 0; i--) {
+                Order order = BenchmarkFixtures.randomOrder(random);
+                drone.addCargo(order);
+            }
+        }
+    }
+
+    @Benchmark
+    public void toDTO(Blackhole blackhole) {
+        for (Drone drone : fleet) {
+            DroneResponseDTO dto = DroneMapper.INSTANCE.toDTO(drone);
+            blackhole.consume(dto);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.examble.drone_api.benchmark;
+
+import com.examble.drone_api.repository.DroneRepositoryImpl;
+import com.examble.drone_api.repository.OrderRepositoryImpl;
+import com.examble.drone_api.service.OrderAllocatorImpl;
+import com.examble.drone_api.validation.DroneValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replanejamento completo ({@code allocateOrders}) com frota e fila de pendentes
+ * do mesmo tamanho. A chamada é repetível: ela limpa os planos dos drones ociosos
+ * e redistribui os mesmos pedidos pendentes a cada invocação. Em {@code parallel}
+ * os candidatos de cada pedido são sempre pontuados no pool dedicado.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderAllocatorBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private OrderAllocatorImpl orderAllocator;
+    private ForkJoinPool scoringPool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DroneRepositoryImpl droneRepository = new DroneRepositoryImpl();
+        OrderRepositoryImpl orderRepository = new OrderRepositoryImpl();
+        Random random = new Random(BenchmarkFixtures.SEED);
+        for (int i = 0; i < size; i++) {
+            droneRepository.save(BenchmarkFixtures.idleDrone(random));
+            orderRepository.save(BenchmarkFixtures.randomOrder(random));
+        }
+        scoringPool = new ForkJoinPool();
+        orderAllocator = new OrderAllocatorImpl(orderRepository, droneRepository, new DroneValidator(),
+                scoringPool, parallel ? 0 : Integer.MAX_VALUE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scoringPool.shutdown();
+    }
+
+    @Benchmark
+    public void allocateOrders() {
+        orderAllocator.allocateOrders();
+    }
+}
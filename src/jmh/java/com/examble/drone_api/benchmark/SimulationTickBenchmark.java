@@ -0,0 +1,77 @@
+package com.examble.drone_api.benchmark;
+
+import com.examble.drone_api.config.SimulationClock;
+import com.examble.drone_api.config.SimulationProperties;
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.model.type.Priority;
+import com.examble.drone_api.model.type.SimulationEngineMode;
+import com.examble.drone_api.repository.DroneRepositoryImpl;
+import com.examble.drone_api.repository.OrderRepositoryImpl;
+import com.examble.drone_api.service.DroneMetricsServiceImpl;
+import com.examble.drone_api.service.DroneSimulationServiceImpl;
+import com.examble.drone_api.service.DroneStreamServiceImpl;
+import com.examble.drone_api.service.RoutePlanner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Um tick da simulação ({@code updateDroneStates}) com a frota em operação:
+ * metade dos drones voa em rotas longas e a outra metade está ociosa na base.
+ * A frota é recriada a cada iteração para manter a proporção de estados.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SimulationTickBenchmark {
+
+    // Rotas longas o bastante para a iteração inteira, limitando o total de pedidos em memória
+    private static final int MAX_ORDERS_PER_FLYING_DRONE = 200;
+    private static final int MAX_TOTAL_ORDERS = 2_000_000;
+
+    @Param({"10", "1000", "100000"})
+    public int drones;
+
+    @Param({"POLLING", "EVENT_DRIVEN", "COLUMNAR"})
+    public SimulationEngineMode engine;
+
+    private SimulationClock clock;
+    private DroneSimulationServiceImpl simulationService;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        clock = BenchmarkFixtures.frozenClock();
+        DroneRepositoryImpl droneRepository = new DroneRepositoryImpl();
+        OrderRepositoryImpl orderRepository = new OrderRepositoryImpl();
+        simulationService = new DroneSimulationServiceImpl(droneRepository, orderRepository,
+                new DroneMetricsServiceImpl(clock), clock,
+                new SimulationProperties(engine, 1000, 5, 10, 0),
+                new DroneStreamServiceImpl(new ObjectMapper(), Runnable::run, 64, 0), new RoutePlanner());
+
+        int ordersPerFlyingDrone = Math.max(4, Math.min(MAX_ORDERS_PER_FLYING_DRONE, MAX_TOTAL_ORDERS / drones));
+        Random random = new Random(BenchmarkFixtures.SEED);
+        for (int i = 0; i < drones; i++) {
+            Drone drone = droneRepository.save(BenchmarkFixtures.idleDrone(random));
+            if (i % 2 == 0) {
+                // Vai e volta entre pontos distantes: nunca fica sem rota durante a iteração
+                for (int j = 0; j < ordersPerFlyingDrone; j++) {
+                    int corner = j % 2 == 0 ? 90 : 10;
+                    drone.addCargo(orderRepository.save(new Order(null, corner, corner, 1, Priority.LOW, false)));
+                }
+                simulationService.startDroneFlight(drone).join();
+            }
+        }
+    }
+
+    @Benchmark
+    public int tick() {
+        return simulationService.fastForward(Duration.ofSeconds(1));
+    }
+}
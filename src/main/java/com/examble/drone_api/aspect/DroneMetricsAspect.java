@@ -1,25 +1,29 @@
 package com.examble.drone_api.aspect;
 
 import com.examble.drone_api.service.interfaces.DroneMetricsService;
+import com.examble.drone_api.util.ConcurrentLongLongMap;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.Clock;
 
 @Aspect
 @Component
 @Slf4j
 public class DroneMetricsAspect {
     
+    private static final long NO_FLIGHT_START = Long.MIN_VALUE;
+
     private final DroneMetricsService metricsService;
-    private final ConcurrentHashMap<Long, Long> flightStartTimes = new ConcurrentHashMap<>();
+    private final Clock clock;
+    private final ConcurrentLongLongMap flightStartTimes = new ConcurrentLongLongMap();
     
-    public DroneMetricsAspect(DroneMetricsService metricsService) {
+    public DroneMetricsAspect(DroneMetricsService metricsService, Clock clock) {
         this.metricsService = metricsService;
+        this.clock = clock;
     }
     
     @Around("execution(* com.examble.drone_api.service.DroneSimulationServiceImpl.markOrderAsDelivered(..))")
@@ -34,17 +38,17 @@ public class DroneMetricsAspect {
                 com.examble.drone_api.model.Drone drone = (com.examble.drone_api.model.Drone) args[0];
                 
                 // Calcular tempo de entrega desde o início do voo
-                long currentTime = System.currentTimeMillis();
-                Long flightStartTime = flightStartTimes.get(drone.getId());
+                long currentTime = clock.millis();
+                long flightStartTime = flightStartTimes.get(drone.getId(), NO_FLIGHT_START);
                 
-                if (flightStartTime != null) {
+                if (flightStartTime != NO_FLIGHT_START) {
                     long deliveryTime = currentTime - flightStartTime;
                     
                     // Registrar métrica de entrega
                     metricsService.recordDelivery(drone.getId(), deliveryTime);
                     
                     // Remover o tempo de início do voo após a entrega
-                    flightStartTimes.remove(drone.getId());
+                    flightStartTimes.remove(drone.getId(), NO_FLIGHT_START);
                     
                     log.info("Aspect: Entrega registrada para drone {} em {}ms", drone.getId(), deliveryTime);
                 } else {
@@ -64,7 +68,7 @@ public class DroneMetricsAspect {
     
     @Around("execution(* com.examble.drone_api.service.DroneSimulationServiceImpl.startDroneFlight(..))")
     public Object trackFlightStart(ProceedingJoinPoint joinPoint) throws Throwable {
-        long startTime = System.currentTimeMillis();
+        long startTime = clock.millis();
         
         try {
             // Executar o método original
@@ -100,9 +104,9 @@ public class DroneMetricsAspect {
                 com.examble.drone_api.model.Drone drone = (com.examble.drone_api.model.Drone) args[0];
                 
                 // Calcular tempo total de voo desde o início
-                Long flightStartTime = flightStartTimes.get(drone.getId());
-                if (flightStartTime != null) {
-                    long totalFlightTime = System.currentTimeMillis() - flightStartTime;
+                long flightStartTime = flightStartTimes.get(drone.getId(), NO_FLIGHT_START);
+                if (flightStartTime != NO_FLIGHT_START) {
+                    long totalFlightTime = clock.millis() - flightStartTime;
                     
                     // Registrar métrica de tempo de voo
                     metricsService.recordFlightTime(drone.getId(), totalFlightTime);
@@ -1,5 +1,6 @@
 package com.examble.drone_api.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -7,6 +8,8 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 
 @Configuration
 @EnableAsync
@@ -23,5 +26,34 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
-}
 
+    /**
+     * Envio dos eventos do stream de drones: escritas lentas de um cliente
+     * ocupam estas threads, nunca a thread do tick.
+     */
+    @Bean(name = "droneStreamExecutor")
+    public Executor droneStreamExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("DroneStream-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pontuação paralela dos drones candidatos na alocação gulosa; separado do
+     * pool comum para não disputar threads com streams paralelos de outras partes.
+     */
+    @Bean(name = "allocationScoringPool", destroyMethod = "shutdown")
+    public ForkJoinPool allocationScoringPool(
+            @Value("${drone.allocation.parallel.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("Allocation-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+}
@@ -0,0 +1,52 @@
+package com.examble.drone_api.config;
+
+import com.examble.drone_api.persistence.FleetSnapshotter;
+import com.examble.drone_api.persistence.SnapshotStore;
+import com.examble.drone_api.persistence.StateJournal;
+import com.examble.drone_api.persistence.WalRecovery;
+import com.examble.drone_api.persistence.WriteAheadLog;
+import com.examble.drone_api.repository.interfaces.DroneRepository;
+import com.examble.drone_api.repository.interfaces.OrderRepository;
+import com.examble.drone_api.service.interfaces.DroneMetricsService;
+import com.examble.drone_api.service.interfaces.DroneSimulationService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+@Configuration
+@ConditionalOnProperty(name = "drone.persistence.enabled", havingValue = "true")
+@EnableConfigurationProperties(PersistenceProperties.class)
+public class PersistenceConfig {
+
+    @Bean(destroyMethod = "close")
+    public WriteAheadLog writeAheadLog(PersistenceProperties properties) throws IOException {
+        return new WriteAheadLog(properties.directory().resolve("wal"),
+                properties.wal().segmentSizeMb() * 1024 * 1024,
+                properties.wal().forceOnCommit());
+    }
+
+    @Bean
+    public StateJournal stateJournal(WriteAheadLog writeAheadLog) {
+        return new StateJournal(writeAheadLog);
+    }
+
+    @Bean
+    public FleetSnapshotter fleetSnapshotter(PersistenceProperties properties, WriteAheadLog writeAheadLog,
+                                             DroneRepository droneRepository, OrderRepository orderRepository,
+                                             DroneMetricsService metricsService) throws IOException {
+        return new FleetSnapshotter(new SnapshotStore(properties.directory().resolve("snapshots")), writeAheadLog,
+                droneRepository, orderRepository, metricsService, properties.snapshot().intervalMs());
+    }
+
+    @Bean
+    public WalRecovery walRecovery(StateJournal journal, DroneRepository droneRepository,
+                                   OrderRepository orderRepository, DroneMetricsService metricsService,
+                                   DroneSimulationService simulationService,
+                                   SimulationProperties simulationProperties, FleetSnapshotter fleetSnapshotter) {
+        return new WalRecovery(journal, droneRepository, orderRepository, metricsService, simulationService,
+                simulationProperties, fleetSnapshotter);
+    }
+}
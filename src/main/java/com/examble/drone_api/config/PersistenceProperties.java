@@ -0,0 +1,39 @@
+package com.examble.drone_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * Persistência do estado em disco ({@code drone.persistence.*}).
+ *
+ * @param enabled   liga o log de drones, pedidos e métricas e a recuperação na subida
+ * @param directory diretório dos dados; o log fica no subdiretório {@code wal}
+ * @param wal       parâmetros do log
+ * @param snapshot  parâmetros dos snapshots (subdiretório {@code snapshots})
+ */
+@ConfigurationProperties(prefix = "drone.persistence")
+public record PersistenceProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data") Path directory,
+        @DefaultValue Wal wal,
+        @DefaultValue Snapshot snapshot) {
+
+    /**
+     * @param segmentSizeMb tamanho de cada arquivo de segmento do log, em MB
+     * @param forceOnCommit força os segmentos para o disco em cada commit (fsync);
+     *                      desligado, o log sobrevive à queda do processo, mas não à do sistema
+     */
+    public record Wal(
+            @DefaultValue("64") int segmentSizeMb,
+            @DefaultValue("true") boolean forceOnCommit) {
+    }
+
+    /**
+     * @param intervalMs intervalo entre snapshots da frota, em milissegundos (0 = sem snapshots:
+     *                   o log cresce sem limite e é lido inteiro na subida)
+     */
+    public record Snapshot(@DefaultValue("60000") long intervalMs) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.examble.drone_api.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * Relógio da simulação: avança {@code timeWarp} vezes mais rápido que o relógio
+ * de origem e pode ser adiantado manualmente. Com fator 0 o tempo só anda por
+ * {@link #advance(Duration)}, permitindo rodar a simulação o mais rápido possível.
+ */
+public class SimulationClock extends Clock {
+
+    private record Anchor(long sourceMillis, long simulatedMillis, double timeWarp) {
+        long millisAt(long sourceNow) {
+            return simulatedMillis + (long) ((sourceNow - sourceMillis) * timeWarp);
+        }
+    }
+
+    private final Clock source;
+    private volatile Anchor anchor;
+
+    public SimulationClock(Clock source, double timeWarp) {
+        if (timeWarp < 0) {
+            throw new IllegalArgumentException("Fator de aceleração do tempo não pode ser negativo: " + timeWarp);
+        }
+        this.source = source;
+        long now = source.millis();
+        this.anchor = new Anchor(now, now, timeWarp);
+    }
+
+    @Override
+    public long millis() {
+        return anchor.millisAt(source.millis());
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis());
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return source.getZone();
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return new SimulationClock(source.withZone(zone), 0) {
+            @Override
+            public long millis() {
+                return SimulationClock.this.millis();
+            }
+        };
+    }
+
+    public synchronized void advance(Duration duration) {
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("Não é possível retroceder o relógio da simulação: " + duration);
+        }
+        long now = source.millis();
+        Anchor current = anchor;
+        anchor = new Anchor(now, current.millisAt(now) + duration.toMillis(), current.timeWarp());
+    }
+
+    public synchronized void setTimeWarp(double timeWarp) {
+        if (timeWarp < 0) {
+            throw new IllegalArgumentException("Fator de aceleração do tempo não pode ser negativo: " + timeWarp);
+        }
+        long now = source.millis();
+        anchor = new Anchor(now, anchor.millisAt(now), timeWarp);
+    }
+
+    public double getTimeWarp() {
+        return anchor.timeWarp();
+    }
+}
@@ -0,0 +1,17 @@
+package com.examble.drone_api.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(SimulationProperties.class)
+public class SimulationConfig {
+
+    @Bean
+    public SimulationClock simulationClock(SimulationProperties properties) {
+        return new SimulationClock(Clock.systemDefaultZone(), properties.timeWarp());
+    }
+}
@@ -0,0 +1,23 @@
+package com.examble.drone_api.config;
+
+import com.examble.drone_api.model.type.SimulationEngineMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Parâmetros da simulação ({@code drone.simulation.*}).
+ *
+ * @param engine              motor de simulação (polling ou orientado a eventos)
+ * @param tickMs              duração de um tick, em milissegundos de tempo simulado
+ * @param deliveryTimeSeconds tempo que o drone permanece entregando no destino
+ * @param rechargeTimeSeconds tempo de recarga completa na base
+ * @param timeWarp            aceleração do relógio (1 = tempo real, 0 = avança apenas sob comando)
+ */
+@ConfigurationProperties(prefix = "drone.simulation")
+public record SimulationProperties(
+        @DefaultValue("POLLING") SimulationEngineMode engine,
+        @DefaultValue("1000") long tickMs,
+        @DefaultValue("5") int deliveryTimeSeconds,
+        @DefaultValue("10") int rechargeTimeSeconds,
+        @DefaultValue("1.0") double timeWarp) {
+}
@@ -55,8 +55,20 @@ public class DroneController {
     }
 
     @GetMapping
-    public ResponseEntity<List<DroneResponseDTO>> getAllDrones() {
-        return ResponseEntity.ok(droneService.findAll().stream()
+    public ResponseEntity<List<DroneResponseDTO>> getAllDrones(@RequestParam(required = false) String near,
+                                                               @RequestParam(required = false) Double radius) {
+        List<Drone> drones;
+        if (near == null && radius == null) {
+            drones = droneService.findAll();
+        } else {
+            int[] coordinates = parseCoordinates(near);
+            if (radius == null || radius < 0) {
+                throw new IllegalArgumentException("Parâmetro 'radius' deve ser informado e não negativo");
+            }
+            drones = droneService.findAvailableNear(coordinates[0], coordinates[1], radius);
+        }
+
+        return ResponseEntity.ok(drones.stream()
                 .map(DroneMapper.INSTANCE::toDTO)
                 .toList());
     }
@@ -112,4 +124,16 @@ public class DroneController {
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    private int[] parseCoordinates(String near) {
+        String[] parts = near != null ? near.split(",") : new String[0];
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Parâmetro 'near' deve estar no formato x,y");
+        }
+        try {
+            return new int[]{Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim())};
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parâmetro 'near' deve conter coordenadas inteiras: " + near);
+        }
+    }
 }
@@ -0,0 +1,32 @@
+package com.examble.drone_api.controller;
+
+import com.examble.drone_api.service.interfaces.DroneService;
+import com.examble.drone_api.service.interfaces.DroneStreamService;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Controller
+@RequestMapping("/api/v1/drones")
+public class DroneStreamController {
+
+    DroneService droneService;
+    DroneStreamService droneStreamService;
+
+    public DroneStreamController(DroneService droneService, DroneStreamService droneStreamService) {
+        this.droneService = droneService;
+        this.droneStreamService = droneStreamService;
+    }
+
+    /**
+     * Evento "snapshot" com a frota atual, seguido de um evento "delta" por tick
+     * com os drones alterados e as entregas; "resync" indica eventos perdidos
+     * e traz a frota atual, como o snapshot.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDrones() {
+        return droneStreamService.subscribe(droneService::findAll);
+    }
+}
@@ -0,0 +1,44 @@
+package com.examble.drone_api.controller;
+
+import com.examble.drone_api.dto.LatencyMetricsResponseDTO;
+import com.examble.drone_api.dto.LatencyPercentilesDTO;
+import com.examble.drone_api.exception.ResourceNotFoundException;
+import com.examble.drone_api.model.DroneMetrics;
+import com.examble.drone_api.service.interfaces.DroneMetricsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+@Controller
+@RequestMapping("/api/v1/metricas")
+public class MetricsController {
+
+    DroneMetricsService metricsService;
+
+    public MetricsController(DroneMetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    @GetMapping
+    public ResponseEntity<LatencyMetricsResponseDTO> getFleetLatencies() {
+        return ResponseEntity.ok(new LatencyMetricsResponseDTO(
+                null,
+                metricsService.getTotalDeliveries(),
+                LatencyPercentilesDTO.from(metricsService.getDeliveryTimePercentiles()),
+                LatencyPercentilesDTO.from(metricsService.getFlightTimePercentiles())));
+    }
+
+    @GetMapping("/drones/{id}")
+    public ResponseEntity<LatencyMetricsResponseDTO> getDroneLatencies(@PathVariable Long id) {
+        DroneMetrics metrics = metricsService.getDroneMetrics(id)
+                .orElseThrow(() -> ResourceNotFoundException.droneNotFound(id, "sem métricas registradas"));
+
+        return ResponseEntity.ok(new LatencyMetricsResponseDTO(
+                id,
+                metrics.getDeliveries(),
+                LatencyPercentilesDTO.from(metrics.getDeliveryTimePercentiles()),
+                LatencyPercentilesDTO.from(metrics.getFlightTimePercentiles())));
+    }
+}
@@ -0,0 +1,34 @@
+package com.examble.drone_api.controller;
+
+import com.examble.drone_api.dto.OrderBatchResponseDTO;
+import com.examble.drone_api.service.interfaces.OrderBatchService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Controller
+@RequestMapping("/api/v1/pedidos")
+public class OrderBatchController {
+
+    private final OrderBatchService orderBatchService;
+
+    public OrderBatchController(OrderBatchService orderBatchService) {
+        this.orderBatchService = orderBatchService;
+    }
+
+    /**
+     * Cria pedidos em lote a partir de um array JSON ou de NDJSON (um pedido
+     * por linha). O corpo é lido em streaming; a resposta traz, por item, o id
+     * criado ou os erros de validação.
+     */
+    @PostMapping(value = "/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<OrderBatchResponseDTO> postOrders(InputStream body) throws IOException {
+        return ResponseEntity.ok(orderBatchService.importOrders(body));
+    }
+}
@@ -33,6 +33,12 @@ public class OrderController {
         return ResponseEntity.created(uri).body(OrderMapper.INSTANCE.toDTO(newOrder));
     }
 
+    @PostMapping("/realocar")
+    public ResponseEntity<Void> reallocateOrders() {
+        orderService.reallocateOrders();
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<OrderResponseDTO> getOrder(@PathVariable Long id) {
         Order order = orderService.findById(id)
@@ -0,0 +1,54 @@
+package com.examble.drone_api.controller;
+
+import com.examble.drone_api.service.interfaces.DroneSimulationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Controller
+@RequestMapping("/api/v1/simulacao")
+@Slf4j
+public class SimulationController {
+
+    DroneSimulationService droneSimulationService;
+
+    public SimulationController(DroneSimulationService droneSimulationService) {
+        this.droneSimulationService = droneSimulationService;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getStatus() {
+        return ResponseEntity.ok(status());
+    }
+
+    @PostMapping("/avancar")
+    public ResponseEntity<Map<String, Object>> fastForward(@RequestParam long segundos) {
+        if (segundos <= 0) {
+            throw new IllegalArgumentException("Parâmetro 'segundos' deve ser positivo");
+        }
+        int ticks = droneSimulationService.fastForward(Duration.ofSeconds(segundos));
+
+        Map<String, Object> response = status();
+        response.put("message", "Simulação avançada em " + segundos + " segundos");
+        response.put("ticksProcessed", ticks);
+        return ResponseEntity.ok(response);
+    }
+
+    @PutMapping("/aceleracao")
+    public ResponseEntity<Map<String, Object>> setTimeWarp(@RequestParam double fator) {
+        droneSimulationService.setTimeWarp(fator);
+        return ResponseEntity.ok(status());
+    }
+
+    private Map<String, Object> status() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("simulatedTime", droneSimulationService.getSimulatedTime());
+        response.put("timeWarp", droneSimulationService.getTimeWarp());
+        return response;
+    }
+}
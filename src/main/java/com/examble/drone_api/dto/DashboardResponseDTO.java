@@ -18,6 +18,8 @@ public class DashboardResponseDTO {
     private int mostEfficientDroneDeliveries;
     private double mostEfficientDroneEfficiency;
     private LocalDateTime lastUpdate;
+    private LatencyPercentilesDTO deliveryTimePercentiles;
+    private LatencyPercentilesDTO flightTimePercentiles;
     
     // Métricas detalhadas por drone
     private java.util.Map<Long, DroneMetricsDTO> droneMetrics;
@@ -33,5 +35,7 @@ public class DashboardResponseDTO {
         private double efficiency;
         private LocalDateTime firstDelivery;
         private LocalDateTime lastDelivery;
+        private LatencyPercentilesDTO deliveryTimePercentiles;
+        private LatencyPercentilesDTO flightTimePercentiles;
     }
 }
@@ -0,0 +1,3 @@
+package com.examble.drone_api.dto;
+
+public record DeliveryEventDTO(Long droneId, Long orderId) { }
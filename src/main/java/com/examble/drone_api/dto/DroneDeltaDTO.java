@@ -0,0 +1,19 @@
+package com.examble.drone_api.dto;
+
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.type.DroneState;
+
+/**
+ * Estado compacto de um drone enviado pelo stream: sem a lista de pedidos.
+ */
+public record DroneDeltaDTO(Long id,
+                            int positionX,
+                            int positionY,
+                            double battery,
+                            DroneState state) {
+
+    public static DroneDeltaDTO from(Drone drone) {
+        return new DroneDeltaDTO(drone.getId(), drone.getPositionX(), drone.getPositionY(),
+                drone.getBattery(), drone.getState());
+    }
+}
@@ -0,0 +1,11 @@
+package com.examble.drone_api.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Mudanças de um tick: cada drone aparece uma única vez, com seu estado ao final do tick.
+ */
+public record DroneStreamEventDTO(LocalDateTime simulatedTime,
+                                  List<DroneDeltaDTO> drones,
+                                  List<DeliveryEventDTO> deliveries) { }
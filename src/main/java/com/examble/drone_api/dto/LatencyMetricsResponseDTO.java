@@ -0,0 +1,11 @@
+package com.examble.drone_api.dto;
+
+/**
+ * Percentis de tempo de entrega e de voo da frota ({@code droneId} nulo) ou de um drone.
+ */
+public record LatencyMetricsResponseDTO(
+        Long droneId,
+        int deliveries,
+        LatencyPercentilesDTO deliveryTime,
+        LatencyPercentilesDTO flightTime) {
+}
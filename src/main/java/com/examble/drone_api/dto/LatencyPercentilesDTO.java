@@ -0,0 +1,15 @@
+package com.examble.drone_api.dto;
+
+import com.examble.drone_api.model.LatencySummary;
+
+public record LatencyPercentilesDTO(
+        long count,
+        long p50Ms,
+        long p90Ms,
+        long p99Ms,
+        long maxMs) {
+
+    public static LatencyPercentilesDTO from(LatencySummary summary) {
+        return new LatencyPercentilesDTO(summary.count(), summary.p50(), summary.p90(), summary.p99(), summary.max());
+    }
+}
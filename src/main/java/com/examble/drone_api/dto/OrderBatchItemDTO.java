@@ -0,0 +1,11 @@
+package com.examble.drone_api.dto;
+
+import java.util.Map;
+
+/**
+ * Resultado de um item do lote: o id do pedido criado ou os erros de validação.
+ */
+public record OrderBatchItemDTO(int index,
+                                Long id,
+                                Map<String, String> errors) {
+}
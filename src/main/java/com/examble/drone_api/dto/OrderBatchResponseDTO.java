@@ -0,0 +1,10 @@
+package com.examble.drone_api.dto;
+
+import java.util.List;
+
+public record OrderBatchResponseDTO(int received,
+                                    int created,
+                                    int rejected,
+                                    int allocated,
+                                    List<OrderBatchItemDTO> items) {
+}
@@ -100,6 +100,12 @@ public class OrderAllocationException extends DroneSystemException {
         );
     }
     
+    public static OrderAllocationException unreachableDestination(int destinationX, int destinationY) {
+        return new OrderAllocationException(
+            String.format("Destino (%d,%d) está fora do alcance de todos os drones a partir da base", destinationX, destinationY)
+        );
+    }
+    
     public static OrderAllocationException allocationOptimizationFailed(Long orderId, String reason) {
         return new OrderAllocationException(
             String.format("Falha na otimização de alocação: %s", reason),
@@ -0,0 +1,34 @@
+package com.examble.drone_api.headless;
+
+/**
+ * Resultado de uma execução headless.
+ *
+ * @param allocationLatencyNanos percentis das chamadas a {@code OrderAllocator.allocate}, em nanossegundos
+ */
+public record HeadlessReport(int orders,
+                             int deliveries,
+                             int unassignedOrders,
+                             int trips,
+                             long ticks,
+                             long simulatedSeconds,
+                             long wallNanos,
+                             LatencyPercentiles allocationLatencyNanos) {
+
+    public record LatencyPercentiles(long count, long p50, long p90, long p99, long max) {}
+
+    public double deliveriesPerSecond() {
+        return perWallSecond(deliveries);
+    }
+
+    public double ticksPerSecond() {
+        return perWallSecond(ticks);
+    }
+
+    public double speedup() {
+        return perWallSecond(simulatedSeconds);
+    }
+
+    private double perWallSecond(double value) {
+        return wallNanos > 0 ? value / (wallNanos / 1_000_000_000.0) : 0.0;
+    }
+}
@@ -0,0 +1,20 @@
+package com.examble.drone_api.headless;
+
+import java.util.List;
+
+/**
+ * Cenário da simulação headless: frota, carga de pedidos e duração máxima em tempo simulado.
+ */
+public record HeadlessScenario(List<FleetGroup> fleet, Workload workload, long durationSeconds) {
+
+    /**
+     * Grupo de drones idênticos, todos partindo da base.
+     */
+    public record FleetGroup(int count, int weightLimit, int distancePerCargo) {}
+
+    /**
+     * Pedidos aleatórios (reprodutíveis pela semente) chegando em ondas de
+     * {@code ordersPerWave} a cada {@code waveIntervalSeconds} de tempo simulado.
+     */
+    public record Workload(int orders, int ordersPerWave, long waveIntervalSeconds, int maxWeight, long seed) {}
+}
@@ -0,0 +1,180 @@
+package com.examble.drone_api.headless;
+
+import com.examble.drone_api.dto.DroneCreateRequestDTO;
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.model.type.DroneState;
+import com.examble.drone_api.model.type.Priority;
+import com.examble.drone_api.repository.interfaces.DroneRepository;
+import com.examble.drone_api.repository.interfaces.OrderRepository;
+import com.examble.drone_api.service.interfaces.DroneService;
+import com.examble.drone_api.service.interfaces.DroneSimulationService;
+import com.examble.drone_api.service.interfaces.OrderAllocator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Executa um cenário completo em tempo simulado, sem camada web: cria a frota,
+ * injeta pedidos em ondas, aloca, decola e avança o relógio tick a tick o mais
+ * rápido que a CPU permitir.
+ */
+@Component
+@Profile("headless")
+@Slf4j
+public class HeadlessSimulation {
+
+    private static final int BASE_X = 1;
+    private static final int BASE_Y = 1;
+    private static final int GRID_SIZE = 100;
+
+    private final DroneService droneService;
+    private final DroneRepository droneRepository;
+    private final OrderRepository orderRepository;
+    private final OrderAllocator orderAllocator;
+    private final DroneSimulationService simulationService;
+
+    public HeadlessSimulation(DroneService droneService, DroneRepository droneRepository,
+                              OrderRepository orderRepository, OrderAllocator orderAllocator,
+                              DroneSimulationService simulationService) {
+        this.droneService = droneService;
+        this.droneRepository = droneRepository;
+        this.orderRepository = orderRepository;
+        this.orderAllocator = orderAllocator;
+        this.simulationService = simulationService;
+    }
+
+    public HeadlessReport run(HeadlessScenario scenario) {
+        HeadlessScenario.Workload workload = scenario.workload();
+        if (workload.ordersPerWave() <= 0 || workload.waveIntervalSeconds() <= 0) {
+            throw new IllegalArgumentException("Onda de pedidos deve ter tamanho e intervalo positivos");
+        }
+        createFleet(scenario.fleet());
+
+        Random random = new Random(workload.seed());
+        List<Order> unassigned = new LinkedList<>();
+        LatencyRecorder allocationLatency = new LatencyRecorder(workload.orders());
+        int created = 0;
+        int trips = 0;
+        long ticks = 0;
+        long simulatedSeconds = 0;
+        long wallStart = System.nanoTime();
+
+        while (simulatedSeconds < scenario.durationSeconds()) {
+            for (int i = 0; i < workload.ordersPerWave() && created < workload.orders(); i++, created++) {
+                unassigned.add(orderRepository.save(randomOrder(random, workload.maxWeight())));
+            }
+
+            allocate(unassigned, allocationLatency);
+            trips += launchFlights();
+
+            long step = Math.min(workload.waveIntervalSeconds(), scenario.durationSeconds() - simulatedSeconds);
+            ticks += simulationService.fastForward(Duration.ofSeconds(step));
+            simulatedSeconds += step;
+
+            if (created == workload.orders() && orderRepository.findDelivered().size() == workload.orders()) {
+                break;
+            }
+        }
+
+        return new HeadlessReport(created, orderRepository.findDelivered().size(), unassigned.size(), trips,
+                ticks, simulatedSeconds, System.nanoTime() - wallStart, allocationLatency.percentiles());
+    }
+
+    private void createFleet(List<HeadlessScenario.FleetGroup> fleet) {
+        for (HeadlessScenario.FleetGroup group : fleet) {
+            for (int i = 0; i < group.count(); i++) {
+                droneService.createDrone(new DroneCreateRequestDTO(
+                        group.weightLimit(), group.distancePerCargo(), BASE_X, BASE_Y));
+            }
+        }
+    }
+
+    private Order randomOrder(Random random, int maxWeight) {
+        Priority[] priorities = Priority.values();
+        return Order.builder()
+                .destinationX(1 + random.nextInt(GRID_SIZE))
+                .destinationY(1 + random.nextInt(GRID_SIZE))
+                .weight(1 + random.nextInt(maxWeight))
+                .priority(priorities[random.nextInt(priorities.length)])
+                .build();
+    }
+
+    private void allocate(List<Order> unassigned, LatencyRecorder allocationLatency) {
+        Iterator<Order> iterator = unassigned.iterator();
+        while (iterator.hasNext()) {
+            Order order = iterator.next();
+            long start = System.nanoTime();
+            boolean allocated = orderAllocator.allocate(order).isPresent();
+            allocationLatency.record(System.nanoTime() - start);
+            if (allocated) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private int launchFlights() {
+        List<CompletableFuture<Void>> takeoffs = new ArrayList<>();
+        for (Drone drone : droneRepository.findByDroneState(DroneState.IDLE)) {
+            if (drone.hasOrders()) {
+                takeoffs.add(simulationService.startDroneFlight(drone));
+            }
+        }
+
+        int launched = 0;
+        for (CompletableFuture<Void> takeoff : takeoffs) {
+            try {
+                takeoff.join();
+                launched++;
+            } catch (CompletionException e) {
+                log.debug("Decolagem recusada: {}", e.getCause().getMessage());
+            }
+        }
+        return launched;
+    }
+
+    /**
+     * Amostras de latência em um array que cresce sob demanda; os percentis
+     * são calculados uma única vez ao final da execução.
+     */
+    private static final class LatencyRecorder {
+        private long[] samples;
+        private int size;
+
+        LatencyRecorder(int initialCapacity) {
+            this.samples = new long[Math.max(16, initialCapacity)];
+        }
+
+        void record(long nanos) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = nanos;
+        }
+
+        HeadlessReport.LatencyPercentiles percentiles() {
+            if (size == 0) {
+                return new HeadlessReport.LatencyPercentiles(0, 0, 0, 0, 0);
+            }
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            return new HeadlessReport.LatencyPercentiles(size,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99), sorted[size - 1]);
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)];
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.examble.drone_api.headless;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+
+/**
+ * Ponto de entrada do perfil {@code headless}: lê o cenário, executa a
+ * simulação, registra o relatório de vazão e encerra a aplicação.
+ */
+@Component
+@Profile("headless")
+@Slf4j
+public class HeadlessSimulationRunner implements CommandLineRunner {
+
+    private final HeadlessSimulation simulation;
+    private final ObjectMapper objectMapper;
+    private final ResourceLoader resourceLoader;
+    private final ConfigurableApplicationContext context;
+    private final String scenarioLocation;
+
+    public HeadlessSimulationRunner(HeadlessSimulation simulation, ObjectMapper objectMapper,
+                                    ResourceLoader resourceLoader, ConfigurableApplicationContext context,
+                                    @Value("${drone.headless.scenario}") String scenarioLocation) {
+        this.simulation = simulation;
+        this.objectMapper = objectMapper;
+        this.resourceLoader = resourceLoader;
+        this.context = context;
+        this.scenarioLocation = scenarioLocation;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        HeadlessScenario scenario;
+        try (InputStream input = resourceLoader.getResource(scenarioLocation).getInputStream()) {
+            scenario = objectMapper.readValue(input, HeadlessScenario.class);
+        }
+        log.info("Executando cenário headless {}", scenarioLocation);
+
+        HeadlessReport report = simulation.run(scenario);
+
+        HeadlessReport.LatencyPercentiles latency = report.allocationLatencyNanos();
+        log.info("Tempo simulado: {}s em {}ms ({}x)", report.simulatedSeconds(),
+                report.wallNanos() / 1_000_000, String.format("%.1f", report.speedup()));
+        log.info("Pedidos: {} | entregues: {} | sem drone: {} | viagens: {}",
+                report.orders(), report.deliveries(), report.unassignedOrders(), report.trips());
+        log.info("Vazão: {} entregas/s | {} ticks/s", String.format("%.1f", report.deliveriesPerSecond()),
+                String.format("%.1f", report.ticksPerSecond()));
+        log.info("Latência de alocação ({} chamadas): p50={}µs p90={}µs p99={}µs max={}µs", latency.count(),
+                latency.p50() / 1000, latency.p90() / 1000, latency.p99() / 1000, latency.max() / 1000);
+
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
@@ -14,5 +14,6 @@ public interface OrderMapper {
     OrderResponseDTO toDTO(Order order);
     
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "priority", defaultValue = "LOW")
     Order toEntity(OrderCreateRequestDTO order);
 }
@@ -5,13 +5,11 @@ import com.examble.drone_api.model.type.DroneState;
 import lombok.*;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 
 @Getter
 @Setter
 @Data
-@Builder
 public class Drone {
     private Long id;
     private int positionX, positionY;
@@ -22,28 +20,70 @@ public class Drone {
     private LocalDateTime lastStateChange;
     private LocalDateTime estimatedArrivalTime;
     private List<Order> orderList;
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient DroneChangeListener changeListener;
+
+    @Builder
+    public Drone(Long id, int positionX, int positionY, int weightLimit, int distancePerCargo, double battery,
+                 DroneState state, LocalDateTime lastStateChange, LocalDateTime estimatedArrivalTime,
+                 List<Order> orderList, DroneChangeListener changeListener) {
+        this.id = id;
+        this.positionX = positionX;
+        this.positionY = positionY;
+        this.weightLimit = weightLimit;
+        this.distancePerCargo = distancePerCargo;
+        this.battery = battery;
+        this.state = state;
+        this.lastStateChange = lastStateChange;
+        this.estimatedArrivalTime = estimatedArrivalTime;
+        setOrderList(orderList);
+        this.changeListener = changeListener;
+    }
+
+    /**
+     * Os pedidos são copiados para uma lista que mantém o peso a bordo
+     * atualizado; alterações devem ser feitas pela lista retornada em {@link #getOrderList()}.
+     */
+    public void setOrderList(List<Order> orderList) {
+        int previousTotalWeight = this.orderList != null ? getTotalWeight() : 0;
+        this.orderList = orderList != null ? new DroneCargoList(this, orderList) : new DroneCargoList(this);
+        onCargoChange(previousTotalWeight);
+    }
+
+    /**
+     * Troca a lista de pedidos pela sequência dada (nova rota ou plano
+     * refeito) sem avisar como retirados os pedidos que continuam nela.
+     */
+    public void replaceOrders(List<Order> orders) {
+        ((DroneCargoList) orderList).replaceWith(orders);
+    }
 
     public void addCargo(Order order){
-        if(orderList ==null){
-            orderList = new ArrayList<>();
-        }
         orderList.add(order);
     }
 
     public boolean canCarry(Order order) {
-        int totalWeight = orderList.stream().mapToInt(Order::getWeight).sum();
-        return (totalWeight + order.getWeight()) <= weightLimit;
+        return order.getWeight() <= getRemainingCapacity();
     }
 
     public double calculateDistance(Order order) {
+        return calculateDistance(order.getDestinationX(), order.getDestinationY());
+    }
+
+    public double calculateDistance(int destinationX, int destinationY) {
         return Math.sqrt(
-                Math.pow(order.getDestinationX() - positionX, 2) +
-                        Math.pow(order.getDestinationY() - positionY, 2)
+                Math.pow(destinationX - positionX, 2) +
+                        Math.pow(destinationY - positionY, 2)
         );
     }
 
     public boolean canReach(Order order) {
-        return calculateDistance(order) <= distancePerCargo;
+        return canReach(order.getDestinationX(), order.getDestinationY());
+    }
+
+    public boolean canReach(int destinationX, int destinationY) {
+        return calculateDistance(destinationX, destinationY) <= distancePerCargo;
     }
 
     public void assignOrder(Order order) {
@@ -84,20 +124,75 @@ public class Drone {
         battery -= calculateBatteryConsumption(distance);
         if (battery < 0) battery = 0;
         
+        moveTo(newX, newY);
+    }
+
+    public void setPositionX(int positionX) {
+        moveTo(positionX, this.positionY);
+    }
+
+    public void setPositionY(int positionY) {
+        moveTo(this.positionX, positionY);
+    }
+
+    void onCargoChange(int previousTotalWeight) {
+        if (changeListener != null && previousTotalWeight != getTotalWeight()) {
+            changeListener.onCargoChange(this, previousTotalWeight);
+        }
+    }
+
+    void onOrderAdded(Order order) {
+        if (changeListener != null) {
+            changeListener.onOrderAdded(this, order);
+        }
+    }
+
+    void onOrderRemoved(Order order) {
+        if (changeListener != null) {
+            changeListener.onOrderRemoved(this, order);
+        }
+    }
+
+    private void moveTo(int newX, int newY) {
+        int previousX = this.positionX;
+        int previousY = this.positionY;
         this.positionX = newX;
         this.positionY = newY;
+        if (changeListener != null && (previousX != newX || previousY != newY)) {
+            changeListener.onPositionChange(this, previousX, previousY);
+        }
+    }
+
+    public void changeState(DroneState newState, LocalDateTime changedAt) {
+        // O horário vem antes para que o observador da mudança já o veja
+        this.lastStateChange = changedAt;
+        setState(newState);
     }
 
-    public void changeState(DroneState newState) {
+    public void setState(DroneState newState) {
+        DroneState previousState = this.state;
         this.state = newState;
-        this.lastStateChange = LocalDateTime.now();
+        if (changeListener != null && previousState != newState) {
+            changeListener.onStateChange(this, previousState, newState);
+        }
     }
 
+    /**
+     * Peso a bordo, mantido pela própria lista de pedidos: O(1).
+     */
     public int getTotalWeight() {
-        return orderList != null ? orderList.stream().mapToInt(Order::getWeight).sum() : 0;
+        return ((DroneCargoList) orderList).getTotalWeight();
+    }
+
+    public int getRemainingCapacity() {
+        return weightLimit - getTotalWeight();
+    }
+
+    public int getStopCount() {
+        return orderList.size();
     }
 
     public boolean hasOrders() {
-        return orderList != null && !orderList.isEmpty();
+        return !orderList.isEmpty();
     }
 }
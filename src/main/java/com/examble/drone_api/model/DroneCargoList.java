@@ -0,0 +1,156 @@
+package com.examble.drone_api.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Lista de pedidos a bordo de um drone que mantém o peso total atualizado a
+ * cada alteração. Toda mutação (inclusive via iterador, sublista, {@code clear}
+ * e {@code addAll}) passa por {@link #add(int, Order)}, {@link #set},
+ * {@link #remove(int)} ou {@link #removeRange}, então o total é sempre exato
+ * e a consulta é O(1). O peso de um pedido não deve mudar enquanto ele está a bordo.
+ * Cada mudança de peso e cada pedido colocado na lista ou retirado dela são
+ * avisados ao drone dono da lista.
+ */
+final class DroneCargoList extends AbstractList<Order> implements RandomAccess {
+
+    private final Drone owner;
+    private final List<Order> orders;
+    private int totalWeight;
+
+    DroneCargoList(Drone owner) {
+        this.owner = owner;
+        this.orders = new ArrayList<>();
+    }
+
+    DroneCargoList(Drone owner, Collection<Order> initial) {
+        this.owner = owner;
+        this.orders = new ArrayList<>(initial);
+        for (Order order : orders) {
+            totalWeight += order.getWeight();
+        }
+    }
+
+    int getTotalWeight() {
+        return totalWeight;
+    }
+
+    @Override
+    public Order get(int index) {
+        return orders.get(index);
+    }
+
+    @Override
+    public int size() {
+        return orders.size();
+    }
+
+    @Override
+    public void add(int index, Order order) {
+        orders.add(index, order);
+        modCount++;
+        changeWeight(order.getWeight());
+        owner.onOrderAdded(order);
+    }
+
+    @Override
+    public Order set(int index, Order order) {
+        Order previous = orders.set(index, order);
+        changeWeight(order.getWeight() - previous.getWeight());
+        if (previous != order) {
+            // Ordenações trocam pedidos de posição com set: só avisa quem saiu de fato
+            if (!orders.contains(previous)) {
+                owner.onOrderRemoved(previous);
+            }
+            owner.onOrderAdded(order);
+        }
+        return previous;
+    }
+
+    @Override
+    public Order remove(int index) {
+        Order removed = orders.remove(index);
+        modCount++;
+        changeWeight(-removed.getWeight());
+        owner.onOrderRemoved(removed);
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        Order[] removed = orders.toArray(new Order[0]);
+        orders.clear();
+        modCount++;
+        changeWeight(-totalWeight);
+        for (Order order : removed) {
+            owner.onOrderRemoved(order);
+        }
+    }
+
+    /**
+     * Troca todo o conteúdo da lista de uma vez. Diferente de {@code clear}
+     * seguido de {@code addAll}, só avisa como retirados os pedidos que não
+     * estão em {@code replacement}: reordenar a lista não retira nenhum.
+     */
+    void replaceWith(List<Order> replacement) {
+        Order[] previous = orders.toArray(new Order[0]);
+        int delta = -totalWeight;
+        for (Order order : replacement) {
+            delta += order.getWeight();
+        }
+        orders.clear();
+        orders.addAll(replacement);
+        modCount++;
+        changeWeight(delta);
+        for (Order order : previous) {
+            if (!orders.contains(order)) {
+                owner.onOrderRemoved(order);
+            }
+        }
+        for (Order order : replacement) {
+            owner.onOrderAdded(order);
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Order> added) {
+        int delta = 0;
+        for (Order order : added) {
+            delta += order.getWeight();
+        }
+        boolean changed = orders.addAll(added);
+        modCount++;
+        changeWeight(delta);
+        for (Order order : added) {
+            owner.onOrderAdded(order);
+        }
+        return changed;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        List<Order> range = orders.subList(fromIndex, toIndex);
+        Order[] removed = range.toArray(new Order[0]);
+        int delta = 0;
+        for (Order order : removed) {
+            delta -= order.getWeight();
+        }
+        range.clear();
+        modCount++;
+        changeWeight(delta);
+        for (Order order : removed) {
+            owner.onOrderRemoved(order);
+        }
+    }
+
+    private void changeWeight(int delta) {
+        if (delta != 0) {
+            int previous = totalWeight;
+            totalWeight += delta;
+            owner.onCargoChange(previous);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.examble.drone_api.model;
+
+import com.examble.drone_api.model.type.DroneState;
+
+/**
+ * Observador de mudanças em um drone.
+ * Usado pelo repositório para manter seus índices secundários atualizados
+ * e, com a persistência ligada, para registrar as mudanças no log.
+ */
+public interface DroneChangeListener {
+
+    default void onStateChange(Drone drone, DroneState previousState, DroneState newState) {
+    }
+
+    default void onPositionChange(Drone drone, int previousX, int previousY) {
+    }
+
+    default void onCargoChange(Drone drone, int previousTotalWeight) {
+    }
+
+    /**
+     * Pedido colocado na lista do drone (atribuição, resequenciamento da rota
+     * ou movimentação pelo otimizador), depois de {@link #onCargoChange}.
+     */
+    default void onOrderAdded(Drone drone, Order order) {
+    }
+
+    /**
+     * Pedido retirado da lista do drone (entrega, replanejamento ou
+     * movimentação pelo otimizador), depois de {@link #onCargoChange}.
+     */
+    default void onOrderRemoved(Drone drone, Order order) {
+    }
+}
@@ -1,33 +1,46 @@
 package com.examble.drone_api.model;
 
-import lombok.Getter;
-
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 public class DroneMetrics {
+    // Por drone: 8 baldes por potência de dois (erro ≤ 12,5%) até ~4,6h, ~1,4 KB por histograma
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int MAX_EXPONENT = 24;
+    private static final long NO_DELIVERY = Long.MIN_VALUE;
+    private static final int HISTOGRAM_COPY_LENGTH = LatencyHistogram.copyLength(SUB_BUCKET_BITS, MAX_EXPONENT);
+
+    /**
+     * Tamanho da cópia feita por {@link #copyTo}: contadores e os dois histogramas.
+     */
+    public static final int COPY_LENGTH = 5 + 2 * HISTOGRAM_COPY_LENGTH;
+
     private final AtomicInteger deliveries = new AtomicInteger(0);
     private final AtomicLong totalDeliveryTime = new AtomicLong(0);
     private final AtomicLong totalFlightTime = new AtomicLong(0);
-    @Getter
-    private LocalDateTime firstDelivery;
-    @Getter
-    private LocalDateTime lastDelivery;
+    private final AtomicLong firstDeliveryMillis = new AtomicLong(NO_DELIVERY);
+    private final AtomicLong lastDeliveryMillis = new AtomicLong(NO_DELIVERY);
+    private final LatencyHistogram deliveryTimeHistogram = new LatencyHistogram(SUB_BUCKET_BITS, MAX_EXPONENT);
+    private final LatencyHistogram flightTimeHistogram = new LatencyHistogram(SUB_BUCKET_BITS, MAX_EXPONENT);
 
-    public void recordDelivery(long deliveryTimeMs) {
+    public void recordDelivery(long deliveryTimeMs, long deliveredAtMillis) {
         deliveries.incrementAndGet();
         totalDeliveryTime.addAndGet(deliveryTimeMs);
+        deliveryTimeHistogram.record(deliveryTimeMs);
 
-        LocalDateTime now = LocalDateTime.now();
-        if (firstDelivery == null) {
-            firstDelivery = now;
-        }
-        lastDelivery = now;
+        firstDeliveryMillis.compareAndSet(NO_DELIVERY, deliveredAtMillis);
+        lastDeliveryMillis.set(deliveredAtMillis);
     }
 
     public void recordFlightTime(long flightTimeMs) {
         totalFlightTime.addAndGet(flightTimeMs);
+        flightTimeHistogram.record(flightTimeMs);
     }
 
     public int getDeliveries() {
@@ -44,4 +57,71 @@ public class DroneMetrics {
         return totalTime > 0 ? (double) deliveries.get() / (totalTime / 1000.0) : 0.0; // entregas por segundo
     }
 
-}
\ No newline at end of file
+    public LocalDateTime getFirstDelivery() {
+        return toDateTime(firstDeliveryMillis.get());
+    }
+
+    public LocalDateTime getLastDelivery() {
+        return toDateTime(lastDeliveryMillis.get());
+    }
+
+    public LatencySummary getDeliveryTimePercentiles() {
+        return deliveryTimeHistogram.summarize();
+    }
+
+    public LatencySummary getFlightTimePercentiles() {
+        return flightTimeHistogram.summarize();
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        long[] copy = new long[COPY_LENGTH];
+        copyTo(copy, 0);
+        writeCopy(out, copy, 0);
+    }
+
+    /**
+     * Copia os contadores para {@code target} a partir de {@code offset}, sem alocar memória.
+     *
+     * @return a posição logo após a cópia
+     */
+    public int copyTo(long[] target, int offset) {
+        target[offset] = deliveries.get();
+        target[offset + 1] = totalDeliveryTime.get();
+        target[offset + 2] = totalFlightTime.get();
+        target[offset + 3] = firstDeliveryMillis.get();
+        target[offset + 4] = lastDeliveryMillis.get();
+        return flightTimeHistogram.copyTo(target, deliveryTimeHistogram.copyTo(target, offset + 5));
+    }
+
+    /**
+     * Grava uma cópia feita por {@link #copyTo} no formato de {@link #writeTo}.
+     *
+     * @return a posição logo após a cópia
+     */
+    public static int writeCopy(DataOutput out, long[] source, int offset) throws IOException {
+        out.writeInt((int) source[offset]);
+        out.writeLong(source[offset + 1]);
+        out.writeLong(source[offset + 2]);
+        out.writeLong(source[offset + 3]);
+        out.writeLong(source[offset + 4]);
+        int next = LatencyHistogram.writeCopy(out, source, offset + 5, HISTOGRAM_COPY_LENGTH);
+        return LatencyHistogram.writeCopy(out, source, next, HISTOGRAM_COPY_LENGTH);
+    }
+
+    public static DroneMetrics readFrom(DataInput in) throws IOException {
+        DroneMetrics metrics = new DroneMetrics();
+        metrics.deliveries.set(in.readInt());
+        metrics.totalDeliveryTime.set(in.readLong());
+        metrics.totalFlightTime.set(in.readLong());
+        metrics.firstDeliveryMillis.set(in.readLong());
+        metrics.lastDeliveryMillis.set(in.readLong());
+        metrics.deliveryTimeHistogram.readFrom(in);
+        metrics.flightTimeHistogram.readFrom(in);
+        return metrics;
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return epochMillis == NO_DELIVERY ? null
+                : LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
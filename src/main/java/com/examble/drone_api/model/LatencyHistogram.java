@@ -0,0 +1,202 @@
+package com.examble.drone_api.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latências com baldes log-lineares (estilo HDR), em memória fixa
+ * e sem locks. Cada potência de dois é dividida em {@code 2^subBucketBits} baldes
+ * lineares, o que limita o erro relativo a {@code 1/2^subBucketBits}; valores
+ * menores que {@code 2^(subBucketBits + 1)} são exatos.
+ * O registro não aloca memória: apenas incrementos atômicos em um array pré-alocado.
+ */
+public class LatencyHistogram {
+
+    private final int subBucketBits;
+    private final int subBucketCount;
+    private final int maxExponent;
+    private final AtomicLongArray counts;
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * @param subBucketBits bits de precisão por potência de dois
+     * @param maxExponent   valores a partir de {@code 2^maxExponent} caem no último balde (o máximo continua exato)
+     */
+    public LatencyHistogram(int subBucketBits, int maxExponent) {
+        if (subBucketBits < 1 || maxExponent <= subBucketBits || maxExponent > 62) {
+            throw new IllegalArgumentException("Configuração de histograma inválida: subBucketBits="
+                    + subBucketBits + ", maxExponent=" + maxExponent);
+        }
+        this.subBucketBits = subBucketBits;
+        this.subBucketCount = 1 << subBucketBits;
+        this.maxExponent = maxExponent;
+        this.counts = new AtomicLongArray((maxExponent - subBucketBits + 1) * subBucketCount);
+    }
+
+    public void record(long value) {
+        long clamped = Math.max(0, value);
+        counts.incrementAndGet(bucketIndex(Math.min(clamped, (1L << maxExponent) - 1)));
+        totalCount.incrementAndGet();
+        maxValue.accumulateAndGet(clamped, Math::max);
+    }
+
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    /**
+     * Maior valor equivalente ao balde que contém o percentil pedido (0 a 100),
+     * limitado ao máximo registrado.
+     */
+    public long valueAtPercentile(double percentile) {
+        return summarize(percentile)[0];
+    }
+
+    public LatencySummary summarize() {
+        long[] values = summarize(50.0, 90.0, 99.0);
+        return new LatencySummary(getCount(), values[0], values[1], values[2], getMax());
+    }
+
+    private long[] summarize(double... percentiles) {
+        long[] snapshot = new long[counts.length()];
+        long total = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+
+        long max = getMax();
+        long[] values = new long[percentiles.length];
+        if (total == 0) {
+            return values;
+        }
+        for (int p = 0; p < percentiles.length; p++) {
+            long target = Math.max(1, (long) Math.ceil(percentiles[p] / 100.0 * total));
+            long seen = 0;
+            for (int i = 0; i < snapshot.length; i++) {
+                seen += snapshot[i];
+                if (seen >= target) {
+                    // O último balde também acumula os valores acima da faixa: reporta o máximo exato
+                    values[p] = i == snapshot.length - 1 ? max : Math.min(highestEquivalentValue(i), max);
+                    break;
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Grava os baldes não vazios e o máximo. Registros concorrentes podem ou
+     * não entrar na cópia.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        long[] copy = new long[copyLength()];
+        copyTo(copy, 0);
+        writeCopy(out, copy, 0, copy.length);
+    }
+
+    /**
+     * Tamanho da cópia feita por {@link #copyTo}: os baldes e o máximo.
+     */
+    public int copyLength() {
+        return counts.length() + 1;
+    }
+
+    public static int copyLength(int subBucketBits, int maxExponent) {
+        return ((maxExponent - subBucketBits + 1) << subBucketBits) + 1;
+    }
+
+    /**
+     * Copia os baldes e o máximo para {@code target} a partir de {@code offset},
+     * sem alocar memória.
+     *
+     * @return a posição logo após a cópia
+     */
+    public int copyTo(long[] target, int offset) {
+        int length = counts.length();
+        for (int i = 0; i < length; i++) {
+            target[offset + i] = counts.get(i);
+        }
+        target[offset + length] = maxValue.get();
+        return offset + length + 1;
+    }
+
+    /**
+     * Grava uma cópia feita por {@link #copyTo} no formato de {@link #writeTo}.
+     *
+     * @param length o {@link #copyLength()} do histograma copiado
+     * @return a posição logo após a cópia
+     */
+    public static int writeCopy(DataOutput out, long[] source, int offset, int length) throws IOException {
+        int buckets = length - 1;
+        int nonEmpty = 0;
+        for (int i = 0; i < buckets; i++) {
+            if (source[offset + i] != 0) {
+                nonEmpty++;
+            }
+        }
+        out.writeInt(buckets);
+        out.writeInt(nonEmpty);
+        for (int i = 0; i < buckets; i++) {
+            if (source[offset + i] != 0) {
+                out.writeInt(i);
+                out.writeLong(source[offset + i]);
+            }
+        }
+        out.writeLong(source[offset + buckets]);
+        return offset + length;
+    }
+
+    /**
+     * Substitui o conteúdo pelo gravado em {@link #writeTo}, de um histograma
+     * com a mesma configuração.
+     */
+    public void readFrom(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length != counts.length()) {
+            throw new IOException("Histograma gravado com " + length + " baldes, esperado " + counts.length());
+        }
+        for (int i = 0; i < length; i++) {
+            counts.set(i, 0);
+        }
+        long total = 0;
+        int nonEmpty = in.readInt();
+        for (int i = 0; i < nonEmpty; i++) {
+            int index = in.readInt();
+            long count = in.readLong();
+            counts.set(index, count);
+            total += count;
+        }
+        totalCount.set(total);
+        maxValue.set(in.readLong());
+    }
+
+    private int bucketIndex(long value) {
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent < subBucketBits) {
+            return (int) value;
+        }
+        int shift = exponent - subBucketBits;
+        int group = shift + 1;
+        return group * subBucketCount + (int) ((value >>> shift) - subBucketCount);
+    }
+
+    private long highestEquivalentValue(int index) {
+        int group = index >>> subBucketBits;
+        int subBucket = index & (subBucketCount - 1);
+        if (group == 0) {
+            return index;
+        }
+        int shift = group - 1;
+        long lowest = (long) (subBucketCount + subBucket) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,7 @@
+package com.examble.drone_api.model;
+
+/**
+ * Percentis de um {@link LatencyHistogram}, em milissegundos.
+ */
+public record LatencySummary(long count, long p50, long p90, long p99, long max) {
+}
@@ -3,6 +3,8 @@ package com.examble.drone_api.model;
 import com.examble.drone_api.model.type.Priority;
 import lombok.*;
 
+import java.util.Comparator;
+
 @Getter
 @Setter
 @Data
@@ -10,6 +12,13 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 public class Order {
+    /**
+     * Ordem de atendimento: prioridade (HIGH primeiro) e depois ordem de chegada.
+     */
+    public static final Comparator<Order> ALLOCATION_ORDER = Comparator
+            .comparing(Order::getPriority)
+            .thenComparing(Order::getId);
+
     private Long id;
     private int destinationX, destinationY;
     private int weight;
@@ -0,0 +1,17 @@
+package com.examble.drone_api.model;
+
+import com.examble.drone_api.model.type.SimulationEventType;
+
+/**
+ * Evento agendado da simulação: o drone deve ser atualizado a partir de {@code dueAtMillis}.
+ * A sequência desempata eventos com o mesmo horário e identifica eventos obsoletos.
+ */
+public record SimulationEvent(long dueAtMillis, long sequence, Drone drone, SimulationEventType type)
+        implements Comparable<SimulationEvent> {
+
+    @Override
+    public int compareTo(SimulationEvent other) {
+        int byTime = Long.compare(dueAtMillis, other.dueAtMillis);
+        return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+    }
+}
@@ -0,0 +1,7 @@
+package com.examble.drone_api.model.type;
+
+public enum SimulationEngineMode {
+    POLLING,
+    EVENT_DRIVEN,
+    COLUMNAR
+}
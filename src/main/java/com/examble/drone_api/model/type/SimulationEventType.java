@@ -0,0 +1,8 @@
+package com.examble.drone_api.model.type;
+
+public enum SimulationEventType {
+    NEXT_WAYPOINT,
+    DELIVERY_COMPLETE,
+    RECHARGE_START,
+    RECHARGE_COMPLETE
+}
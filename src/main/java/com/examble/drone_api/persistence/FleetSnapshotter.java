@@ -0,0 +1,245 @@
+package com.examble.drone_api.persistence;
+
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.model.type.DroneState;
+import com.examble.drone_api.model.type.Priority;
+import com.examble.drone_api.repository.interfaces.DroneRepository;
+import com.examble.drone_api.repository.interfaces.OrderRepository;
+import com.examble.drone_api.service.interfaces.DroneMetricsService;
+import com.examble.drone_api.util.ConcurrentLongObjectMap;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grava periodicamente, em uma thread própria, um snapshot binário das
+ * métricas, dos pedidos e dos drones (com a carga e o plano de cada um) e
+ * apaga os segmentos do log que ele torna desnecessários.
+ * <p>
+ * O snapshot é "difuso": a posição do log é tomada junto com a cópia das
+ * métricas (que param os registros apenas durante a cópia em memória), e
+ * pedidos e drones são copiados depois, um drone por vez sob a trava do
+ * próprio drone, sem parar o tick. Cada valor copiado é o da posição ou mais
+ * recente; a recuperação lê o log a partir da posição, e os registros de
+ * drones e pedidos, reaplicados sobre um estado que já os contém, não o
+ * alteram (ver {@link WalRecovery}). O resultado é o estado no fim do log.
+ */
+@Slf4j
+public class FleetSnapshotter {
+
+    private static final byte NO_ENUM = -1;
+    private static final DroneState[] DRONE_STATES = DroneState.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final SnapshotStore store;
+    private final WriteAheadLog wal;
+    private final DroneRepository droneRepository;
+    private final OrderRepository orderRepository;
+    private final DroneMetricsService metricsService;
+    private final long intervalMs;
+
+    private ScheduledExecutorService executor;
+    private volatile long lastSnapshotLsn = -1;
+
+    /**
+     * @param intervalMs intervalo entre snapshots; 0 desliga os snapshots periódicos
+     */
+    public FleetSnapshotter(SnapshotStore store, WriteAheadLog wal, DroneRepository droneRepository,
+                            OrderRepository orderRepository, DroneMetricsService metricsService, long intervalMs) {
+        this.store = store;
+        this.wal = wal;
+        this.droneRepository = droneRepository;
+        this.orderRepository = orderRepository;
+        this.metricsService = metricsService;
+        this.intervalMs = intervalMs;
+    }
+
+    /**
+     * Inicia os snapshots periódicos; chamado depois da recuperação.
+     */
+    public synchronized void start() {
+        if (intervalMs <= 0 || executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "FleetSnapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::runSnapshot, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        log.info("Snapshots da frota a cada {}ms", intervalMs);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private void runSnapshot() {
+        try {
+            takeSnapshot();
+        } catch (Exception e) {
+            // Uma exceção cancelaria o agendamento; o log continua completo até o próximo snapshot
+            log.error("Erro ao gravar snapshot da frota", e);
+        }
+    }
+
+    /**
+     * Grava um snapshot se o log avançou desde o último.
+     *
+     * @return a posição do log do snapshot gravado, ou -1 se nada mudou
+     */
+    public synchronized long takeSnapshot() throws IOException {
+        if (wal.getAppendedLsn() == lastSnapshotLsn) {
+            return -1;
+        }
+        long startNanos = System.nanoTime();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+        DataOutputStream out = new DataOutputStream(buffer);
+
+        // As métricas definem a posição: vêm antes de pedidos e drones
+        long lsn = metricsService.writeSnapshot(out);
+        List<Order> orders = orderRepository.findAll();
+        out.writeInt(orders.size());
+        for (Order order : orders) {
+            out.writeLong(order.getId());
+            out.writeInt(order.getDestinationX());
+            out.writeInt(order.getDestinationY());
+            out.writeInt(order.getWeight());
+            out.writeByte(ordinal(order.getPriority()));
+            out.writeBoolean(order.isDelivered());
+        }
+        List<Drone> drones = droneRepository.findAll();
+        out.writeInt(drones.size());
+        for (Drone drone : drones) {
+            writeDrone(out, drone);
+        }
+        out.flush();
+
+        // O snapshot não pode estar à frente do que o log garante em disco
+        wal.sync(wal.getAppendedLsn());
+        store.write(lsn, buffer.toByteArray());
+        int deletedSegments = wal.deleteSegmentsBefore(lsn);
+        lastSnapshotLsn = lsn;
+
+        log.info("Snapshot na posição {}: {} drones, {} pedidos, {} KB em {} ms; {} segmentos do log apagados",
+                lsn, drones.size(), orders.size(), buffer.size() / 1024,
+                (System.nanoTime() - startNanos) / 1_000_000, deletedSegments);
+        return lsn;
+    }
+
+    private static void writeDrone(DataOutputStream out, Drone drone) throws IOException {
+        Order[] cargo;
+        synchronized (drone) {
+            cargo = copyCargo(drone);
+            out.writeLong(drone.getId());
+            out.writeInt(drone.getWeightLimit());
+            out.writeInt(drone.getDistancePerCargo());
+            out.writeInt(drone.getPositionX());
+            out.writeInt(drone.getPositionY());
+            out.writeDouble(drone.getBattery());
+            out.writeByte(ordinal(drone.getState()));
+            out.writeLong(StateJournal.toMillis(drone.getLastStateChange()));
+            out.writeLong(StateJournal.toMillis(drone.getEstimatedArrivalTime()));
+        }
+        out.writeInt(cargo.length);
+        for (Order order : cargo) {
+            out.writeLong(order.getId());
+        }
+    }
+
+    /**
+     * O tick remove pedidos entregues sem a trava do drone: refaz a cópia se a
+     * lista mudar durante a leitura.
+     */
+    private static Order[] copyCargo(Drone drone) {
+        while (true) {
+            try {
+                return drone.getOrderList().toArray(new Order[0]);
+            } catch (ConcurrentModificationException | NoSuchElementException e) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * Carrega o snapshot mais recente nos repositórios e nas métricas.
+     *
+     * @return a posição do log a partir da qual a leitura continua (0 sem snapshot)
+     */
+    public synchronized long restoreLatest() throws IOException {
+        SnapshotStore.Snapshot snapshot = store.readLatest();
+        if (snapshot == null) {
+            return 0L;
+        }
+        long startNanos = System.nanoTime();
+        DataInput in = snapshot.content();
+        metricsService.readSnapshot(in);
+
+        int orderCount = in.readInt();
+        ConcurrentLongObjectMap<Order> orders = new ConcurrentLongObjectMap<>();
+        for (int i = 0; i < orderCount; i++) {
+            Order order = new Order(in.readLong(), in.readInt(), in.readInt(), in.readInt(),
+                    priority(in.readByte()), in.readBoolean());
+            orders.put(order.getId(), orderRepository.restore(order));
+        }
+
+        int droneCount = in.readInt();
+        for (int i = 0; i < droneCount; i++) {
+            Drone drone = Drone.builder()
+                    .id(in.readLong())
+                    .weightLimit(in.readInt())
+                    .distancePerCargo(in.readInt())
+                    .positionX(in.readInt())
+                    .positionY(in.readInt())
+                    .battery(in.readDouble())
+                    .state(droneState(in.readByte()))
+                    .lastStateChange(StateJournal.toDateTime(in.readLong()))
+                    .estimatedArrivalTime(StateJournal.toDateTime(in.readLong()))
+                    .build();
+            int cargoCount = in.readInt();
+            List<Order> cargo = new ArrayList<>(cargoCount);
+            for (int j = 0; j < cargoCount; j++) {
+                // Pedido cadastrado depois da cópia dos pedidos: volta com o log
+                Order order = orders.get(in.readLong());
+                if (order != null && !order.isDelivered()) {
+                    cargo.add(order);
+                }
+            }
+            drone.setOrderList(cargo);
+            droneRepository.restore(drone);
+        }
+        lastSnapshotLsn = snapshot.lsn();
+
+        log.info("Snapshot da posição {} carregado: {} drones e {} pedidos em {} ms",
+                snapshot.lsn(), droneCount, orderCount, (System.nanoTime() - startNanos) / 1_000_000);
+        return snapshot.lsn();
+    }
+
+    private static byte ordinal(Enum<?> value) {
+        return value != null ? (byte) value.ordinal() : NO_ENUM;
+    }
+
+    private static DroneState droneState(byte ordinal) {
+        return ordinal != NO_ENUM ? DRONE_STATES[ordinal] : null;
+    }
+
+    private static Priority priority(byte ordinal) {
+        return ordinal != NO_ENUM ? PRIORITIES[ordinal] : null;
+    }
+}
@@ -0,0 +1,156 @@
+package com.examble.drone_api.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Arquivos de snapshot ({@code snapshot-<LSN>.snap}) de um diretório.
+ * <p>
+ * Cada arquivo é {@code [magic: 4][versão: 4][LSN: 8][tamanho: 4][crc32c: 4][conteúdo]}.
+ * A gravação vai para um arquivo temporário, é forçada em disco e só então
+ * renomeada: um snapshot com o nome final está completo. Um snapshot com CRC
+ * inválido interrompe a leitura, pois o log anterior a ele já pode ter sido apagado.
+ */
+@Slf4j
+public class SnapshotStore {
+
+    static final String SNAPSHOT_PREFIX = "snapshot-";
+    static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int MAGIC = 0x44524E53; // "DRNS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 4;
+
+    /**
+     * Conteúdo de um snapshot e a posição do log a partir da qual a leitura continua.
+     */
+    public record Snapshot(long lsn, DataInput content) {
+    }
+
+    private final Path directory;
+
+    public SnapshotStore(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * Grava o snapshot e apaga os anteriores a ele.
+     */
+    public Path write(long lsn, byte[] content) throws IOException {
+        CRC32C checksum = new CRC32C();
+        checksum.update(content);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(MAGIC).putInt(VERSION).putLong(lsn).putInt(content.length)
+                .putInt((int) checksum.getValue())
+                .flip();
+
+        Path target = snapshotPath(lsn);
+        Path temp = directory.resolve(target.getFileName() + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer body = ByteBuffer.wrap(content);
+            while (header.hasRemaining() || body.hasRemaining()) {
+                channel.write(new ByteBuffer[]{header, body});
+            }
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory();
+
+        for (Path previous : listSnapshots()) {
+            if (snapshotLsn(previous) < lsn) {
+                Files.deleteIfExists(previous);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Snapshot mais recente, ou {@code null} se não houver nenhum.
+     */
+    public Snapshot readLatest() throws IOException {
+        deleteTempFiles();
+        List<Path> snapshots = listSnapshots();
+        if (snapshots.isEmpty()) {
+            return null;
+        }
+        Path latest = snapshots.get(snapshots.size() - 1);
+        byte[] file = Files.readAllBytes(latest);
+        ByteBuffer header = ByteBuffer.wrap(file);
+        if (file.length < HEADER_SIZE || header.getInt() != MAGIC) {
+            throw new IOException("Arquivo de snapshot inválido: " + latest);
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Versão de snapshot não suportada (" + version + "): " + latest);
+        }
+        long lsn = header.getLong();
+        int length = header.getInt();
+        int expectedChecksum = header.getInt();
+        if (length != file.length - HEADER_SIZE) {
+            throw new IOException("Snapshot incompleto: " + latest);
+        }
+        CRC32C checksum = new CRC32C();
+        checksum.update(file, HEADER_SIZE, length);
+        if ((int) checksum.getValue() != expectedChecksum) {
+            throw new IOException("Snapshot corrompido (CRC inválido): " + latest);
+        }
+        return new Snapshot(lsn, new DataInputStream(new ByteArrayInputStream(file, HEADER_SIZE, length)));
+    }
+
+    List<Path> listSnapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(SnapshotStore::isSnapshot)
+                    .sorted((a, b) -> Long.compare(snapshotLsn(a), snapshotLsn(b)))
+                    .toList();
+        }
+    }
+
+    private void deleteTempFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> path.getFileName().toString().endsWith(TEMP_SUFFIX)).toList()) {
+                log.warn("Snapshot: removendo gravação interrompida {}", file.getFileName());
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * Grava a renomeação em disco; nem todo sistema permite abrir um diretório.
+     */
+    private void forceDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException | UnsupportedOperationException e) {
+            log.debug("Snapshot: diretório {} não pôde ser gravado em disco: {}", directory, e.getMessage());
+        }
+    }
+
+    private Path snapshotPath(long lsn) {
+        return directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, lsn, SNAPSHOT_SUFFIX));
+    }
+
+    private static boolean isSnapshot(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+    }
+
+    static long snapshotLsn(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length()));
+    }
+}
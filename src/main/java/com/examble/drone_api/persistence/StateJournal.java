@@ -0,0 +1,171 @@
+package com.examble.drone_api.persistence;
+
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.model.type.DroneState;
+import com.examble.drone_api.util.ConcurrentLongLongMap;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Traduz as mudanças de drones, pedidos e métricas em registros do
+ * {@link WriteAheadLog}. Chamado pelos repositórios e pelo serviço de
+ * métricas quando a persistência está ligada.
+ * <p>
+ * Cadastros ({@link #droneCreated}, {@link #ordersCreated}) esperam o commit
+ * em grupo antes de retornar, pois a resposta ao cliente confirma o cadastro.
+ * As demais mudanças vêm do tick e do alocador e não esperam: ficam em disco
+ * no próximo commit.
+ * <p>
+ * Atribuições só são gravadas quando o pedido muda de drone: o
+ * resequenciamento da rota recoloca os mesmos pedidos nos mesmos drones sem
+ * gerar registros. Um pedido retirado do plano de um drone na base sem ser
+ * entregue (replanejamento, otimizador) gera um registro de desatribuição,
+ * para que a leitura do log não o devolva ao drone antigo. Na decolagem, a
+ * carga completa do drone é gravada logo após a mudança de estado, e a leitura
+ * do log usa essa carga como a do voo.
+ */
+public class StateJournal {
+
+    public static final long NO_TIME = Long.MIN_VALUE;
+    private static final long NO_DRONE = Long.MIN_VALUE;
+
+    private final WriteAheadLog wal;
+    // Último drone gravado para cada pedido ainda não entregue
+    private final ConcurrentLongLongMap assignedDroneByOrder = new ConcurrentLongLongMap();
+    private volatile boolean replaying;
+
+    public StateJournal(WriteAheadLog wal) {
+        this.wal = wal;
+    }
+
+    public void droneCreated(Drone drone) {
+        if (replaying) {
+            return;
+        }
+        wal.sync(wal.appendDroneCreated(drone.getId(), drone.getWeightLimit(), drone.getDistancePerCargo(),
+                drone.getPositionX(), drone.getPositionY(), drone.getBattery(), drone.getState()));
+    }
+
+    /**
+     * Grava os pedidos e espera um único commit para todos.
+     */
+    public void ordersCreated(Iterable<Order> orders) {
+        if (replaying) {
+            return;
+        }
+        long lsn = 0;
+        for (Order order : orders) {
+            lsn = wal.appendOrderCreated(order.getId(), order.getDestinationX(), order.getDestinationY(),
+                    order.getWeight(), order.getPriority(), order.isDelivered());
+        }
+        wal.sync(lsn);
+    }
+
+    public void orderAssigned(Drone drone, Order order) {
+        if (order.getId() == null || drone.getId() == null) {
+            return;
+        }
+        long previousDrone = assignedDroneByOrder.get(order.getId(), NO_DRONE);
+        if (previousDrone == drone.getId()) {
+            return;
+        }
+        assignedDroneByOrder.put(order.getId(), drone.getId());
+        if (!replaying) {
+            wal.appendOrderAssigned(order.getId(), drone.getId());
+        }
+    }
+
+    /**
+     * Registra, sem gravar no log, um pedido que já chegou ao drone por outro
+     * caminho (snapshot carregado na subida): sem isso, a retirada do pedido
+     * do plano não geraria o registro de desatribuição.
+     */
+    public void restoreAssignment(Drone drone, Order order) {
+        if (order.getId() != null && drone.getId() != null) {
+            assignedDroneByOrder.put(order.getId(), drone.getId());
+        }
+    }
+
+    public void orderUnassigned(Drone drone, Order order) {
+        if (order.getId() == null || drone.getId() == null) {
+            return;
+        }
+        // Já gravado em outro drone (movido pelo otimizador): nada a desfazer
+        if (assignedDroneByOrder.get(order.getId(), NO_DRONE) != drone.getId()) {
+            return;
+        }
+        assignedDroneByOrder.remove(order.getId(), NO_DRONE);
+        if (!replaying) {
+            wal.appendOrderUnassigned(order.getId(), drone.getId());
+        }
+    }
+
+    public void droneStateChanged(Drone drone, DroneState previousState) {
+        if (replaying || drone.getId() == null) {
+            return;
+        }
+        wal.appendDroneStateChanged(drone.getId(), drone.getState(), drone.getPositionX(), drone.getPositionY(),
+                drone.getBattery(), toMillis(drone.getLastStateChange()));
+        if (previousState == DroneState.IDLE && drone.getState() == DroneState.IN_FLIGHT) {
+            // Carga do voo: substitui, na leitura, as atribuições anteriores do drone
+            for (Order order : drone.getOrderList()) {
+                assignedDroneByOrder.put(order.getId(), drone.getId());
+                wal.appendOrderAssigned(order.getId(), drone.getId());
+            }
+        }
+    }
+
+    public void orderDelivered(Order order) {
+        assignedDroneByOrder.remove(order.getId(), NO_DRONE);
+        if (!replaying) {
+            wal.appendOrderDelivered(order.getId());
+        }
+    }
+
+    public void deliveryRecorded(long droneId, long deliveryTimeMs, long deliveredAtMillis) {
+        if (!replaying) {
+            wal.appendDeliveryRecorded(droneId, deliveryTimeMs, deliveredAtMillis);
+        }
+    }
+
+    public void flightTimeRecorded(long droneId, long flightTimeMs) {
+        if (!replaying) {
+            wal.appendFlightTimeRecorded(droneId, flightTimeMs);
+        }
+    }
+
+    /**
+     * Posição logo após o último registro gravado: todas as mudanças com
+     * registro anterior a ela já estão aplicadas em memória.
+     */
+    public long position() {
+        return wal.getAppendedLsn();
+    }
+
+    /**
+     * Lê o log a partir de {@code fromLsn} sem gravar as mudanças que a própria
+     * leitura provoca nos repositórios.
+     *
+     * @return a posição logo após o último registro lido
+     */
+    public long replay(long fromLsn, WalRecordHandler handler) throws IOException {
+        replaying = true;
+        try {
+            return wal.replay(fromLsn, handler);
+        } finally {
+            replaying = false;
+        }
+    }
+
+    public static long toMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toInstant(ZoneOffset.UTC).toEpochMilli() : NO_TIME;
+    }
+
+    public static LocalDateTime toDateTime(long millis) {
+        return millis != NO_TIME ? LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC) : null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.examble.drone_api.persistence;
+
+import com.examble.drone_api.model.type.DroneState;
+import com.examble.drone_api.model.type.Priority;
+
+/**
+ * Recebe os registros do log durante a leitura, já decodificados em tipos
+ * primitivos para que a leitura não crie objetos por registro.
+ * Horários são epoch millis de {@link java.time.LocalDateTime} em UTC
+ * ({@link StateJournal#NO_TIME} quando nulos).
+ */
+public interface WalRecordHandler {
+
+    void droneCreated(long droneId, int weightLimit, int distancePerCargo, int positionX, int positionY,
+                      double battery, DroneState state);
+
+    void orderCreated(long orderId, int destinationX, int destinationY, int weight, Priority priority,
+                      boolean delivered);
+
+    void orderAssigned(long orderId, long droneId);
+
+    void droneStateChanged(long droneId, DroneState state, int positionX, int positionY, double battery,
+                           long changedAtMillis);
+
+    void orderDelivered(long orderId);
+
+    void deliveryRecorded(long droneId, long deliveryTimeMs, long deliveredAtMillis);
+
+    void flightTimeRecorded(long droneId, long flightTimeMs);
+
+    void orderUnassigned(long orderId, long droneId);
+}
@@ -0,0 +1,56 @@
+package com.examble.drone_api.persistence;
+
+/**
+ * Tipos de registro do log. O código é gravado em um byte; o código 0 é
+ * reservado para o espaço ainda não escrito do segmento (fim do log).
+ * O tamanho do conteúdo de cada tipo é fixo.
+ */
+public enum WalRecordType {
+    // id, peso limite, alcance, x, y, bateria, estado
+    DRONE_CREATED(1, 8 + 4 + 4 + 4 + 4 + 8 + 1),
+    // id, x, y, peso, prioridade, entregue
+    ORDER_CREATED(2, 8 + 4 + 4 + 4 + 1 + 1),
+    // pedido, drone
+    ORDER_ASSIGNED(3, 8 + 8),
+    // drone, estado, x, y, bateria, horário da mudança
+    DRONE_STATE_CHANGED(4, 8 + 1 + 4 + 4 + 8 + 8),
+    // pedido
+    ORDER_DELIVERED(5, 8),
+    // drone, tempo de entrega, horário da entrega
+    DELIVERY_RECORDED(6, 8 + 8 + 8),
+    // drone, tempo de voo
+    FLIGHT_TIME_RECORDED(7, 8 + 8),
+    // pedido, drone
+    ORDER_UNASSIGNED(8, 8 + 8);
+
+    private static final WalRecordType[] BY_CODE = new WalRecordType[9];
+
+    static {
+        for (WalRecordType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final byte code;
+    private final int payloadSize;
+
+    WalRecordType(int code, int payloadSize) {
+        this.code = (byte) code;
+        this.payloadSize = payloadSize;
+    }
+
+    public byte code() {
+        return code;
+    }
+
+    public int payloadSize() {
+        return payloadSize;
+    }
+
+    /**
+     * Tipo do código, ou {@code null} se o código não for de um registro.
+     */
+    public static WalRecordType fromCode(byte code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
@@ -0,0 +1,254 @@
+package com.examble.drone_api.persistence;
+
+import com.examble.drone_api.config.SimulationProperties;
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.model.type.DroneState;
+import com.examble.drone_api.model.type.Priority;
+import com.examble.drone_api.repository.interfaces.DroneRepository;
+import com.examble.drone_api.repository.interfaces.OrderRepository;
+import com.examble.drone_api.service.interfaces.DroneMetricsService;
+import com.examble.drone_api.service.interfaces.DroneSimulationService;
+import com.examble.drone_api.util.ConcurrentLongObjectMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reconstrói drones, pedidos, atribuições e métricas na subida da aplicação,
+ * depois que todos os beans existem e antes de o servidor web e o agendador
+ * do tick começarem: carrega o snapshot mais recente, se houver, e lê o log
+ * a partir da posição dele.
+ * <p>
+ * Drones voltam com a posição, a bateria e o estado da última mudança de
+ * estado gravada (a posição durante o voo não é gravada): um drone em voo
+ * retoma o trajeto a partir do ponto da última mudança. A carga de um drone
+ * fora da base é a gravada na decolagem, menos as entregas seguintes.
+ * Reaplicar um registro já refletido no estado não o altera, exceto os de
+ * métricas, que somam.
+ */
+@Slf4j
+public class WalRecovery implements SmartInitializingSingleton, WalRecordHandler {
+
+    private final StateJournal journal;
+    private final DroneRepository droneRepository;
+    private final OrderRepository orderRepository;
+    private final DroneMetricsService metricsService;
+    private final DroneSimulationService simulationService;
+    private final SimulationProperties simulationProperties;
+    private final FleetSnapshotter snapshotter;
+
+    private final ConcurrentLongObjectMap<Drone> drones = new ConcurrentLongObjectMap<>();
+    private final ConcurrentLongObjectMap<Order> orders = new ConcurrentLongObjectMap<>();
+    private final ConcurrentLongObjectMap<Drone> holderByOrder = new ConcurrentLongObjectMap<>();
+    private long records;
+
+    public WalRecovery(StateJournal journal, DroneRepository droneRepository, OrderRepository orderRepository,
+                       DroneMetricsService metricsService, DroneSimulationService simulationService,
+                       SimulationProperties simulationProperties) {
+        this(journal, droneRepository, orderRepository, metricsService, simulationService, simulationProperties,
+                null);
+    }
+
+    public WalRecovery(StateJournal journal, DroneRepository droneRepository, OrderRepository orderRepository,
+                       DroneMetricsService metricsService, DroneSimulationService simulationService,
+                       SimulationProperties simulationProperties, @Nullable FleetSnapshotter snapshotter) {
+        this.journal = journal;
+        this.droneRepository = droneRepository;
+        this.orderRepository = orderRepository;
+        this.metricsService = metricsService;
+        this.simulationService = simulationService;
+        this.simulationProperties = simulationProperties;
+        this.snapshotter = snapshotter;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (snapshotter == null) {
+            recover(0L);
+            return;
+        }
+        try {
+            recover(snapshotter.restoreLatest());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao carregar o snapshot", e);
+        }
+        snapshotter.start();
+    }
+
+    /**
+     * Lê o log a partir de {@code fromLsn} sobre o estado atual dos repositórios.
+     *
+     * @return a posição logo após o último registro lido
+     */
+    public long recover(long fromLsn) {
+        long startNanos = System.nanoTime();
+        for (Drone drone : droneRepository.findAll()) {
+            drones.put(drone.getId(), drone);
+            for (Order order : drone.getOrderList()) {
+                holderByOrder.put(order.getId(), drone);
+                // Carga vinda do snapshot: o diário passa a saber quem leva o pedido
+                journal.restoreAssignment(drone, order);
+            }
+        }
+        for (Order order : orderRepository.findAll()) {
+            orders.put(order.getId(), order);
+        }
+
+        long end;
+        try {
+            end = journal.replay(fromLsn, this);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o log", e);
+        }
+        resumeDrones();
+
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("Log lido até a posição {}: {} registros, {} drones e {} pedidos em {} ms",
+                end, records, drones.size(), orders.size(), elapsedMillis);
+        return end;
+    }
+
+    @Override
+    public void droneCreated(long droneId, int weightLimit, int distancePerCargo, int positionX, int positionY,
+                             double battery, DroneState state) {
+        records++;
+        if (drones.containsKey(droneId)) {
+            return;
+        }
+        Drone drone = Drone.builder()
+                .id(droneId)
+                .weightLimit(weightLimit)
+                .distancePerCargo(distancePerCargo)
+                .positionX(positionX)
+                .positionY(positionY)
+                .battery(battery)
+                .state(state)
+                .orderList(new ArrayList<>())
+                .build();
+        drones.put(droneId, droneRepository.restore(drone));
+    }
+
+    @Override
+    public void orderCreated(long orderId, int destinationX, int destinationY, int weight, Priority priority,
+                             boolean delivered) {
+        records++;
+        if (orders.containsKey(orderId)) {
+            return;
+        }
+        Order order = new Order(orderId, destinationX, destinationY, weight, priority, delivered);
+        orders.put(orderId, orderRepository.restore(order));
+    }
+
+    @Override
+    public void orderAssigned(long orderId, long droneId) {
+        records++;
+        Order order = orders.get(orderId);
+        Drone drone = drones.get(droneId);
+        if (order == null || drone == null || order.isDelivered()) {
+            return;
+        }
+        Drone previous = holderByOrder.put(orderId, drone);
+        if (previous == drone) {
+            return;
+        }
+        if (previous != null) {
+            previous.getOrderList().remove(order);
+        }
+        drone.getOrderList().add(order);
+    }
+
+    @Override
+    public void orderUnassigned(long orderId, long droneId) {
+        records++;
+        Order order = orders.get(orderId);
+        Drone drone = drones.get(droneId);
+        if (order == null || drone == null || holderByOrder.get(orderId) != drone) {
+            return;
+        }
+        holderByOrder.remove(orderId);
+        drone.getOrderList().remove(order);
+    }
+
+    @Override
+    public void droneStateChanged(long droneId, DroneState state, int positionX, int positionY, double battery,
+                                  long changedAtMillis) {
+        records++;
+        Drone drone = drones.get(droneId);
+        if (drone == null) {
+            return;
+        }
+        if (drone.getState() == DroneState.IDLE && state == DroneState.IN_FLIGHT) {
+            // A carga do voo vem nos registros de atribuição seguintes
+            for (Order order : drone.getOrderList()) {
+                holderByOrder.remove(order.getId());
+            }
+            drone.getOrderList().clear();
+        }
+        if (drone.getState() != state) {
+            // Prazo de entrega ou recarga refeito no fim da leitura
+            drone.setEstimatedArrivalTime(null);
+        }
+        drone.setPositionX(positionX);
+        drone.setPositionY(positionY);
+        drone.setBattery(battery);
+        drone.changeState(state, StateJournal.toDateTime(changedAtMillis));
+    }
+
+    @Override
+    public void orderDelivered(long orderId) {
+        records++;
+        Order order = orders.get(orderId);
+        if (order == null || order.isDelivered()) {
+            return;
+        }
+        Drone holder = holderByOrder.remove(orderId);
+        if (holder != null) {
+            holder.getOrderList().remove(order);
+        }
+        orderRepository.markDelivered(order);
+    }
+
+    @Override
+    public void deliveryRecorded(long droneId, long deliveryTimeMs, long deliveredAtMillis) {
+        records++;
+        metricsService.recordDelivery(droneId, deliveryTimeMs, deliveredAtMillis);
+    }
+
+    @Override
+    public void flightTimeRecorded(long droneId, long flightTimeMs) {
+        records++;
+        metricsService.recordFlightTime(droneId, flightTimeMs);
+    }
+
+    /**
+     * Pedidos a bordo de drones fora da base saem da fila de pendentes, prazos
+     * de entrega e recarga são refeitos a partir do horário da mudança e o
+     * motor retoma os drones que têm algo a fazer.
+     */
+    private void resumeDrones() {
+        List<Drone> recovered = drones.values();
+        for (Drone drone : recovered) {
+            if (drone.getLastStateChange() != null && drone.getEstimatedArrivalTime() == null) {
+                if (drone.getState() == DroneState.DELIVERING) {
+                    drone.setEstimatedArrivalTime(drone.getLastStateChange()
+                            .plusSeconds(simulationProperties.deliveryTimeSeconds()));
+                } else if (drone.getState() == DroneState.RECHARGING) {
+                    drone.setEstimatedArrivalTime(drone.getLastStateChange()
+                            .plusSeconds(simulationProperties.rechargeTimeSeconds()));
+                }
+            }
+            if (drone.getState() != DroneState.IDLE) {
+                orderRepository.markDispatched(drone.getOrderList());
+            }
+            if (drone.getState() != DroneState.IDLE || drone.needsRecharging()) {
+                simulationService.resumeDrone(drone);
+            }
+        }
+    }
+}
@@ -0,0 +1,416 @@
+package com.examble.drone_api.persistence;
+
+import com.examble.drone_api.model.type.DroneState;
+import com.examble.drone_api.model.type.Priority;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Log binário só de acréscimo, escrito em segmentos mapeados em memória.
+ * <p>
+ * Cada registro é {@code [crc32c: 4][tipo: 1][conteúdo]}, com o conteúdo de
+ * tamanho fixo por tipo ({@link WalRecordType}); o CRC cobre tipo e conteúdo.
+ * A posição no log (LSN) conta os bytes de registros desde o início: cada
+ * segmento se chama {@code wal-<LSN inicial>.log} e tem tamanho fixo, e o
+ * espaço não escrito é zero, lido como fim do segmento. Na abertura, o fim do
+ * último segmento é o último registro íntegro; o que vier depois (registro
+ * cortado por uma queda) é zerado.
+ * <p>
+ * A escrita é uma cópia para o mapeamento, sob a trava do log: já sobrevive à
+ * queda do processo. {@link #sync(long)} garante a gravação em disco com
+ * commit em grupo: uma única thread por vez faz o {@code force} de tudo o
+ * que foi escrito até ali, e as threads que esperavam por posições já
+ * cobertas retornam sem um novo {@code force}.
+ */
+@Slf4j
+public class WriteAheadLog implements Closeable {
+
+    static final String SEGMENT_PREFIX = "wal-";
+    static final String SEGMENT_SUFFIX = ".log";
+    static final int HEADER_SIZE = 4 + 1;
+
+    private static final int MAX_RECORD_SIZE = HEADER_SIZE + 64;
+    private static final byte NO_ENUM = -1;
+    private static final DroneState[] DRONE_STATES = DroneState.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean forceOnSync;
+    private final Object syncLock = new Object();
+    private final AtomicLong forceCount = new AtomicLong();
+
+    // Protegidos pela trava do log (this)
+    private final ByteBuffer scratch = ByteBuffer.allocate(MAX_RECORD_SIZE);
+    private final CRC32C writeChecksum = new CRC32C();
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long segmentStart;
+    private int segmentOffset;
+
+    private volatile long appendedLsn;
+    private volatile long durableLsn;
+
+    /**
+     * Abre o log no diretório (criado se preciso) e posiciona a escrita após o
+     * último registro íntegro.
+     *
+     * @param segmentSize tamanho de cada segmento, em bytes
+     * @param forceOnSync se {@link #sync(long)} grava em disco; sem isso os
+     *                    registros sobrevivem à queda do processo, não do sistema
+     */
+    public WriteAheadLog(Path directory, int segmentSize, boolean forceOnSync) throws IOException {
+        if (segmentSize < MAX_RECORD_SIZE) {
+            throw new IllegalArgumentException("Segmento do log deve ter ao menos " + MAX_RECORD_SIZE + " bytes");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.forceOnSync = forceOnSync;
+        Files.createDirectories(directory);
+
+        List<Path> segments = listSegments();
+        if (segments.isEmpty()) {
+            openSegment(0L);
+        } else {
+            Path last = segments.get(segments.size() - 1);
+            long start = segmentStart(last);
+            openSegment(start);
+            segmentOffset = validLength(segment, 0);
+            // Zera o que sobrou de um registro cortado, para não ser lido como continuação
+            for (int i = segmentOffset; i < segmentSize; i++) {
+                if (segment.get(i) != 0) {
+                    log.warn("Log: descartando registro incompleto em {} (posição {})", last.getFileName(), i);
+                    for (int j = segmentOffset; j < segmentSize; j++) {
+                        segment.put(j, (byte) 0);
+                    }
+                    break;
+                }
+            }
+        }
+        appendedLsn = segmentStart + segmentOffset;
+        durableLsn = appendedLsn;
+    }
+
+    public long appendDroneCreated(long droneId, int weightLimit, int distancePerCargo, int positionX,
+                                   int positionY, double battery, DroneState state) {
+        synchronized (this) {
+            ByteBuffer record = begin(WalRecordType.DRONE_CREATED);
+            record.putLong(droneId).putInt(weightLimit).putInt(distancePerCargo)
+                    .putInt(positionX).putInt(positionY).putDouble(battery).put(ordinal(state));
+            return finish(record);
+        }
+    }
+
+    public long appendOrderCreated(long orderId, int destinationX, int destinationY, int weight,
+                                   Priority priority, boolean delivered) {
+        synchronized (this) {
+            ByteBuffer record = begin(WalRecordType.ORDER_CREATED);
+            record.putLong(orderId).putInt(destinationX).putInt(destinationY).putInt(weight)
+                    .put(ordinal(priority)).put((byte) (delivered ? 1 : 0));
+            return finish(record);
+        }
+    }
+
+    public long appendOrderAssigned(long orderId, long droneId) {
+        synchronized (this) {
+            ByteBuffer record = begin(WalRecordType.ORDER_ASSIGNED);
+            record.putLong(orderId).putLong(droneId);
+            return finish(record);
+        }
+    }
+
+    public long appendOrderUnassigned(long orderId, long droneId) {
+        synchronized (this) {
+            ByteBuffer record = begin(WalRecordType.ORDER_UNASSIGNED);
+            record.putLong(orderId).putLong(droneId);
+            return finish(record);
+        }
+    }
+
+    public long appendDroneStateChanged(long droneId, DroneState state, int positionX, int positionY,
+                                        double battery, long changedAtMillis) {
+        synchronized (this) {
+            ByteBuffer record = begin(WalRecordType.DRONE_STATE_CHANGED);
+            record.putLong(droneId).put(ordinal(state)).putInt(positionX).putInt(positionY)
+                    .putDouble(battery).putLong(changedAtMillis);
+            return finish(record);
+        }
+    }
+
+    public long appendOrderDelivered(long orderId) {
+        synchronized (this) {
+            ByteBuffer record = begin(WalRecordType.ORDER_DELIVERED);
+            record.putLong(orderId);
+            return finish(record);
+        }
+    }
+
+    public long appendDeliveryRecorded(long droneId, long deliveryTimeMs, long deliveredAtMillis) {
+        synchronized (this) {
+            ByteBuffer record = begin(WalRecordType.DELIVERY_RECORDED);
+            record.putLong(droneId).putLong(deliveryTimeMs).putLong(deliveredAtMillis);
+            return finish(record);
+        }
+    }
+
+    public long appendFlightTimeRecorded(long droneId, long flightTimeMs) {
+        synchronized (this) {
+            ByteBuffer record = begin(WalRecordType.FLIGHT_TIME_RECORDED);
+            record.putLong(droneId).putLong(flightTimeMs);
+            return finish(record);
+        }
+    }
+
+    /**
+     * Espera até que o log esteja gravado em disco pelo menos até {@code lsn}
+     * (retornado pelos métodos {@code append*}). Chamadas concorrentes dividem
+     * o mesmo {@code force}.
+     */
+    public void sync(long lsn) {
+        if (!forceOnSync || durableLsn >= lsn) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (durableLsn >= lsn) {
+                return;
+            }
+            long target;
+            MappedByteBuffer current;
+            synchronized (this) {
+                target = appendedLsn;
+                current = segment;
+            }
+            // Segmentos anteriores já foram gravados na troca de segmento
+            current.force();
+            forceCount.incrementAndGet();
+            durableLsn = target;
+        }
+    }
+
+    /**
+     * Lê os registros a partir de {@code fromLsn}, em ordem, até o fim do log.
+     *
+     * @return a posição logo após o último registro lido
+     */
+    public long replay(long fromLsn, WalRecordHandler handler) throws IOException {
+        List<Path> segments = listSegments();
+        long position = fromLsn;
+        if (!segments.isEmpty() && segmentStart(segments.get(0)) > fromLsn) {
+            log.warn("Log: leitura pedida a partir de {}, mas o primeiro segmento começa em {}",
+                    fromLsn, segmentStart(segments.get(0)));
+        }
+        CRC32C checksum = new CRC32C();
+        for (int i = 0; i < segments.size(); i++) {
+            long start = segmentStart(segments.get(i));
+            long nextStart = i + 1 < segments.size() ? segmentStart(segments.get(i + 1)) : Long.MAX_VALUE;
+            if (nextStart <= fromLsn) {
+                continue;
+            }
+            int offset = (int) Math.max(0, fromLsn - start);
+            try (FileChannel readChannel = FileChannel.open(segments.get(i), StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+                int end = readSegment(buffer, offset, handler, checksum);
+                position = start + end;
+                if (nextStart != Long.MAX_VALUE && position != nextStart) {
+                    log.warn("Log: segmento {} termina em {}, mas o seguinte começa em {}; leitura interrompida",
+                            segments.get(i).getFileName(), position, nextStart);
+                    break;
+                }
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Apaga os segmentos que terminam antes de {@code lsn}, já cobertos por um
+     * snapshot. O segmento em escrita nunca é apagado.
+     *
+     * @return quantidade de segmentos apagados
+     */
+    public int deleteSegmentsBefore(long lsn) throws IOException {
+        long writing;
+        synchronized (this) {
+            writing = segmentStart;
+        }
+        List<Path> segments = listSegments();
+        int deleted = 0;
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            long nextStart = segmentStart(segments.get(i + 1));
+            if (nextStart > lsn || segmentStart(segments.get(i)) >= writing) {
+                break;
+            }
+            Files.deleteIfExists(segments.get(i));
+            deleted++;
+        }
+        return deleted;
+    }
+
+    /**
+     * Posição logo após o último registro escrito.
+     */
+    public long getAppendedLsn() {
+        return appendedLsn;
+    }
+
+    /**
+     * Quantidade de {@code force} feitos por {@link #sync(long)}: comparada ao
+     * número de commits, mostra o agrupamento.
+     */
+    public long getForceCount() {
+        return forceCount.get();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        segment.force();
+        durableLsn = appendedLsn;
+        channel.close();
+    }
+
+    private ByteBuffer begin(WalRecordType type) {
+        scratch.clear();
+        scratch.position(4);
+        scratch.put(type.code());
+        return scratch;
+    }
+
+    private long finish(ByteBuffer record) {
+        int length = record.position();
+        writeChecksum.reset();
+        writeChecksum.update(record.array(), 4, length - 4);
+        record.putInt(0, (int) writeChecksum.getValue());
+
+        if (segmentOffset + length > segmentSize) {
+            rollSegment();
+        }
+        segment.put(segmentOffset, record.array(), 0, length);
+        segmentOffset += length;
+        appendedLsn = segmentStart + segmentOffset;
+        return appendedLsn;
+    }
+
+    private void rollSegment() {
+        try {
+            // O segmento cheio vai inteiro para o disco: sync só precisa do segmento atual
+            segment.force();
+            channel.close();
+            openSegment(segmentStart + segmentOffset);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir novo segmento do log", e);
+        }
+    }
+
+    private void openSegment(long start) throws IOException {
+        channel = FileChannel.open(segmentPath(start),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segmentStart = start;
+        segmentOffset = 0;
+    }
+
+    /**
+     * Decodifica os registros íntegros a partir de {@code offset} e retorna o fim do último.
+     */
+    private static int readSegment(ByteBuffer buffer, int offset, WalRecordHandler handler, CRC32C checksum) {
+        ByteBuffer region = buffer.duplicate();
+        int limit = buffer.limit();
+        int position = offset;
+        while (position + HEADER_SIZE <= limit) {
+            WalRecordType type = WalRecordType.fromCode(buffer.get(position + 4));
+            if (type == null) {
+                break;
+            }
+            int length = HEADER_SIZE + type.payloadSize();
+            if (position + length > limit) {
+                break;
+            }
+            checksum.reset();
+            region.limit(position + length).position(position + 4);
+            checksum.update(region);
+            if ((int) checksum.getValue() != buffer.getInt(position)) {
+                break;
+            }
+            if (handler != null) {
+                dispatch(type, buffer, position + HEADER_SIZE, handler);
+            }
+            position += length;
+        }
+        return position;
+    }
+
+    private static int validLength(ByteBuffer buffer, int offset) {
+        return readSegment(buffer, offset, null, new CRC32C());
+    }
+
+    private static void dispatch(WalRecordType type, ByteBuffer buffer, int at, WalRecordHandler handler) {
+        switch (type) {
+            case DRONE_CREATED -> handler.droneCreated(buffer.getLong(at), buffer.getInt(at + 8),
+                    buffer.getInt(at + 12), buffer.getInt(at + 16), buffer.getInt(at + 20),
+                    buffer.getDouble(at + 24), droneState(buffer.get(at + 32)));
+            case ORDER_CREATED -> handler.orderCreated(buffer.getLong(at), buffer.getInt(at + 8),
+                    buffer.getInt(at + 12), buffer.getInt(at + 16), priority(buffer.get(at + 20)),
+                    buffer.get(at + 21) != 0);
+            case ORDER_ASSIGNED -> handler.orderAssigned(buffer.getLong(at), buffer.getLong(at + 8));
+            case DRONE_STATE_CHANGED -> handler.droneStateChanged(buffer.getLong(at), droneState(buffer.get(at + 8)),
+                    buffer.getInt(at + 9), buffer.getInt(at + 13), buffer.getDouble(at + 17),
+                    buffer.getLong(at + 25));
+            case ORDER_DELIVERED -> handler.orderDelivered(buffer.getLong(at));
+            case DELIVERY_RECORDED -> handler.deliveryRecorded(buffer.getLong(at), buffer.getLong(at + 8),
+                    buffer.getLong(at + 16));
+            case FLIGHT_TIME_RECORDED -> handler.flightTimeRecorded(buffer.getLong(at), buffer.getLong(at + 8));
+            case ORDER_UNASSIGNED -> handler.orderUnassigned(buffer.getLong(at), buffer.getLong(at + 8));
+        }
+    }
+
+    List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(WriteAheadLog::isSegment)
+                    .sorted((a, b) -> Long.compare(segmentStart(a), segmentStart(b)))
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long start) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, start, SEGMENT_SUFFIX));
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    static long segmentStart(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static byte ordinal(Enum<?> value) {
+        return value != null ? (byte) value.ordinal() : NO_ENUM;
+    }
+
+    private static DroneState droneState(byte ordinal) {
+        return ordinal != NO_ENUM ? DRONE_STATES[ordinal] : null;
+    }
+
+    private static Priority priority(byte ordinal) {
+        return ordinal != NO_ENUM ? PRIORITIES[ordinal] : null;
+    }
+}
@@ -1,40 +1,207 @@
 package com.examble.drone_api.repository;
 
 import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.DroneChangeListener;
+import com.examble.drone_api.model.Order;
 import com.examble.drone_api.model.type.DroneState;
+import com.examble.drone_api.persistence.StateJournal;
+import com.examble.drone_api.repository.index.DroneCapacityIndex;
+import com.examble.drone_api.repository.index.DroneReachabilityIndex;
+import com.examble.drone_api.repository.index.DroneSpatialIndex;
 import com.examble.drone_api.repository.interfaces.DroneRepository;
+import com.examble.drone_api.util.ConcurrentLongObjectMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 
+/**
+ * Repositório em memória seguro para acesso concorrente (tick agendado,
+ * executor de voos e threads HTTP).
+ * Mantém um índice por id e um índice secundário por {@link DroneState},
+ * atualizado pelo próprio drone a cada mudança de estado, além de um
+ * índice espacial em grade atualizado a cada mudança de posição e de um
+ * índice por capacidade restante e alcance dos drones ociosos, atualizado
+ * a cada mudança de estado ou de carga, e de um mapa de bits de alcance
+ * (quais drones cobrem cada célula a partir da base).
+ * Com a persistência ligada, cadastros, mudanças de estado e atribuições
+ * também são gravados no log ({@link StateJournal}).
+ */
 @Repository
-public class DroneRepositoryImpl implements DroneRepository {
+public class DroneRepositoryImpl implements DroneRepository, DroneChangeListener {
+    private static final int SPATIAL_CELL_SIZE = 10;
+
+    private final ConcurrentLongObjectMap<Drone> dronesById = new ConcurrentLongObjectMap<>();
     private final List<Drone> droneList = new ArrayList<>();
-    private Long idCounter = 1L;
+    private final Map<DroneState, Set<Drone>> dronesByState = new EnumMap<>(DroneState.class);
+    private final DroneSpatialIndex spatialIndex = new DroneSpatialIndex(SPATIAL_CELL_SIZE);
+    private final DroneCapacityIndex capacityIndex = new DroneCapacityIndex();
+    private final DroneReachabilityIndex reachabilityIndex = new DroneReachabilityIndex();
+    private final AtomicLong idCounter = new AtomicLong(1L);
+    private final AtomicInteger maxReach = new AtomicInteger(0);
+    private final StateJournal journal;
+
+    public DroneRepositoryImpl() {
+        this(null);
+    }
+
+    @Autowired
+    public DroneRepositoryImpl(@Nullable StateJournal journal) {
+        this.journal = journal;
+        for (DroneState droneState : DroneState.values()) {
+            dronesByState.put(droneState, new ConcurrentSkipListSet<>(Comparator.comparing(Drone::getId)));
+        }
+    }
 
     @Override
     public List<Drone> findAll() {
-        return droneList;
+        synchronized (droneList) {
+            return new ArrayList<>(droneList);
+        }
     }
 
     @Override
     public Optional<Drone> findById(Long id) {
-        return droneList.stream()
-                .filter(drone->drone.getId().equals(id))
-                .findFirst();
+        return id != null ? Optional.ofNullable(dronesById.get(id)) : Optional.empty();
     }
 
     @Override
     public List<Drone> findByDroneState(DroneState droneState) {
-        return List.of();
+        return new ArrayList<>(dronesByState.get(droneState));
+    }
+
+    @Override
+    public List<Drone> findAvailableNear(int x, int y, double radius) {
+        return spatialIndex.findWithin(x, y, radius, Drone::isAvailableForOrders);
+    }
+
+    @Override
+    public List<Drone> findAvailableReaching(int x, int y) {
+        return reachabilityIndex.findAvailableCovering(x, y);
+    }
+
+    @Override
+    public boolean isReachable(int x, int y) {
+        return reachabilityIndex.isReachable(x, y);
+    }
+
+    @Override
+    public Optional<Drone> findSmallestAvailable(int weight, double distance, boolean loadedOnly,
+                                                 Predicate<Drone> filter) {
+        // A entrada do índice pode estar um passo atrás do drone: confirma estado e capacidade atuais
+        return capacityIndex.findSmallest(weight, distance, loadedOnly, drone -> drone.isAvailableForOrders()
+                && drone.getRemainingCapacity() >= weight
+                && filter.test(drone));
+    }
+
+    @Override
+    public int getMaxReach() {
+        return maxReach.get();
     }
 
     @Override
     public Drone save(Drone drone) {
-        drone.setId(idCounter++);
-        droneList.add(drone);
+        if (drone.getId() != null && dronesById.get(drone.getId()) == drone) {
+            return drone;
+        }
+
+        drone.setId(idCounter.getAndIncrement());
+        index(drone);
+        if (journal != null) {
+            journal.droneCreated(drone);
+        }
+        return drone;
+    }
+
+    @Override
+    public Drone restore(Drone drone) {
+        idCounter.accumulateAndGet(drone.getId() + 1, Math::max);
+        index(drone);
         return drone;
     }
+
+    private void index(Drone drone) {
+        drone.setChangeListener(this);
+        dronesById.put(drone.getId(), drone);
+        synchronized (droneList) {
+            droneList.add(drone);
+        }
+        if (drone.getState() != null) {
+            dronesByState.get(drone.getState()).add(drone);
+        }
+        spatialIndex.add(drone);
+        updateCapacityIndex(drone);
+        reachabilityIndex.register(drone, isWaitingAtBase(drone));
+        maxReach.accumulateAndGet(drone.getDistancePerCargo(), Math::max);
+    }
+
+    @Override
+    public void onStateChange(Drone drone, DroneState previousState, DroneState newState) {
+        if (previousState != null) {
+            dronesByState.get(previousState).remove(drone);
+        }
+        if (newState != null) {
+            dronesByState.get(newState).add(drone);
+        }
+        updateCapacityIndex(drone);
+        reachabilityIndex.setAvailable(drone, isWaitingAtBase(drone));
+        if (journal != null) {
+            journal.droneStateChanged(drone, previousState);
+        }
+    }
+
+    @Override
+    public void onPositionChange(Drone drone, int previousX, int previousY) {
+        spatialIndex.move(drone, previousX, previousY);
+        boolean wasAtBase = previousX == DroneReachabilityIndex.BASE_X && previousY == DroneReachabilityIndex.BASE_Y;
+        if (wasAtBase != drone.isAtBase()) {
+            reachabilityIndex.setAvailable(drone, isWaitingAtBase(drone));
+        }
+    }
+
+    @Override
+    public void onCargoChange(Drone drone, int previousTotalWeight) {
+        updateCapacityIndex(drone);
+    }
+
+    @Override
+    public void onOrderAdded(Drone drone, Order order) {
+        if (journal != null) {
+            journal.orderAssigned(drone, order);
+        }
+    }
+
+    @Override
+    public void onOrderRemoved(Drone drone, Order order) {
+        // Na base, o pedido saiu do plano sem ser entregue; em voo, a saída é a entrega
+        if (journal != null && drone.getState() == DroneState.IDLE && !order.isDelivered()) {
+            journal.orderUnassigned(drone, order);
+        }
+    }
+
+    /**
+     * Disponível no mapa de alcance: ocioso e na base, de onde o alcance é medido.
+     */
+    private static boolean isWaitingAtBase(Drone drone) {
+        return drone.getState() == DroneState.IDLE && drone.isAtBase();
+    }
+
+    private void updateCapacityIndex(Drone drone) {
+        if (drone.getState() == DroneState.IDLE) {
+            capacityIndex.update(drone);
+        } else {
+            capacityIndex.remove(drone);
+        }
+    }
 }
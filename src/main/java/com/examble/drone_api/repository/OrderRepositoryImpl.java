@@ -1,34 +1,138 @@
 package com.examble.drone_api.repository;
 
 import com.examble.drone_api.model.Order;
+import com.examble.drone_api.persistence.StateJournal;
 import com.examble.drone_api.repository.interfaces.OrderRepository;
+import com.examble.drone_api.util.ConcurrentLongObjectMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.NavigableSet;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Repositório em memória de pedidos.
+ * Os pedidos ainda não despachados ficam em uma fila de prioridade
+ * (prioridade e depois ordem de chegada), separada da partição de pedidos
+ * entregues, para que a alocação percorra apenas o que está pendente.
+ * Com a persistência ligada, cadastros e entregas também são gravados no
+ * log ({@link StateJournal}); o cadastro só retorna após o commit.
+ */
 @Repository
 public class OrderRepositoryImpl implements OrderRepository {
+    private final ConcurrentLongObjectMap<Order> ordersById = new ConcurrentLongObjectMap<>();
     private final List<Order> orderList = new ArrayList<>();
-    private Long idCounter = 1L;
+    private final NavigableSet<Order> pendingOrders = new ConcurrentSkipListSet<>(Order.ALLOCATION_ORDER);
+    private final ConcurrentLongObjectMap<Order> deliveredOrders = new ConcurrentLongObjectMap<>();
+    private final AtomicLong idCounter = new AtomicLong(1L);
+    private final StateJournal journal;
+
+    public OrderRepositoryImpl() {
+        this(null);
+    }
+
+    @Autowired
+    public OrderRepositoryImpl(@Nullable StateJournal journal) {
+        this.journal = journal;
+    }
 
     @Override
     public List<Order> findAll() {
-        return orderList;
+        synchronized (orderList) {
+            return new ArrayList<>(orderList);
+        }
     }
 
     @Override
     public Optional<Order> findById(Long id) {
-        return orderList.stream()
-                .filter(drone->drone.getId().equals(id))
-                .findFirst();
+        return id != null ? Optional.ofNullable(ordersById.get(id)) : Optional.empty();
+    }
+
+    @Override
+    public List<Order> findPending() {
+        return new ArrayList<>(pendingOrders);
+    }
+
+    @Override
+    public List<Order> findDelivered() {
+        return deliveredOrders.values();
     }
 
     @Override
     public Order save(Order order) {
-        order.setId(idCounter++);
-        orderList.add(order);
+        order.setId(idCounter.getAndIncrement());
+        ordersById.put(order.getId(), order);
+        synchronized (orderList) {
+            orderList.add(order);
+        }
+        if (!order.isDelivered()) {
+            pendingOrders.add(order);
+        }
+        if (journal != null) {
+            journal.ordersCreated(List.of(order));
+        }
         return order;
     }
+
+    @Override
+    public Order restore(Order order) {
+        idCounter.accumulateAndGet(order.getId() + 1, Math::max);
+        ordersById.put(order.getId(), order);
+        synchronized (orderList) {
+            orderList.add(order);
+        }
+        if (order.isDelivered()) {
+            deliveredOrders.put(order.getId(), order);
+        } else {
+            pendingOrders.add(order);
+        }
+        return order;
+    }
+
+    /**
+     * Salva o lote reservando a faixa de ids de uma vez e tomando a trava da
+     * lista completa uma única vez.
+     */
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        long firstId = idCounter.getAndAdd(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            order.setId(firstId + i);
+            ordersById.put(order.getId(), order);
+        }
+        synchronized (orderList) {
+            orderList.addAll(orders);
+        }
+        for (Order order : orders) {
+            if (!order.isDelivered()) {
+                pendingOrders.add(order);
+            }
+        }
+        if (journal != null) {
+            journal.ordersCreated(orders);
+        }
+        return orders;
+    }
+
+    @Override
+    public void markDispatched(Collection<Order> orders) {
+        pendingOrders.removeAll(orders);
+    }
+
+    @Override
+    public void markDelivered(Order order) {
+        order.setDelivered(true);
+        pendingOrders.remove(order);
+        deliveredOrders.put(order.getId(), order);
+        if (journal != null) {
+            journal.orderDelivered(order);
+        }
+    }
 }
@@ -0,0 +1,119 @@
+package com.examble.drone_api.repository.index;
+
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.util.ConcurrentLongObjectMap;
+
+import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Predicate;
+
+/**
+ * Índice ordenado dos drones disponíveis pela capacidade restante e pelo alcance.
+ * Os drones são agrupados pelo alcance ({@code distancePerCargo}) e, dentro de
+ * cada grupo, ficam em uma skip list ordenada por capacidade restante e id;
+ * drones já carregados e drones vazios ficam em grupos separados, para que o
+ * best-fit possa preencher as viagens abertas antes de abrir uma nova.
+ * A busca do menor drone com capacidade >= w e alcance >= d faz um
+ * {@code ceiling} em cada grupo com alcance suficiente: O(R log n), com R o
+ * número de alcances distintos da frota (poucos, na prática).
+ * <p>
+ * Quem altera a capacidade de um drone deve chamar {@link #update(Drone)};
+ * o peso limite e o alcance não devem mudar depois que o drone é indexado.
+ */
+public class DroneCapacityIndex {
+
+    private record Slot(int remainingCapacity, long id, Drone drone) {
+    }
+
+    private record Position(int range, boolean loaded, Slot slot) {
+    }
+
+    private static final Comparator<Slot> SLOT_ORDER = Comparator
+            .comparingInt(Slot::remainingCapacity)
+            .thenComparingLong(Slot::id);
+
+    private final ConcurrentSkipListMap<Integer, NavigableSet<Slot>> loadedByRange = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Integer, NavigableSet<Slot>> emptyByRange = new ConcurrentSkipListMap<>();
+    private final ConcurrentLongObjectMap<Position> positions = new ConcurrentLongObjectMap<>();
+
+    /**
+     * Indexa o drone ou reposiciona-o com a capacidade restante atual.
+     */
+    public synchronized void update(Drone drone) {
+        Position previous = positions.get(drone.getId());
+        int remainingCapacity = drone.getRemainingCapacity();
+        boolean loaded = drone.hasOrders();
+        if (previous != null && previous.slot().remainingCapacity() == remainingCapacity
+                && previous.loaded() == loaded) {
+            return;
+        }
+        removeSlot(previous);
+        Slot slot = new Slot(remainingCapacity, drone.getId(), drone);
+        groups(loaded).computeIfAbsent(drone.getDistancePerCargo(), range -> new ConcurrentSkipListSet<>(SLOT_ORDER))
+                .add(slot);
+        positions.put(drone.getId(), new Position(drone.getDistancePerCargo(), loaded, slot));
+    }
+
+    public synchronized void remove(Drone drone) {
+        removeSlot(positions.remove(drone.getId()));
+    }
+
+    public boolean contains(Drone drone) {
+        return positions.containsKey(drone.getId());
+    }
+
+    public int size() {
+        return positions.size();
+    }
+
+    /**
+     * Retorna o drone de menor capacidade restante (e menor id, no empate) com
+     * capacidade >= {@code weight} e alcance >= {@code range} que satisfaz o filtro,
+     * apenas entre os já carregados se {@code loadedOnly}.
+     * Em cada grupo de alcance, drones recusados pelo filtro são pulados até o
+     * primeiro aceito, então um filtro muito seletivo torna a busca linear.
+     */
+    public Optional<Drone> findSmallest(int weight, double range, boolean loadedOnly, Predicate<Drone> filter) {
+        Slot probe = new Slot(weight, Long.MIN_VALUE, null);
+        Slot best = findSmallest(loadedByRange, probe, range, null, filter);
+        if (!loadedOnly) {
+            best = findSmallest(emptyByRange, probe, range, best, filter);
+        }
+        return best != null ? Optional.of(best.drone()) : Optional.empty();
+    }
+
+    private Slot findSmallest(ConcurrentSkipListMap<Integer, NavigableSet<Slot>> groups, Slot probe,
+                              double range, Slot best, Predicate<Drone> filter) {
+        for (NavigableSet<Slot> slots : groups.tailMap((int) Math.ceil(range)).values()) {
+            for (Slot slot : slots.tailSet(probe)) {
+                if (best != null && SLOT_ORDER.compare(slot, best) >= 0) {
+                    break;
+                }
+                if (filter.test(slot.drone())) {
+                    best = slot;
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    private void removeSlot(Position position) {
+        if (position == null) {
+            return;
+        }
+        ConcurrentSkipListMap<Integer, NavigableSet<Slot>> groups = groups(position.loaded());
+        NavigableSet<Slot> slots = groups.get(position.range());
+        slots.remove(position.slot());
+        if (slots.isEmpty()) {
+            groups.remove(position.range(), slots);
+        }
+    }
+
+    private ConcurrentSkipListMap<Integer, NavigableSet<Slot>> groups(boolean loaded) {
+        return loaded ? loadedByRange : emptyByRange;
+    }
+}
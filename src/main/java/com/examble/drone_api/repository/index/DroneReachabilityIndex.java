@@ -0,0 +1,140 @@
+package com.examble.drone_api.repository.index;
+
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.util.ConcurrentLongLongMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mapa de bits de alcance: quais drones cobrem cada célula da grade a partir
+ * da base (1,1). A cobertura de uma célula só depende da sua distância à base,
+ * então as células são agrupadas em anéis ({@code ceil} da distância) e cada
+ * anel guarda um único mapa de bits, indexado pela posição densa do drone no
+ * índice (ordem de registro). O anel de uma célula é tabelado.
+ * <p>
+ * Os candidatos de um destino são o AND do mapa do seu anel com o mapa dos
+ * drones disponíveis (ociosos e na base), palavra a palavra, sem visitar a
+ * frota. Um drone só recebe pedidos parado na base (regra do {@code DroneValidator}),
+ * e o repositório só o marca como disponível aqui nessa condição; por isso a
+ * cobertura a partir da base é exata para todo candidato devolvido.
+ */
+public class DroneReachabilityIndex {
+
+    public static final int BASE_X = 1;
+    public static final int BASE_Y = 1;
+
+    private static final int CELLS_PER_AXIS = DroneSpatialIndex.GRID_SIZE + 1;
+    private static final int MAX_RING = ring(DroneSpatialIndex.GRID_SIZE, DroneSpatialIndex.GRID_SIZE);
+    private static final byte[] RING_BY_CELL = new byte[CELLS_PER_AXIS * CELLS_PER_AXIS];
+
+    static {
+        for (int x = 0; x < CELLS_PER_AXIS; x++) {
+            for (int y = 0; y < CELLS_PER_AXIS; y++) {
+                RING_BY_CELL[x * CELLS_PER_AXIS + y] = (byte) ring(x, y);
+            }
+        }
+    }
+
+    // coveringByRing[r]: drones com alcance >= r
+    private final long[][] coveringByRing = new long[MAX_RING + 1][];
+    private long[] available = new long[1];
+    private final List<Drone> dronesBySlot = new ArrayList<>();
+    private static final long NO_SLOT = -1L;
+
+    private final ConcurrentLongLongMap slotById = new ConcurrentLongLongMap();
+    private volatile int maxRange = -1;
+
+    public DroneReachabilityIndex() {
+        for (int ring = 0; ring <= MAX_RING; ring++) {
+            coveringByRing[ring] = new long[1];
+        }
+    }
+
+    /**
+     * Registra o drone: marca os anéis que seu alcance cobre e, se ocioso na base, sua disponibilidade.
+     */
+    public synchronized void register(Drone drone, boolean isAvailable) {
+        if (slotById.containsKey(drone.getId())) {
+            return;
+        }
+        int slot = dronesBySlot.size();
+        dronesBySlot.add(drone);
+        slotById.put(drone.getId(), slot);
+
+        int coveredRings = Math.min(drone.getDistancePerCargo(), MAX_RING);
+        for (int ring = 0; ring <= coveredRings; ring++) {
+            coveringByRing[ring] = set(coveringByRing[ring], slot);
+        }
+        if (isAvailable) {
+            available = set(available, slot);
+        }
+        maxRange = Math.max(maxRange, drone.getDistancePerCargo());
+    }
+
+    public synchronized void setAvailable(Drone drone, boolean isAvailable) {
+        int slot = (int) slotById.get(drone.getId(), NO_SLOT);
+        if (slot == NO_SLOT) {
+            return;
+        }
+        if (isAvailable) {
+            available = set(available, slot);
+        } else if (slot >>> 6 < available.length) {
+            available[slot >>> 6] &= ~(1L << slot);
+        }
+    }
+
+    /**
+     * Se algum drone registrado alcança (x,y) a partir da base, onde recebe
+     * pedidos, esteja ele lá agora ou não: O(1).
+     */
+    public boolean isReachable(int x, int y) {
+        return ringOf(x, y) <= maxRange;
+    }
+
+    /**
+     * Drones disponíveis cujo alcance cobre (x,y) a partir da base, na ordem de registro.
+     */
+    public synchronized List<Drone> findAvailableCovering(int x, int y) {
+        int ring = ringOf(x, y);
+        if (ring > maxRange) {
+            return List.of();
+        }
+        long[] covering = coveringByRing[Math.min(ring, MAX_RING)];
+        int words = Math.min(covering.length, available.length);
+        List<Drone> result = new ArrayList<>();
+        for (int word = 0; word < words; word++) {
+            long bits = covering[word] & available[word];
+            while (bits != 0) {
+                result.add(dronesBySlot.get((word << 6) + Long.numberOfTrailingZeros(bits)));
+                bits &= bits - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Anel de alcance necessário para (x,y): o menor alcance inteiro que cobre o destino.
+     */
+    public static int ringOf(int x, int y) {
+        if (x >= 0 && y >= 0 && x < CELLS_PER_AXIS && y < CELLS_PER_AXIS) {
+            return RING_BY_CELL[x * CELLS_PER_AXIS + y] & 0xFF;
+        }
+        return ring(x, y);
+    }
+
+    private static int ring(int x, int y) {
+        // Mesma conta de Drone.calculateDistance: ceil(d) <= alcance se e só se d <= alcance
+        return (int) Math.ceil(Math.sqrt(Math.pow(x - BASE_X, 2) + Math.pow(y - BASE_Y, 2)));
+    }
+
+    private static long[] set(long[] bits, int slot) {
+        int word = slot >>> 6;
+        if (word >= bits.length) {
+            bits = Arrays.copyOf(bits, Math.max(bits.length * 2, word + 1));
+        }
+        bits[word] |= 1L << slot;
+        return bits;
+    }
+}
@@ -0,0 +1,100 @@
+package com.examble.drone_api.repository.index;
+
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.util.ConcurrentLongObjectMap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Índice espacial em grade uniforme das posições dos drones.
+ * A cidade (100x100) é dividida em células quadradas; cada célula guarda
+ * os drones posicionados nela (por id, pois o hashCode do drone é mutável), de modo que uma busca por raio só visita
+ * as células que intersectam o quadrado envolvente do círculo.
+ */
+public class DroneSpatialIndex {
+
+    public static final int GRID_SIZE = 100;
+
+    private final int cellSize;
+    private final int cellsPerAxis;
+    private final List<ConcurrentLongObjectMap<Drone>> cells;
+
+    public DroneSpatialIndex(int cellSize) {
+        if (cellSize < 1) {
+            throw new IllegalArgumentException("Tamanho da célula deve ser maior que 0");
+        }
+        this.cellSize = cellSize;
+        this.cellsPerAxis = (GRID_SIZE + cellSize - 1) / cellSize;
+        this.cells = new ArrayList<>(cellsPerAxis * cellsPerAxis);
+        for (int i = 0; i < cellsPerAxis * cellsPerAxis; i++) {
+            cells.add(new ConcurrentLongObjectMap<>());
+        }
+    }
+
+    public void add(Drone drone) {
+        cellAt(drone.getPositionX(), drone.getPositionY()).put(drone.getId(), drone);
+    }
+
+    public void remove(Drone drone) {
+        cellAt(drone.getPositionX(), drone.getPositionY()).remove(drone.getId());
+    }
+
+    public void move(Drone drone, int previousX, int previousY) {
+        ConcurrentLongObjectMap<Drone> previousCell = cellAt(previousX, previousY);
+        ConcurrentLongObjectMap<Drone> currentCell = cellAt(drone.getPositionX(), drone.getPositionY());
+        if (previousCell != currentCell) {
+            previousCell.remove(drone.getId());
+            currentCell.put(drone.getId(), drone);
+        }
+    }
+
+    /**
+     * Retorna os drones a até {@code radius} de (x,y) que satisfazem o filtro,
+     * ordenados pela distância e depois pelo id.
+     */
+    public List<Drone> findWithin(int x, int y, double radius, Predicate<Drone> filter) {
+        List<Candidate> candidates = new ArrayList<>();
+        if (radius < 0) {
+            return List.of();
+        }
+
+        int reach = (int) Math.ceil(radius);
+        int minCellX = cellCoordinate(x - reach);
+        int maxCellX = cellCoordinate(x + reach);
+        int minCellY = cellCoordinate(y - reach);
+        int maxCellY = cellCoordinate(y + reach);
+        double radiusSquared = radius * radius;
+
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                for (Drone drone : cells.get(cellX * cellsPerAxis + cellY).values()) {
+                    double dx = drone.getPositionX() - x;
+                    double dy = drone.getPositionY() - y;
+                    double distanceSquared = dx * dx + dy * dy;
+                    if (distanceSquared <= radiusSquared && filter.test(drone)) {
+                        candidates.add(new Candidate(drone, distanceSquared));
+                    }
+                }
+            }
+        }
+
+        candidates.sort(Comparator.comparingDouble(Candidate::distanceSquared)
+                .thenComparing(candidate -> candidate.drone().getId()));
+        return candidates.stream().map(Candidate::drone).toList();
+    }
+
+    private ConcurrentLongObjectMap<Drone> cellAt(int x, int y) {
+        return cells.get(cellCoordinate(x) * cellsPerAxis + cellCoordinate(y));
+    }
+
+    private int cellCoordinate(int coordinate) {
+        int cell = (coordinate - 1) / cellSize;
+        return Math.max(0, Math.min(cellsPerAxis - 1, cell));
+    }
+
+    private record Candidate(Drone drone, double distanceSquared) {
+    }
+}
@@ -5,10 +5,36 @@ import com.examble.drone_api.model.type.DroneState;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 public interface DroneRepository {
     List<Drone> findAll();
     Optional<Drone> findById(Long id);
     List<Drone> findByDroneState(DroneState droneState);
+    List<Drone> findAvailableNear(int x, int y, double radius);
+
+    /**
+     * Drones ociosos cujo alcance cobre (x,y) a partir da base, na ordem de cadastro.
+     */
+    List<Drone> findAvailableReaching(int x, int y);
+
+    /**
+     * Se algum drone da frota alcança (x,y) a partir da base, ocupado ou não.
+     */
+    boolean isReachable(int x, int y);
+
+    /**
+     * Menor drone disponível (capacidade restante, depois id) que ainda comporta
+     * {@code weight}, tem alcance >= {@code distance} e satisfaz o filtro;
+     * com {@code loadedOnly}, só entre os drones que já têm pedidos.
+     */
+    Optional<Drone> findSmallestAvailable(int weight, double distance, boolean loadedOnly, Predicate<Drone> filter);
+
+    int getMaxReach();
     Drone save(Drone drone);
+
+    /**
+     * Recoloca um drone lido da persistência, mantendo o seu id, sem gravá-lo de novo.
+     */
+    Drone restore(Drone drone);
 }
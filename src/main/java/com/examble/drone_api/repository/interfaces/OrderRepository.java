@@ -3,11 +3,22 @@ package com.examble.drone_api.repository.interfaces;
 
 import com.examble.drone_api.model.Order;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface OrderRepository {
     List<Order> findAll();
     Optional<Order> findById(Long id);
+    List<Order> findPending();
+    List<Order> findDelivered();
     Order save(Order order);
+    List<Order> saveAll(List<Order> orders);
+
+    /**
+     * Recoloca um pedido lido da persistência, mantendo o seu id, sem gravá-lo de novo.
+     */
+    Order restore(Order order);
+    void markDispatched(Collection<Order> orders);
+    void markDelivered(Order order);
 }
@@ -0,0 +1,153 @@
+package com.examble.drone_api.service;
+
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.service.interfaces.OrderAllocator;
+import com.examble.drone_api.service.interfaces.OrderIntake;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agrupa os pedidos recém-chegados em lotes: os pedidos entram em uma fila
+ * limitada e uma thread própria faz uma única alocação por janela
+ * ({@code window-ms} desde o primeiro pedido do lote, ou antes, ao juntar
+ * {@code max-batch} pedidos). Cada requisição espera apenas o seu futuro.
+ * <p>
+ * Com a fila cheia, a própria thread da requisição aloca o pedido, o que
+ * limita a memória e devolve a pressão para quem está enviando.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "drone.intake.mode", havingValue = "batched")
+public class BatchingOrderIntake implements OrderIntake {
+
+    record PendingOrder(Order order, CompletableFuture<Optional<Drone>> result) {
+    }
+
+    private final OrderAllocator orderAllocator;
+    private final BlockingQueue<PendingOrder> queue;
+    private final long windowNanos;
+    private final int maxBatch;
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public BatchingOrderIntake(OrderAllocator orderAllocator,
+                               @Value("${drone.intake.window-ms:50}") long windowMs,
+                               @Value("${drone.intake.max-batch:500}") int maxBatch,
+                               @Value("${drone.intake.queue-capacity:10000}") int queueCapacity) {
+        this(orderAllocator, windowMs, maxBatch, queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : null);
+    }
+
+    BatchingOrderIntake(OrderAllocator orderAllocator, long windowMs, int maxBatch, BlockingQueue<PendingOrder> queue) {
+        if (windowMs < 1 || maxBatch < 1 || queue == null) {
+            throw new IllegalArgumentException("Janela, tamanho do lote e capacidade da fila devem ser maiores que 0");
+        }
+        this.orderAllocator = orderAllocator;
+        this.queue = queue;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.maxBatch = maxBatch;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "OrderIntake");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+        log.info("Entrada de pedidos em lotes (janela de {}ms, até {} pedidos)",
+                TimeUnit.NANOSECONDS.toMillis(windowNanos), maxBatch);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+            dispatcher.join(TimeUnit.NANOSECONDS.toMillis(windowNanos) * 10);
+        }
+        // O que sobrou na fila ainda é alocado: as requisições estão esperando
+        List<PendingOrder> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            allocate(remaining);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Optional<Drone>> submit(Order order) {
+        PendingOrder pending = new PendingOrder(order, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            return CompletableFuture.completedFuture(orderAllocator.allocate(order));
+        }
+        // A parada pode ter esvaziado a fila entre a checagem e a inserção: se o
+        // pedido ainda está lá, ninguém mais vai alocá-lo; se saiu, quem o tirou completa o futuro
+        if (!running && queue.remove(pending)) {
+            return CompletableFuture.completedFuture(orderAllocator.allocate(order));
+        }
+        return pending.result();
+    }
+
+    private void dispatchLoop() {
+        List<PendingOrder> batch = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                PendingOrder first = queue.take();
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0 || queue.drainTo(batch, maxBatch - batch.size()) == 0
+                            && !pollInto(batch, remaining)) {
+                        break;
+                    }
+                }
+                allocate(batch);
+            } catch (InterruptedException e) {
+                // Parada: o lote em montagem é alocado abaixo e o restante da fila, em stop()
+                Thread.currentThread().interrupt();
+                allocate(batch);
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private boolean pollInto(List<PendingOrder> batch, long timeoutNanos) throws InterruptedException {
+        PendingOrder next = queue.poll(timeoutNanos, TimeUnit.NANOSECONDS);
+        if (next == null) {
+            return false;
+        }
+        batch.add(next);
+        return true;
+    }
+
+    private void allocate(List<PendingOrder> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Order> orders = batch.stream().map(PendingOrder::order).toList();
+        try {
+            List<Optional<Drone>> results = orderAllocator.allocateAll(orders);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(results.get(i));
+            }
+            log.debug("Lote de {} pedidos alocado", batch.size());
+        } catch (RuntimeException e) {
+            log.error("Erro ao alocar lote de {} pedidos", batch.size(), e);
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.examble.drone_api.service;
+
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.model.type.DroneState;
+import com.examble.drone_api.repository.DroneRepositoryImpl;
+import com.examble.drone_api.repository.OrderRepositoryImpl;
+import com.examble.drone_api.repository.interfaces.DroneRepository;
+import com.examble.drone_api.repository.interfaces.OrderRepository;
+import com.examble.drone_api.service.interfaces.OrderAllocator;
+import com.examble.drone_api.validation.DroneValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Alocação por empacotamento (First-Fit / Best-Fit Decreasing): cada drone é um
+ * "caixote" com capacidade {@code weightLimit} e cada carga de drone é uma viagem.
+ * Os pedidos são empacotados por faixa de prioridade (HIGH primeiro) e, dentro
+ * da faixa, do mais pesado para o mais leve. Um novo drone só é aberto quando o
+ * pedido não cabe em nenhum drone já carregado, preferindo o de maior capacidade.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "drone.allocation.strategy", havingValue = "bin-packing")
+public class BinPackingOrderAllocator implements OrderAllocator {
+
+    public enum Fit {
+        FIRST_FIT,
+        BEST_FIT
+    }
+
+    private static final Comparator<Drone> OPENING_ORDER = Comparator
+            .comparingInt(Drone::getWeightLimit).reversed()
+            .thenComparing(Drone::getId);
+
+    private static final int BASE_X = 1;
+    private static final int BASE_Y = 1;
+
+    private final OrderRepository orderRepository;
+    private final DroneRepository droneRepository;
+    private final DroneValidator droneValidator;
+    private final Fit fit;
+    private final boolean compareWithGreedy;
+
+    public BinPackingOrderAllocator(OrderRepository orderRepository,
+                                    DroneRepository droneRepository,
+                                    DroneValidator droneValidator,
+                                    @Value("${drone.allocation.bin-packing.fit:BEST_FIT}") Fit fit,
+                                    @Value("${drone.allocation.compare-with-greedy:false}") boolean compareWithGreedy) {
+        this.orderRepository = orderRepository;
+        this.droneRepository = droneRepository;
+        this.droneValidator = droneValidator;
+        this.fit = fit;
+        this.compareWithGreedy = compareWithGreedy;
+    }
+
+    /**
+     * Carga de um drone durante o empacotamento.
+     */
+    private static final class Load {
+        private final Drone drone;
+        private int remainingWeight;
+
+        private Load(Drone drone) {
+            this.drone = drone;
+            this.remainingWeight = drone.getRemainingCapacity();
+        }
+
+        private boolean accepts(Order order) {
+            return order.getWeight() <= remainingWeight && drone.canReach(order);
+        }
+
+        private boolean accepts(long packedOrder) {
+            return PackedOrders.weight(packedOrder) <= remainingWeight
+                    && drone.canReach(PackedOrders.x(packedOrder), PackedOrders.y(packedOrder));
+        }
+    }
+
+    @Override
+    public synchronized void allocateOrders() {
+        FleetReplan.Scope scope = FleetReplan.clearPlans(droneRepository, orderRepository);
+        List<Drone> drones = scope.drones();
+        List<Order> pending = scope.pending();
+        // Pendentes já vêm em ordem de chegada por prioridade: a ordem crescente
+        // dos valores empacotados é prioridade, peso decrescente e chegada
+        PackedOrders orders = new PackedOrders(pending.size());
+        for (Order order : pending) {
+            if (!orders.add(order)) {
+                log.info("⚠ Pedido {} não pôde ser alocado - nenhum drone disponível.", order.getId());
+            }
+        }
+        orders.sort();
+
+        List<Load> openLoads = new ArrayList<>();
+        List<Drone> closedDrones = new ArrayList<>(drones);
+        closedDrones.sort(OPENING_ORDER);
+
+        int allocated = 0;
+        for (int i = 0; i < orders.size(); i++) {
+            long packedOrder = orders.get(i);
+            Load load = findOpenLoad(openLoads, open -> open.accepts(packedOrder));
+            if (load == null) {
+                load = openLoad(closedDrones, packedOrder);
+                if (load == null) {
+                    log.info("⚠ Pedido {} não pôde ser alocado - nenhum drone disponível.",
+                            orders.order(packedOrder).getId());
+                    continue;
+                }
+                openLoads.add(load);
+            }
+            if (assign(load, orders.order(packedOrder))) {
+                allocated++;
+            }
+        }
+
+        log.info("Empacotamento {}: {} de {} pedidos em {} viagens", fit, allocated, pending.size(), openLoads.size());
+        if (compareWithGreedy) {
+            log.info("Comparação: empacotamento {} usa {} viagens; alocador guloso usaria {}",
+                    fit, openLoads.size(), countGreedyTrips(drones, pending));
+        }
+    }
+
+    /**
+     * Incremental: encaixa o pedido em um drone já carregado e ainda na base;
+     * só abre uma nova viagem se não houver espaço.
+     */
+    @Override
+    public synchronized Optional<Drone> allocate(Order order) {
+        if (fit == Fit.BEST_FIT) {
+            // Best-fit direto no índice de capacidade: a viagem aberta mais justa que comporta o pedido
+            Optional<Drone> tightest = droneRepository.findSmallestAvailable(order.getWeight(),
+                    distanceFromBase(order), true, drone -> drone.canReach(order));
+            if (tightest.isPresent() && assign(new Load(tightest.get()), order)) {
+                return tightest;
+            }
+        }
+
+        List<Drone> candidates = droneRepository.findAvailableNear(
+                order.getDestinationX(), order.getDestinationY(), droneRepository.getMaxReach());
+
+        List<Load> openLoads = new ArrayList<>();
+        List<Drone> closedDrones = new ArrayList<>();
+        for (Drone drone : candidates) {
+            if (drone.hasOrders()) {
+                openLoads.add(new Load(drone));
+            } else {
+                closedDrones.add(drone);
+            }
+        }
+        openLoads.sort(Comparator.comparing(load -> load.drone, OPENING_ORDER));
+        closedDrones.sort(OPENING_ORDER);
+
+        Load load = findOpenLoad(openLoads, open -> open.accepts(order));
+        if (load == null) {
+            load = openLoad(closedDrones, order);
+        }
+        if (load == null) {
+            log.info("⚠ Pedido {} não pôde ser alocado - nenhum drone disponível.", order.getId());
+            return Optional.empty();
+        }
+        return assign(load, order) ? Optional.of(load.drone) : Optional.empty();
+    }
+
+    private static double distanceFromBase(Order order) {
+        return Math.hypot(order.getDestinationX() - BASE_X, order.getDestinationY() - BASE_Y);
+    }
+
+    private Load findOpenLoad(List<Load> openLoads, Predicate<Load> accepts) {
+        Load best = null;
+        for (Load load : openLoads) {
+            if (!accepts.test(load)) {
+                continue;
+            }
+            if (fit == Fit.FIRST_FIT) {
+                return load;
+            }
+            if (best == null || load.remainingWeight < best.remainingWeight) {
+                best = load;
+            }
+        }
+        return best;
+    }
+
+    private Load openLoad(List<Drone> closedDrones, long packedOrder) {
+        int weight = PackedOrders.weight(packedOrder);
+        int x = PackedOrders.x(packedOrder);
+        int y = PackedOrders.y(packedOrder);
+        for (int i = 0; i < closedDrones.size(); i++) {
+            Drone drone = closedDrones.get(i);
+            if (weight <= drone.getRemainingCapacity() && drone.canReach(x, y)) {
+                closedDrones.remove(i);
+                return new Load(drone);
+            }
+        }
+        return null;
+    }
+
+    private Load openLoad(List<Drone> closedDrones, Order order) {
+        for (int i = 0; i < closedDrones.size(); i++) {
+            Drone drone = closedDrones.get(i);
+            if (drone.canCarry(order) && drone.canReach(order)) {
+                closedDrones.remove(i);
+                return new Load(drone);
+            }
+        }
+        return null;
+    }
+
+    private boolean assign(Load load, Order order) {
+        Drone drone = load.drone;
+        try {
+            // Mesmo monitor usado na decolagem: o drone não parte no meio da atribuição
+            synchronized (drone) {
+                droneValidator.validateDroneForOrder(drone, order).throwIfInvalid();
+                drone.assignOrder(order);
+            }
+            load.remainingWeight -= order.getWeight();
+            log.info("✅ Pedido {} alocado no drone {}", order.getId(), drone.getId());
+            return true;
+        } catch (Exception e) {
+            log.info("⚠ Pedido {} não pôde ser alocado: {}", order.getId(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Executa o alocador guloso sobre cópias dos drones e pedidos, sem tocar no
+     * estado real, e conta quantos drones ele carregaria.
+     */
+    private int countGreedyTrips(List<Drone> drones, List<Order> orders) {
+        DroneRepositoryImpl baselineDrones = new DroneRepositoryImpl();
+        for (Drone drone : drones) {
+            baselineDrones.save(Drone.builder()
+                    .positionX(drone.getPositionX())
+                    .positionY(drone.getPositionY())
+                    .weightLimit(drone.getWeightLimit())
+                    .distancePerCargo(drone.getDistancePerCargo())
+                    .battery(drone.getBattery())
+                    .state(DroneState.IDLE)
+                    .orderList(new ArrayList<>())
+                    .build());
+        }
+        OrderRepositoryImpl baselineOrders = new OrderRepositoryImpl();
+        for (Order order : orders) {
+            baselineOrders.save(new Order(null, order.getDestinationX(), order.getDestinationY(),
+                    order.getWeight(), order.getPriority(), false));
+        }
+
+        new OrderAllocatorImpl(baselineOrders, baselineDrones, droneValidator).allocateOrders();
+        return (int) baselineDrones.findAll().stream().filter(Drone::hasOrders).count();
+    }
+}
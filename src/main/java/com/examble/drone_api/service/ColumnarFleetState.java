@@ -0,0 +1,211 @@
+package com.examble.drone_api.service;
+
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.model.type.DroneState;
+import com.examble.drone_api.util.ConcurrentLongLongMap;
+
+import java.util.Arrays;
+
+/**
+ * Estado da frota em colunas (struct-of-arrays) para o motor {@code COLUMNAR}.
+ * Posição, alvo, bateria, estado e horário do próximo evento de cada drone
+ * ficam em arrays primitivos indexados por uma posição densa, e o tick percorre
+ * esses arrays em sequência: o passo de voo não toca no {@link Drone}.
+ * <p>
+ * Só os drones com um evento vencido (chegada, fim de entrega ou de recarga,
+ * início de recarga) voltam ao objeto: o motor chama {@link #materialize(int)},
+ * aplica a transição no drone e recarrega a posição com {@link #load}. Fora
+ * disso, os objetos {@link Drone} são atualizados apenas sob demanda, para a
+ * camada REST. Não é thread-safe: o motor serializa o acesso.
+ */
+public class ColumnarFleetState {
+
+    private static final int BASE_X = 1;
+    private static final int BASE_Y = 1;
+    private static final int NO_TARGET = -1;
+    private static final long NO_SLOT = -1L;
+    private static final double STRAIGHT_STEP_BATTERY = 1.0 * 0.1;
+    private static final double DIAGONAL_STEP_BATTERY = Math.sqrt(2) * 0.1;
+
+    private static final DroneState[] STATES = DroneState.values();
+    private static final byte IDLE = (byte) DroneState.IDLE.ordinal();
+    private static final byte IN_FLIGHT = (byte) DroneState.IN_FLIGHT.ordinal();
+    private static final byte DELIVERING = (byte) DroneState.DELIVERING.ordinal();
+    private static final byte RETURNING_TO_BASE = (byte) DroneState.RETURNING_TO_BASE.ordinal();
+    private static final byte RECHARGING = (byte) DroneState.RECHARGING.ordinal();
+
+    private final ConcurrentLongLongMap slotById = new ConcurrentLongLongMap();
+    private int size;
+    private Drone[] drones;
+    private int[] positionX;
+    private int[] positionY;
+    private int[] targetX;
+    private int[] targetY;
+    private double[] battery;
+    private byte[] state;
+    private long[] nextEventMillis;
+    // Posição e bateria do array mais novas que as do objeto
+    private boolean[] stale;
+    private int[] dueSlots;
+
+    public ColumnarFleetState() {
+        this(16);
+    }
+
+    public ColumnarFleetState(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        drones = new Drone[capacity];
+        positionX = new int[capacity];
+        positionY = new int[capacity];
+        targetX = new int[capacity];
+        targetY = new int[capacity];
+        battery = new double[capacity];
+        state = new byte[capacity];
+        nextEventMillis = new long[capacity];
+        stale = new boolean[capacity];
+        dueSlots = new int[capacity];
+    }
+
+    /**
+     * Copia o drone para a sua posição (criada na primeira vez) e retorna a posição.
+     *
+     * @param eventMillis horário do próximo evento com prazo (entrega ou recarga),
+     *                    ou {@link Long#MAX_VALUE} se não houver
+     */
+    public int load(Drone drone, long eventMillis) {
+        int slot = (int) slotById.get(drone.getId(), NO_SLOT);
+        if (slot == NO_SLOT) {
+            slot = size++;
+            ensureCapacity(size);
+            slotById.put(drone.getId(), slot);
+            drones[slot] = drone;
+        }
+
+        positionX[slot] = drone.getPositionX();
+        positionY[slot] = drone.getPositionY();
+        battery[slot] = drone.getBattery();
+        state[slot] = (byte) drone.getState().ordinal();
+        nextEventMillis[slot] = eventMillis;
+        stale[slot] = false;
+
+        if (drone.getState() == DroneState.IN_FLIGHT && drone.hasOrders()) {
+            Order nextOrder = drone.getOrderList().get(0);
+            targetX[slot] = nextOrder.getDestinationX();
+            targetY[slot] = nextOrder.getDestinationY();
+        } else if (drone.getState() == DroneState.RETURNING_TO_BASE) {
+            targetX[slot] = BASE_X;
+            targetY[slot] = BASE_Y;
+        } else {
+            targetX[slot] = NO_TARGET;
+            targetY[slot] = NO_TARGET;
+        }
+        return slot;
+    }
+
+    /**
+     * Avança um tick sobre as colunas: drones em voo dão um passo em direção ao
+     * alvo (consumindo bateria como {@link Drone#updatePosition}) e os drones
+     * com evento vencido são separados para o motor.
+     *
+     * @return quantidade de posições com evento, lidas com {@link #dueSlot(int)}
+     */
+    public int advance(long nowMillis) {
+        int due = 0;
+        for (int i = 0; i < size; i++) {
+            byte current = state[i];
+            if (current == IN_FLIGHT || current == RETURNING_TO_BASE) {
+                if (targetX[i] == NO_TARGET) {
+                    continue;
+                }
+                int deltaX = Integer.compare(targetX[i], positionX[i]);
+                int deltaY = Integer.compare(targetY[i], positionY[i]);
+                if (deltaX != 0 || deltaY != 0) {
+                    positionX[i] += deltaX;
+                    positionY[i] += deltaY;
+                    double remaining = battery[i]
+                            - (deltaX != 0 && deltaY != 0 ? DIAGONAL_STEP_BATTERY : STRAIGHT_STEP_BATTERY);
+                    battery[i] = remaining < 0 ? 0 : remaining;
+                    stale[i] = true;
+                }
+                if (positionX[i] == targetX[i] && positionY[i] == targetY[i]) {
+                    dueSlots[due++] = i;
+                }
+            } else if (current == DELIVERING || current == RECHARGING) {
+                if (nowMillis > nextEventMillis[i]) {
+                    dueSlots[due++] = i;
+                }
+            } else if (current == IDLE) {
+                // Mesma regra de Drone.needsRecharging
+                if (battery[i] < 80.0 && positionX[i] == BASE_X && positionY[i] == BASE_Y) {
+                    dueSlots[due++] = i;
+                }
+            }
+        }
+        return due;
+    }
+
+    public int dueSlot(int index) {
+        return dueSlots[index];
+    }
+
+    /**
+     * Estado da posição como visto pelo último {@link #advance}.
+     */
+    public DroneState state(int slot) {
+        return STATES[state[slot]];
+    }
+
+    /**
+     * Grava posição e bateria das colunas no objeto do drone e o retorna.
+     */
+    public Drone materialize(int slot) {
+        Drone drone = drones[slot];
+        if (stale[slot]) {
+            drone.setBattery(battery[slot]);
+            drone.setPositionX(positionX[slot]);
+            drone.setPositionY(positionY[slot]);
+            stale[slot] = false;
+        }
+        return drone;
+    }
+
+    /**
+     * Atualiza o objeto do drone, se ele estiver nas colunas.
+     */
+    public void materialize(Drone drone) {
+        int slot = (int) slotById.get(drone.getId(), NO_SLOT);
+        if (slot != NO_SLOT) {
+            materialize(slot);
+        }
+    }
+
+    public void materializeAll() {
+        for (int i = 0; i < size; i++) {
+            if (stale[i]) {
+                materialize(i);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= drones.length) {
+            return;
+        }
+        int capacity = Math.max(required, drones.length * 2);
+        drones = Arrays.copyOf(drones, capacity);
+        positionX = Arrays.copyOf(positionX, capacity);
+        positionY = Arrays.copyOf(positionY, capacity);
+        targetX = Arrays.copyOf(targetX, capacity);
+        targetY = Arrays.copyOf(targetY, capacity);
+        battery = Arrays.copyOf(battery, capacity);
+        state = Arrays.copyOf(state, capacity);
+        nextEventMillis = Arrays.copyOf(nextEventMillis, capacity);
+        stale = Arrays.copyOf(stale, capacity);
+        dueSlots = Arrays.copyOf(dueSlots, capacity);
+    }
+}
@@ -1,12 +1,14 @@
 package com.examble.drone_api.service;
 
 import com.examble.drone_api.dto.DashboardResponseDTO;
+import com.examble.drone_api.dto.LatencyPercentilesDTO;
 import com.examble.drone_api.model.DroneMetrics;
 import com.examble.drone_api.service.interfaces.DashboardService;
 import com.examble.drone_api.service.interfaces.DroneMetricsService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -16,9 +18,11 @@ import java.util.stream.Collectors;
 public class DashboardServiceImpl implements DashboardService {
     
     private final DroneMetricsService metricsService;
+    private final Clock clock;
     
-    public DashboardServiceImpl(DroneMetricsService metricsService) {
+    public DashboardServiceImpl(DroneMetricsService metricsService, Clock clock) {
         this.metricsService = metricsService;
+        this.clock = clock;
     }
 
     @Override
@@ -47,6 +51,8 @@ public class DashboardServiceImpl implements DashboardService {
                             .efficiency(entry.getValue().getEfficiency())
                             .firstDelivery(entry.getValue().getFirstDelivery())
                             .lastDelivery(entry.getValue().getLastDelivery())
+                            .deliveryTimePercentiles(LatencyPercentilesDTO.from(entry.getValue().getDeliveryTimePercentiles()))
+                            .flightTimePercentiles(LatencyPercentilesDTO.from(entry.getValue().getFlightTimePercentiles()))
                             .build()
                 ));
 
@@ -56,7 +62,9 @@ public class DashboardServiceImpl implements DashboardService {
                 .mostEfficientDroneId(mostEfficientDroneId)
                 .mostEfficientDroneDeliveries(mostEfficientMetrics != null ? mostEfficientMetrics.getDeliveries() : 0)
                 .mostEfficientDroneEfficiency(mostEfficientMetrics != null ? mostEfficientMetrics.getEfficiency() : 0.0)
-                .lastUpdate(LocalDateTime.now())
+                .lastUpdate(LocalDateTime.now(clock))
+                .deliveryTimePercentiles(LatencyPercentilesDTO.from(metricsService.getDeliveryTimePercentiles()))
+                .flightTimePercentiles(LatencyPercentilesDTO.from(metricsService.getFlightTimePercentiles()))
                 .droneMetrics(droneMetricsDTOs)
                 .build();
     }
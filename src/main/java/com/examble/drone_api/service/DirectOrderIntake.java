@@ -0,0 +1,30 @@
+package com.examble.drone_api.service;
+
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.service.interfaces.OrderAllocator;
+import com.examble.drone_api.service.interfaces.OrderIntake;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Aloca cada pedido na própria thread da requisição, assim que ele chega.
+ */
+@Service
+@ConditionalOnProperty(name = "drone.intake.mode", havingValue = "direct", matchIfMissing = true)
+public class DirectOrderIntake implements OrderIntake {
+
+    private final OrderAllocator orderAllocator;
+
+    public DirectOrderIntake(OrderAllocator orderAllocator) {
+        this.orderAllocator = orderAllocator;
+    }
+
+    @Override
+    public CompletableFuture<Optional<Drone>> submit(Order order) {
+        return CompletableFuture.completedFuture(orderAllocator.allocate(order));
+    }
+}
@@ -1,45 +1,128 @@
 package com.examble.drone_api.service;
 
 import com.examble.drone_api.model.DroneMetrics;
+import com.examble.drone_api.model.LatencyHistogram;
+import com.examble.drone_api.model.LatencySummary;
+import com.examble.drone_api.persistence.StateJournal;
 import com.examble.drone_api.service.interfaces.DroneMetricsService;
 import com.examble.drone_api.service.interfaces.DroneSimulationService;
+import com.examble.drone_api.util.ConcurrentLongObjectMap;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
-import java.util.Comparator;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ObjLongConsumer;
 import java.util.Map;
 
 @Service
 @Slf4j
 public class DroneMetricsServiceImpl implements DroneMetricsService {
 
-    private final Map<Long, DroneMetrics> droneMetrics = new ConcurrentHashMap<>();
+    // Chave long sem boxing: consultado a cada entrega e pouso
+    private final ConcurrentLongObjectMap<DroneMetrics> droneMetrics = new ConcurrentLongObjectMap<>();
     private final AtomicInteger totalDeliveries = new AtomicInteger(0);
     private final AtomicLong totalDeliveryTime = new AtomicLong(0);
+    // Frota: 32 baldes por potência de dois (erro ≤ ~3%) até ~2 anos
+    private final LatencyHistogram deliveryTimeHistogram = new LatencyHistogram(5, 36);
+    private final LatencyHistogram flightTimeHistogram = new LatencyHistogram(5, 36);
+    private final Clock clock;
+    private final StateJournal journal;
+    // Registros (atualização + log) em leitura; a cópia para o snapshot em escrita
+    private final ReentrantReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+    // Cópias do snapshot, reaproveitadas entre snapshots: sob a trava só há cópia de primitivos
+    private final long[] fleetCopy;
+    private long[] droneIdsCopy = new long[0];
+    private long[] droneMetricsCopy = new long[0];
+    private int droneCopyCount;
+    private final ObjLongConsumer<DroneMetrics> droneCopier = this::copyDroneMetrics;
+
+    public DroneMetricsServiceImpl(Clock clock) {
+        this(clock, null);
+    }
+
+    @Autowired
+    public DroneMetricsServiceImpl(Clock clock, @Nullable StateJournal journal) {
+        this.clock = clock;
+        this.journal = journal;
+        this.fleetCopy = new long[2 + deliveryTimeHistogram.copyLength() + flightTimeHistogram.copyLength()];
+    }
 
     @Override
     public void recordDelivery(Long droneId, long deliveryTimeMs) {
-        droneMetrics.computeIfAbsent(droneId, k -> new DroneMetrics())
-                   .recordDelivery(deliveryTimeMs);
-        
-        totalDeliveries.incrementAndGet();
-        totalDeliveryTime.addAndGet(deliveryTimeMs);
-        
-        log.info("Métrica registrada: Drone {} completou entrega em {}ms", droneId, deliveryTimeMs);
+        recordDelivery(droneId, deliveryTimeMs, clock.millis());
+    }
+
+    @Override
+    public void recordDelivery(Long droneId, long deliveryTimeMs, long deliveredAtMillis) {
+        Lock lock = snapshotLock.readLock();
+        lock.lock();
+        try {
+            // Executado no tick da simulação: sem alocação após o primeiro registro do drone
+            droneMetrics.computeIfAbsent(droneId, id -> new DroneMetrics())
+                       .recordDelivery(deliveryTimeMs, deliveredAtMillis);
+            if (journal != null) {
+                journal.deliveryRecorded(droneId, deliveryTimeMs, deliveredAtMillis);
+            }
+
+            totalDeliveries.incrementAndGet();
+            totalDeliveryTime.addAndGet(deliveryTimeMs);
+            deliveryTimeHistogram.record(deliveryTimeMs);
+        } finally {
+            lock.unlock();
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Métrica registrada: Drone {} completou entrega em {}ms", droneId, deliveryTimeMs);
+        }
     }
 
     @Override
     public void recordFlightTime(Long droneId, long flightTimeMs) {
-        droneMetrics.computeIfAbsent(droneId, k -> new DroneMetrics())
-                   .recordFlightTime(flightTimeMs);
+        Lock lock = snapshotLock.readLock();
+        lock.lock();
+        try {
+            droneMetrics.computeIfAbsent(droneId, id -> new DroneMetrics())
+                       .recordFlightTime(flightTimeMs);
+            flightTimeHistogram.record(flightTimeMs);
+            if (journal != null) {
+                journal.flightTimeRecorded(droneId, flightTimeMs);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<DroneMetrics> getDroneMetrics(Long droneId) {
+        return Optional.ofNullable(droneMetrics.get(droneId));
+    }
+
+    @Override
+    public LatencySummary getDeliveryTimePercentiles() {
+        return deliveryTimeHistogram.summarize();
+    }
+
+    @Override
+    public LatencySummary getFlightTimePercentiles() {
+        return flightTimeHistogram.summarize();
     }
 
     @Override
     public Map<Long, DroneMetrics> getAllDroneMetrics() {
-        return new ConcurrentHashMap<>(droneMetrics);
+        Map<Long, DroneMetrics> result = new ConcurrentHashMap<>();
+        droneMetrics.forEach((metrics, droneId) -> result.put(droneId, metrics));
+        return result;
     }
 
     @Override
@@ -55,10 +138,16 @@ public class DroneMetricsServiceImpl implements DroneMetricsService {
 
     @Override
     public Long getMostEfficientDroneId() {
-        return droneMetrics.entrySet().stream()
-                .max(Comparator.comparingDouble(entry -> entry.getValue().getEfficiency()))
-                .map(Map.Entry::getKey)
-                .orElse(null);
+        Long[] mostEfficientId = {null};
+        double[] bestEfficiency = {Double.NEGATIVE_INFINITY};
+        droneMetrics.forEach((metrics, droneId) -> {
+            double efficiency = metrics.getEfficiency();
+            if (mostEfficientId[0] == null || efficiency > bestEfficiency[0]) {
+                mostEfficientId[0] = droneId;
+                bestEfficiency[0] = efficiency;
+            }
+        });
+        return mostEfficientId[0];
     }
 
     @Override
@@ -66,4 +155,79 @@ public class DroneMetricsServiceImpl implements DroneMetricsService {
         Long mostEfficientId = getMostEfficientDroneId();
         return mostEfficientId != null ? droneMetrics.get(mostEfficientId) : new DroneMetrics();
     }
+
+    /**
+     * Com os registros bloqueados, toda amostra anterior à posição retornada
+     * está na cópia e nenhuma posterior: a leitura do log a partir dela não
+     * conta amostras duas vezes. Sob a trava, os contadores são apenas copiados
+     * para arrays reaproveitados; a gravação acontece depois de liberá-la.
+     */
+    @Override
+    public synchronized long writeSnapshot(DataOutput out) throws IOException {
+        long lsn;
+        Lock lock = snapshotLock.writeLock();
+        while (true) {
+            ensureDroneCopyCapacity(droneMetrics.size());
+            lock.lock();
+            try {
+                // Drone novo entre o dimensionamento e a trava: aumenta as cópias fora dela
+                if (droneMetrics.size() > droneIdsCopy.length) {
+                    continue;
+                }
+                fleetCopy[0] = totalDeliveries.get();
+                fleetCopy[1] = totalDeliveryTime.get();
+                flightTimeHistogram.copyTo(fleetCopy, deliveryTimeHistogram.copyTo(fleetCopy, 2));
+                droneCopyCount = 0;
+                droneMetrics.forEach(droneCopier);
+                lsn = journal != null ? journal.position() : 0L;
+                break;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        out.writeInt((int) fleetCopy[0]);
+        out.writeLong(fleetCopy[1]);
+        int offset = LatencyHistogram.writeCopy(out, fleetCopy, 2, deliveryTimeHistogram.copyLength());
+        LatencyHistogram.writeCopy(out, fleetCopy, offset, flightTimeHistogram.copyLength());
+        out.writeInt(droneCopyCount);
+        for (int i = 0; i < droneCopyCount; i++) {
+            out.writeLong(droneIdsCopy[i]);
+            DroneMetrics.writeCopy(out, droneMetricsCopy, i * DroneMetrics.COPY_LENGTH);
+        }
+        return lsn;
+    }
+
+    private void ensureDroneCopyCapacity(int drones) {
+        if (drones > droneIdsCopy.length) {
+            int capacity = Math.max(drones, droneIdsCopy.length * 2);
+            droneIdsCopy = new long[capacity];
+            droneMetricsCopy = new long[capacity * DroneMetrics.COPY_LENGTH];
+        }
+    }
+
+    private void copyDroneMetrics(DroneMetrics metrics, long droneId) {
+        droneIdsCopy[droneCopyCount] = droneId;
+        metrics.copyTo(droneMetricsCopy, droneCopyCount * DroneMetrics.COPY_LENGTH);
+        droneCopyCount++;
+    }
+
+    @Override
+    public void readSnapshot(DataInput in) throws IOException {
+        Lock lock = snapshotLock.writeLock();
+        lock.lock();
+        try {
+            totalDeliveries.set(in.readInt());
+            totalDeliveryTime.set(in.readLong());
+            deliveryTimeHistogram.readFrom(in);
+            flightTimeHistogram.readFrom(in);
+            int drones = in.readInt();
+            for (int i = 0; i < drones; i++) {
+                long droneId = in.readLong();
+                droneMetrics.put(droneId, DroneMetrics.readFrom(in));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
 }
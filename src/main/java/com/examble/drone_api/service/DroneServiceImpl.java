@@ -5,8 +5,12 @@ import com.examble.drone_api.mapper.DroneMapper;
 import com.examble.drone_api.model.Drone;
 import com.examble.drone_api.repository.interfaces.DroneRepository;
 import com.examble.drone_api.service.interfaces.DroneService;
+import com.examble.drone_api.service.interfaces.DroneSimulationService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,18 +18,45 @@ import java.util.Optional;
 public class DroneServiceImpl implements DroneService {
 
     public DroneRepository droneRepository;
+    private final DroneSimulationService simulationService;
+    private final Clock clock;
+
     public DroneServiceImpl(DroneRepository droneRepository) {
+        this(droneRepository, null, Clock.systemDefaultZone());
+    }
+
+    /**
+     * @param simulationService motor da simulação, que atualiza os drones
+     *                          antes de serem expostos; opcional
+     * @param clock             relógio da simulação, o mesmo das mudanças de estado do motor
+     */
+    @Autowired
+    public DroneServiceImpl(DroneRepository droneRepository, DroneSimulationService simulationService, Clock clock) {
         this.droneRepository = droneRepository;
+        this.simulationService = simulationService;
+        this.clock = clock;
     }
 
     @Override
     public List<Drone> findAll(){
+        if (simulationService != null) {
+            simulationService.refreshDroneViews();
+        }
         return droneRepository.findAll();
     }
 
     @Override
     public Optional<Drone> findById(Long id){
-        return droneRepository.findById(id);
+        Optional<Drone> drone = droneRepository.findById(id);
+        if (simulationService != null) {
+            drone.ifPresent(simulationService::refreshDroneView);
+        }
+        return drone;
+    }
+
+    @Override
+    public List<Drone> findAvailableNear(int x, int y, double radius){
+        return droneRepository.findAvailableNear(x, y, radius);
     }
 
     @Override
@@ -35,7 +66,7 @@ public class DroneServiceImpl implements DroneService {
         // Inicializar campos padrão
         drone.setBattery(100.0);
         drone.setState(com.examble.drone_api.model.type.DroneState.IDLE);
-        drone.setLastStateChange(java.time.LocalDateTime.now());
+        drone.setLastStateChange(LocalDateTime.now(clock));
         drone.setOrderList(new java.util.ArrayList<>());
         
         return droneRepository.save(drone);
@@ -1,108 +1,347 @@
 package com.examble.drone_api.service;
 
+import com.examble.drone_api.config.SimulationClock;
+import com.examble.drone_api.config.SimulationProperties;
 import com.examble.drone_api.exception.FlightSimulationException;
 import com.examble.drone_api.model.Drone;
 import com.examble.drone_api.model.Order;
+import com.examble.drone_api.model.SimulationEvent;
 import com.examble.drone_api.model.type.DroneState;
+import com.examble.drone_api.model.type.SimulationEngineMode;
+import com.examble.drone_api.model.type.SimulationEventType;
 import com.examble.drone_api.repository.interfaces.DroneRepository;
+import com.examble.drone_api.repository.interfaces.OrderRepository;
 import com.examble.drone_api.service.interfaces.DroneSimulationService;
 import com.examble.drone_api.service.interfaces.DroneMetricsService;
+import com.examble.drone_api.service.interfaces.DroneStreamService;
+import com.examble.drone_api.util.ConcurrentLongLongMap;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 @Service
 @Slf4j
 public class DroneSimulationServiceImpl implements DroneSimulationService {
 
     private final DroneRepository droneRepository;
+    private final OrderRepository orderRepository;
     private final DroneMetricsService metricsService;
-    private final ConcurrentHashMap<Long, Long> flightStartTimes = new ConcurrentHashMap<>();
+    private final SimulationClock clock;
+    private final SimulationProperties properties;
+    private final DroneStreamService streamService;
+    private final RoutePlanner routePlanner;
+    private final SimulationEventQueue eventQueue = new SimulationEventQueue();
+    private final ColumnarFleetState fleetState = new ColumnarFleetState();
+    // Decolagens ainda não copiadas para as colunas; o tick as consome antes de avançar
+    private final Queue<Drone> pendingTakeoffs = new ConcurrentLinkedQueue<>();
+    // Horário de decolagem por drone, sem boxing de chave nem de valor
+    private final ConcurrentLongLongMap flightStartTimes = new ConcurrentLongLongMap();
+    private long lastTickMillis;
+    private volatile long currentTickMillis;
     
-    public DroneSimulationServiceImpl(DroneRepository droneRepository, DroneMetricsService metricsService) {
+    public DroneSimulationServiceImpl(DroneRepository droneRepository, OrderRepository orderRepository,
+                                      DroneMetricsService metricsService, SimulationClock clock,
+                                      SimulationProperties properties, DroneStreamService streamService,
+                                      RoutePlanner routePlanner) {
         this.droneRepository = droneRepository;
+        this.orderRepository = orderRepository;
         this.metricsService = metricsService;
+        this.clock = clock;
+        this.properties = properties;
+        this.streamService = streamService;
+        this.routePlanner = routePlanner;
+        this.lastTickMillis = clock.millis();
+        this.currentTickMillis = lastTickMillis;
+        log.info("Motor de simulação: {} (tick de {}ms, aceleração {}x)",
+                properties.engine(), properties.tickMs(), properties.timeWarp());
     }
 
     private static final int BASE_X = 1;
     private static final int BASE_Y = 1;
-    private static final int DELIVERY_TIME_SECONDS = 5;
-    private static final int RECHARGE_TIME_SECONDS = 10;
+    private static final long NO_FLIGHT_START = Long.MIN_VALUE;
 
+    /**
+     * Executa todos os ticks cujo horário simulado já passou. Em tempo real é
+     * um tick por chamada; com o relógio acelerado, vários ticks em sequência.
+     */
     @Override
-    @Scheduled(fixedRate = 1000) // Executa a cada segundo
-    public void updateDroneStates() {
-        List<Drone> drones = droneRepository.findAll();
-        
-        for (Drone drone : drones) {
-            updateDroneState(drone);
+    @Scheduled(fixedRateString = "${drone.simulation.tick-ms:1000}")
+    public synchronized void updateDroneStates() {
+        runDueTicks();
+    }
+
+    @Override
+    public synchronized int fastForward(Duration duration) {
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Duração do avanço deve ser positiva: " + duration);
+        }
+        // Avança tick a tick para que métricas lidas do relógio fiquem alinhadas ao tick
+        int ticks = 0;
+        long remaining = duration.toMillis();
+        while (remaining > 0) {
+            long step = Math.min(remaining, properties.tickMs());
+            clock.advance(Duration.ofMillis(step));
+            ticks += runDueTicks();
+            remaining -= step;
+        }
+        log.info("Simulação avançada em {}s ({} ticks)", duration.toSeconds(), ticks);
+        return ticks;
+    }
+
+    @Override
+    public LocalDateTime getSimulatedTime() {
+        return LocalDateTime.now(clock);
+    }
+
+    @Override
+    public double getTimeWarp() {
+        return clock.getTimeWarp();
+    }
+
+    @Override
+    public void setTimeWarp(double timeWarp) {
+        clock.setTimeWarp(timeWarp);
+        log.info("Aceleração do relógio da simulação alterada para {}x", timeWarp);
+    }
+
+    private int runDueTicks() {
+        int ticks = 0;
+        while (lastTickMillis + properties.tickMs() <= clock.millis()) {
+            lastTickMillis += properties.tickMs();
+            tick(lastTickMillis);
+            ticks++;
+        }
+        return ticks;
+    }
+
+    private void tick(long nowMillis) {
+        currentTickMillis = nowMillis;
+        if (properties.engine() == SimulationEngineMode.EVENT_DRIVEN) {
+            processDueEvents(nowMillis);
+        } else if (properties.engine() == SimulationEngineMode.COLUMNAR) {
+            processColumnarTick(nowMillis);
+        } else {
+            LocalDateTime now = toDateTime(nowMillis);
+            for (Drone drone : droneRepository.findAll()) {
+                updateDroneState(drone, now);
+            }
+        }
+        // Um único evento por tick com todas as mudanças acumuladas
+        streamService.flush(toDateTime(nowMillis));
+    }
+
+    /**
+     * Motor orientado a eventos: processa apenas os drones cujo próximo evento
+     * já venceu, em ordem de horário, e agenda o evento seguinte de cada um.
+     */
+    private void processDueEvents(long nowMillis) {
+        LocalDateTime now = toDateTime(nowMillis);
+        int processed = 0;
+        SimulationEvent event;
+        while ((event = eventQueue.pollDue(nowMillis)) != null) {
+            Drone drone = event.drone();
+            updateDroneState(drone, now);
+            scheduleNextEvent(drone, nowMillis);
+            processed++;
+        }
+        if (processed > 0) {
+            log.debug("Tick processou {} eventos; {} agendados", processed, eventQueue.size());
+        }
+    }
+
+    /**
+     * Motor em colunas: o passo de voo de toda a frota é uma varredura sobre
+     * arrays primitivos; só os drones com evento vencido voltam ao objeto
+     * {@link Drone}, onde a transição é aplicada pelos mesmos handlers dos
+     * outros motores.
+     */
+    private void processColumnarTick(long nowMillis) {
+        Drone takenOff;
+        while ((takenOff = pendingTakeoffs.poll()) != null) {
+            fleetState.load(takenOff, eventMillis(takenOff));
+        }
+
+        int due = fleetState.advance(nowMillis);
+        if (due == 0) {
+            return;
+        }
+        LocalDateTime now = toDateTime(nowMillis);
+        for (int i = 0; i < due; i++) {
+            int slot = fleetState.dueSlot(i);
+            Drone drone = fleetState.materialize(slot);
+            // Uma decolagem concorrente pode ter mudado o drone depois da cópia: só recarrega
+            if (drone.getState() == fleetState.state(slot)) {
+                completeColumnarEvent(drone, now);
+                streamService.markChanged(drone);
+            }
+            fleetState.load(drone, eventMillis(drone));
+        }
+        log.debug("Tick em colunas: {} drones, {} eventos", fleetState.size(), due);
+    }
+
+    private void completeColumnarEvent(Drone drone, LocalDateTime now) {
+        // O passo de voo já foi dado nas colunas; resta a chegada
+        switch (drone.getState()) {
+            case IN_FLIGHT -> startDeliveryIfArrived(drone, now);
+            case RETURNING_TO_BASE -> landIfAtBase(drone, now);
+            default -> applyStateHandler(drone, now);
+        }
+    }
+
+    private long eventMillis(Drone drone) {
+        LocalDateTime estimatedTime = drone.getEstimatedArrivalTime();
+        return estimatedTime != null
+                ? estimatedTime.atZone(clock.getZone()).toInstant().toEpochMilli()
+                : Long.MAX_VALUE;
+    }
+
+    @Override
+    public synchronized void refreshDroneViews() {
+        if (properties.engine() == SimulationEngineMode.COLUMNAR) {
+            fleetState.materializeAll();
+        }
+    }
+
+    @Override
+    public synchronized void refreshDroneView(Drone drone) {
+        if (properties.engine() == SimulationEngineMode.COLUMNAR) {
+            fleetState.materialize(drone);
+        }
+    }
+
+    @Override
+    public synchronized void resumeDrone(Drone drone) {
+        if (properties.engine() == SimulationEngineMode.EVENT_DRIVEN) {
+            scheduleNextEvent(drone, currentTickMillis);
+        } else if (properties.engine() == SimulationEngineMode.COLUMNAR) {
+            pendingTakeoffs.add(drone);
         }
     }
 
-    private void updateDroneState(Drone drone) {
+    private void scheduleNextEvent(Drone drone, long nowMillis) {
+        long nextTick = nowMillis + properties.tickMs();
+        switch (drone.getState()) {
+            case IN_FLIGHT, RETURNING_TO_BASE ->
+                    eventQueue.schedule(drone, SimulationEventType.NEXT_WAYPOINT, nextTick);
+            case DELIVERING ->
+                    eventQueue.schedule(drone, SimulationEventType.DELIVERY_COMPLETE, dueAfter(drone, nowMillis));
+            case RECHARGING ->
+                    eventQueue.schedule(drone, SimulationEventType.RECHARGE_COMPLETE, dueAfter(drone, nowMillis));
+            case IDLE -> {
+                if (drone.needsRecharging()) {
+                    eventQueue.schedule(drone, SimulationEventType.RECHARGE_START, nextTick);
+                }
+                // Drone ocioso e carregado não tem evento: volta à fila na próxima decolagem
+            }
+        }
+    }
+
+    /**
+     * Horário em que o prazo estimado do drone já terá sido ultrapassado,
+     * sempre posterior ao tick atual para não reprocessar o drone no mesmo tick.
+     */
+    private long dueAfter(Drone drone, long nowMillis) {
+        LocalDateTime estimatedTime = drone.getEstimatedArrivalTime();
+        if (estimatedTime == null) {
+            return nowMillis + properties.tickMs();
+        }
+        long estimatedMillis = estimatedTime.atZone(clock.getZone()).toInstant().toEpochMilli();
+        return Math.max(estimatedMillis + 1, nowMillis + 1);
+    }
+
+    private LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), clock.getZone());
+    }
+
+    private void updateDroneState(Drone drone, LocalDateTime now) {
+        int previousX = drone.getPositionX();
+        int previousY = drone.getPositionY();
+        double previousBattery = drone.getBattery();
+        DroneState previousState = drone.getState();
+
+        applyStateHandler(drone, now);
+
+        if (drone.getPositionX() != previousX || drone.getPositionY() != previousY
+                || drone.getBattery() != previousBattery || drone.getState() != previousState) {
+            streamService.markChanged(drone);
+        }
+    }
+
+    private void applyStateHandler(Drone drone, LocalDateTime now) {
         switch (drone.getState()) {
             case IDLE:
-                handleIdleState(drone);
+                handleIdleState(drone, now);
                 break;
             case RECHARGING:
-                handleRechargingState(drone);
+                handleRechargingState(drone, now);
                 break;
             case IN_FLIGHT:
-                handleInFlightState(drone);
+                handleInFlightState(drone, now);
                 break;
             case DELIVERING:
-                handleDeliveringState(drone);
+                handleDeliveringState(drone, now);
                 break;
             case RETURNING_TO_BASE:
-                handleReturningToBaseState(drone);
+                handleReturningToBaseState(drone, now);
                 break;
         }
     }
 
-    private void handleIdleState(Drone drone) {
+    private void handleIdleState(Drone drone, LocalDateTime now) {
         if (drone.needsRecharging()) {
-            drone.changeState(DroneState.RECHARGING);
-            drone.setEstimatedArrivalTime(LocalDateTime.now().plusSeconds(RECHARGE_TIME_SECONDS));
+            drone.changeState(DroneState.RECHARGING, now);
+            drone.setEstimatedArrivalTime(now.plusSeconds(properties.rechargeTimeSeconds()));
             log.info("Drone {} iniciou recarga de bateria", drone.getId());
         }
     }
 
-    private void handleRechargingState(Drone drone) {
+    private void handleRechargingState(Drone drone, LocalDateTime now) {
         if (drone.getEstimatedArrivalTime() != null && 
-            LocalDateTime.now().isAfter(drone.getEstimatedArrivalTime())) {
+            now.isAfter(drone.getEstimatedArrivalTime())) {
             drone.setBattery(100.0);
-            drone.changeState(DroneState.IDLE);
+            drone.changeState(DroneState.IDLE, now);
             drone.setEstimatedArrivalTime(null);
             log.info("Drone {} terminou recarga e voltou ao estado IDLE", drone.getId());
         }
     }
 
-    private void handleInFlightState(Drone drone) {
+    private void handleInFlightState(Drone drone, LocalDateTime now) {
         if (drone.hasOrders()) {
             Order nextOrder = drone.getOrderList().get(0);
             
             // Simular movimento em direção ao destino
             moveTowardsDestination(drone, nextOrder.getDestinationX(), nextOrder.getDestinationY());
             
-            // Se chegou ao destino
-            if (drone.getPositionX() == nextOrder.getDestinationX() && 
-                drone.getPositionY() == nextOrder.getDestinationY()) {
-                drone.changeState(DroneState.DELIVERING);
-                drone.setEstimatedArrivalTime(LocalDateTime.now().plusSeconds(DELIVERY_TIME_SECONDS));
-                log.info("Drone {} chegou ao destino e iniciou entrega", drone.getId());
-            }
+            startDeliveryIfArrived(drone, now);
+        }
+    }
+
+    private void startDeliveryIfArrived(Drone drone, LocalDateTime now) {
+        if (!drone.hasOrders()) {
+            return;
+        }
+        Order nextOrder = drone.getOrderList().get(0);
+        // Se chegou ao destino
+        if (drone.getPositionX() == nextOrder.getDestinationX() && 
+            drone.getPositionY() == nextOrder.getDestinationY()) {
+            drone.changeState(DroneState.DELIVERING, now);
+            drone.setEstimatedArrivalTime(now.plusSeconds(properties.deliveryTimeSeconds()));
+            log.info("Drone {} chegou ao destino e iniciou entrega", drone.getId());
         }
     }
 
-    private void handleDeliveringState(Drone drone) {
+    private void handleDeliveringState(Drone drone, LocalDateTime now) {
         if (drone.getEstimatedArrivalTime() != null && 
-            LocalDateTime.now().isAfter(drone.getEstimatedArrivalTime())) {
+            now.isAfter(drone.getEstimatedArrivalTime())) {
             
             // Remover pedido entregue
             if (drone.hasOrders()) {
@@ -112,34 +351,37 @@ public class DroneSimulationServiceImpl implements DroneSimulationService {
             
             // Se ainda tem pedidos, continuar para próximo destino
             if (drone.hasOrders()) {
-                drone.changeState(DroneState.IN_FLIGHT);
+                drone.changeState(DroneState.IN_FLIGHT, now);
                 drone.setEstimatedArrivalTime(null);
                 log.info("Drone {} iniciou voo para próximo destino", drone.getId());
             } else {
                 // Sem mais pedidos, voltar para base
-                drone.changeState(DroneState.RETURNING_TO_BASE);
+                drone.changeState(DroneState.RETURNING_TO_BASE, now);
                 drone.setEstimatedArrivalTime(null);
                 log.info("Drone {} iniciou retorno à base", drone.getId());
             }
         }
     }
 
-    private void handleReturningToBaseState(Drone drone) {
+    private void handleReturningToBaseState(Drone drone, LocalDateTime now) {
         // Simular movimento em direção à base
         moveTowardsDestination(drone, BASE_X, BASE_Y);
         
+        landIfAtBase(drone, now);
+    }
+
+    private void landIfAtBase(Drone drone, LocalDateTime now) {
         // Se chegou à base
         if (drone.getPositionX() == BASE_X && drone.getPositionY() == BASE_Y) {
             // Registrar tempo total de voo
-            Long flightStartTime = flightStartTimes.get(drone.getId());
-            if (flightStartTime != null) {
-                long totalFlightTime = System.currentTimeMillis() - flightStartTime;
+            long flightStartTime = flightStartTimes.remove(drone.getId(), NO_FLIGHT_START);
+            if (flightStartTime != NO_FLIGHT_START) {
+                long totalFlightTime = currentTickMillis - flightStartTime;
                 metricsService.recordFlightTime(drone.getId(), totalFlightTime);
-                flightStartTimes.remove(drone.getId());
                 log.info("Tempo total de voo registrado para drone {}: {}ms", drone.getId(), totalFlightTime);
             }
             
-            drone.changeState(DroneState.IDLE);
+            drone.changeState(DroneState.IDLE, now);
             log.info("Drone {} retornou à base e está IDLE", drone.getId());
         }
     }
@@ -166,34 +408,50 @@ public class DroneSimulationServiceImpl implements DroneSimulationService {
     @Async("droneTaskExecutor")
     public CompletableFuture<Void> startDroneFlight(Drone drone) {
         return CompletableFuture.runAsync(() -> {
-            if (!drone.hasOrders()) {
-                throw FlightSimulationException.noOrdersToDeliver(drone.getId());
-            }
-            
-            if (drone.getState() != DroneState.IDLE) {
-                throw FlightSimulationException.cannotStartFlight(drone.getId(), 
-                    "Drone deve estar no estado IDLE para iniciar voo. Estado atual: " + drone.getState());
-            }
-            
-            if (drone.getBattery() < 20.0) {
-                throw FlightSimulationException.cannotStartFlight(drone.getId(),
-                    "Bateria insuficiente para voo: " + drone.getBattery() + "%");
+            // Mesmo monitor usado pelo alocador: o plano do drone não muda durante a decolagem
+            synchronized (drone) {
+                if (!drone.hasOrders()) {
+                    throw FlightSimulationException.noOrdersToDeliver(drone.getId());
+                }
+
+                if (drone.getState() != DroneState.IDLE) {
+                    throw FlightSimulationException.cannotStartFlight(drone.getId(),
+                        "Drone deve estar no estado IDLE para iniciar voo. Estado atual: " + drone.getState());
+                }
+
+                if (drone.getBattery() < 20.0) {
+                    throw FlightSimulationException.cannotStartFlight(drone.getId(),
+                        "Bateria insuficiente para voo: " + drone.getBattery() + "%");
+                }
+
+                // Sequencia as paradas antes de partir; a orderList passa a ser a rota
+                routePlanner.planRoute(drone);
+
+                // Registrar tempo de início do voo para métricas
+                long takeoffMillis = clock.millis();
+                flightStartTimes.put(drone.getId(), takeoffMillis);
+
+                drone.changeState(DroneState.IN_FLIGHT, toDateTime(takeoffMillis));
+                // Pedidos em voo saem da fila de pendentes e não são mais realocados
+                orderRepository.markDispatched(drone.getOrderList());
+                if (properties.engine() == SimulationEngineMode.EVENT_DRIVEN) {
+                    // Primeiro passo no próximo tick, como no laço de polling
+                    eventQueue.schedule(drone, SimulationEventType.NEXT_WAYPOINT, takeoffMillis);
+                } else if (properties.engine() == SimulationEngineMode.COLUMNAR) {
+                    pendingTakeoffs.add(drone);
+                }
+                streamService.markChanged(drone);
+                log.info("Drone {} iniciou voo com {} pedidos", drone.getId(), drone.getOrderList().size());
             }
-            
-            // Registrar tempo de início do voo para métricas
-            flightStartTimes.put(drone.getId(), System.currentTimeMillis());
-            
-            drone.changeState(DroneState.IN_FLIGHT);
-            log.info("Drone {} iniciou voo com {} pedidos", drone.getId(), drone.getOrderList().size());
         });
     }
 
     @Override
     public void startAllDronesWithOrders() {
-        List<Drone> drones = droneRepository.findAll();
+        List<Drone> drones = droneRepository.findByDroneState(DroneState.IDLE);
         
         for (Drone drone : drones) {
-            if (drone.hasOrders() && drone.getState() == DroneState.IDLE) {
+            if (drone.hasOrders()) {
                 startDroneFlight(drone);
             }
         }
@@ -204,12 +462,13 @@ public class DroneSimulationServiceImpl implements DroneSimulationService {
      */
     public void markOrderAsDelivered(Drone drone, Order order) {
         log.info("Drone {} entregou pedido {}", drone.getId(), order.getId());
-        order.setDelivered(true);
+        orderRepository.markDelivered(order);
+        streamService.recordDelivery(drone, order);
         
         // Registrar métricas de entrega
-        Long flightStartTime = flightStartTimes.get(drone.getId());
-        if (flightStartTime != null) {
-            long deliveryTime = System.currentTimeMillis() - flightStartTime;
+        long flightStartTime = flightStartTimes.get(drone.getId(), NO_FLIGHT_START);
+        if (flightStartTime != NO_FLIGHT_START) {
+            long deliveryTime = currentTickMillis - flightStartTime;
             metricsService.recordDelivery(drone.getId(), deliveryTime);
             log.info("Métrica registrada: Drone {} completou entrega em {}ms", drone.getId(), deliveryTime);
         } else {
@@ -0,0 +1,225 @@
+package com.examble.drone_api.service;
+
+import com.examble.drone_api.dto.DeliveryEventDTO;
+import com.examble.drone_api.dto.DroneDeltaDTO;
+import com.examble.drone_api.dto.DroneStreamEventDTO;
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.service.interfaces.DroneStreamService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Stream de mudanças da frota. O motor marca os drones alterados durante o tick
+ * e, ao final dele, um único evento é serializado e entregue a todos os assinantes.
+ * Cada assinante tem um buffer limitado esvaziado por um executor próprio: um
+ * cliente lento perde os eventos mais antigos (e recebe "resync", com a frota
+ * atual lida de novo no momento do envio), mas nunca bloqueia o tick.
+ */
+@Service
+@Slf4j
+public class DroneStreamServiceImpl implements DroneStreamService {
+
+    static final String SNAPSHOT_EVENT = "snapshot";
+    static final String DELTA_EVENT = "delta";
+    static final String RESYNC_EVENT = "resync";
+
+    /**
+     * Destino dos eventos de um assinante; no servidor, um {@link SseEmitter}.
+     */
+    interface EventSink {
+        void send(String eventName, String data) throws IOException;
+
+        void close();
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Executor executor;
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Drone> changedDrones = new ConcurrentHashMap<>();
+    private final Queue<DeliveryEventDTO> deliveries = new ConcurrentLinkedQueue<>();
+
+    public DroneStreamServiceImpl(ObjectMapper objectMapper,
+                                  @Qualifier("droneStreamExecutor") Executor executor,
+                                  @Value("${drone.stream.buffer-size:64}") int bufferSize,
+                                  @Value("${drone.stream.timeout-ms:1800000}") long timeoutMs) {
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public SseEmitter subscribe(Supplier<? extends Collection<Drone>> fleet) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = register(new EventSink() {
+            @Override
+            public void send(String eventName, String data) throws IOException {
+                emitter.send(SseEmitter.event().name(eventName).data(data));
+            }
+
+            @Override
+            public void close() {
+                emitter.complete();
+            }
+        }, fleet);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        return emitter;
+    }
+
+    Subscriber register(EventSink sink, Supplier<? extends Collection<Drone>> fleet) {
+        Subscriber subscriber = new Subscriber(sink, fleet);
+        // O snapshot entra no buffer antes de qualquer delta deste assinante
+        subscriber.offer(new Event(SNAPSHOT_EVENT, serializeFleet(fleet)));
+        subscribers.add(subscriber);
+        log.info("Novo assinante do stream de drones ({} ativos)", subscribers.size());
+        return subscriber;
+    }
+
+    @Override
+    public void markChanged(Drone drone) {
+        if (!subscribers.isEmpty()) {
+            changedDrones.put(drone.getId(), drone);
+        }
+    }
+
+    @Override
+    public void recordDelivery(Drone drone, Order order) {
+        if (!subscribers.isEmpty()) {
+            deliveries.add(new DeliveryEventDTO(drone.getId(), order.getId()));
+        }
+    }
+
+    @Override
+    public void flush(LocalDateTime simulatedTime) {
+        if (changedDrones.isEmpty() && deliveries.isEmpty()) {
+            return;
+        }
+
+        List<DroneDeltaDTO> droneDeltas = new ArrayList<>(changedDrones.size());
+        for (Long droneId : changedDrones.keySet()) {
+            Drone drone = changedDrones.remove(droneId);
+            if (drone != null) {
+                droneDeltas.add(DroneDeltaDTO.from(drone));
+            }
+        }
+        List<DeliveryEventDTO> tickDeliveries = new ArrayList<>();
+        DeliveryEventDTO delivery;
+        while ((delivery = deliveries.poll()) != null) {
+            tickDeliveries.add(delivery);
+        }
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        // Serializado uma única vez, independente do número de assinantes
+        Event event = new Event(DELTA_EVENT, serialize(new DroneStreamEventDTO(simulatedTime, droneDeltas, tickDeliveries)));
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private String serializeFleet(Supplier<? extends Collection<Drone>> fleet) {
+        List<DroneDeltaDTO> snapshot = fleet.get().stream().map(DroneDeltaDTO::from).toList();
+        return serialize(snapshot);
+    }
+
+    private String serialize(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar evento do stream de drones", e);
+        }
+    }
+
+    private record Event(String name, String data) { }
+
+    final class Subscriber {
+        private final EventSink sink;
+        private final Supplier<? extends Collection<Drone>> fleet;
+        private final ArrayBlockingQueue<Event> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean drainScheduled = new AtomicBoolean();
+        private final AtomicBoolean lagged = new AtomicBoolean();
+
+        private Subscriber(EventSink sink, Supplier<? extends Collection<Drone>> fleet) {
+            this.sink = sink;
+            this.fleet = fleet;
+        }
+
+        void offer(Event event) {
+            // Buffer cheio: descarta o evento mais antigo em vez de esperar o cliente
+            while (!buffer.offer(event)) {
+                if (buffer.poll() != null) {
+                    lagged.set(true);
+                }
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (drainScheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    drainScheduled.set(false);
+                    log.warn("Executor do stream saturado; eventos do assinante serão enviados no próximo tick");
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Event event;
+                while ((event = buffer.poll()) != null) {
+                    if (lagged.getAndSet(false)) {
+                        // Estado completo no lugar dos deltas descartados
+                        sink.send(RESYNC_EVENT, serializeFleet(fleet));
+                    }
+                    sink.send(event.name(), event.data());
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Assinante do stream desconectado: {}", e.getMessage());
+                subscribers.remove(this);
+                buffer.clear();
+                sink.close();
+                return;
+            } finally {
+                drainScheduled.set(false);
+            }
+            if (!buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.examble.drone_api.service;
+
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.model.type.DroneState;
+import com.examble.drone_api.repository.interfaces.DroneRepository;
+import com.examble.drone_api.repository.interfaces.OrderRepository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Início de um replanejamento completo, comum aos alocadores: esvazia os
+ * planos dos drones ociosos e disponíveis e lê a fila de pendentes que será
+ * redistribuída.
+ * <p>
+ * A decolagem ({@code startDroneFlight}) roda em paralelo sob a trava do
+ * drone; por isso a disponibilidade é conferida de novo sob a mesma trava
+ * antes de limpar o plano, e a fila é lida só depois das limpezas: pedidos de
+ * um drone que decolou já foram despachados e não voltam a ser distribuídos.
+ */
+final class FleetReplan {
+
+    /**
+     * @param drones  drones com o plano esvaziado, livres para o replanejamento
+     * @param pending pendentes fora de qualquer plano mantido, em ordem de alocação
+     */
+    record Scope(List<Drone> drones, List<Order> pending) {
+    }
+
+    private FleetReplan() {
+    }
+
+    static Scope clearPlans(DroneRepository droneRepository, OrderRepository orderRepository) {
+        return clearPlans(droneRepository, orderRepository, drone -> true);
+    }
+
+    /**
+     * @param replannable drones cujo plano pode ser desfeito; os demais ficam
+     *                    como estão e seus pedidos saem da fila devolvida
+     */
+    static Scope clearPlans(DroneRepository droneRepository, OrderRepository orderRepository,
+                            Predicate<Drone> replannable) {
+        List<Drone> cleared = new ArrayList<>();
+        Set<Long> kept = new HashSet<>();
+        for (Drone drone : droneRepository.findByDroneState(DroneState.IDLE)) {
+            synchronized (drone) {
+                if (drone.getState() == DroneState.IDLE && drone.isAvailableForOrders() && replannable.test(drone)) {
+                    drone.getOrderList().clear();
+                    cleared.add(drone);
+                } else {
+                    for (Order order : drone.getOrderList()) {
+                        kept.add(order.getId());
+                    }
+                }
+            }
+        }
+
+        List<Order> pending = orderRepository.findPending();
+        if (!kept.isEmpty()) {
+            pending = pending.stream().filter(order -> !kept.contains(order.getId())).toList();
+        }
+        return new Scope(cleared, pending);
+    }
+}
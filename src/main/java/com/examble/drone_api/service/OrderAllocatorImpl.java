@@ -7,72 +7,190 @@ import com.examble.drone_api.repository.interfaces.DroneRepository;
 import com.examble.drone_api.repository.interfaces.OrderRepository;
 import com.examble.drone_api.service.interfaces.OrderAllocator;
 import com.examble.drone_api.validation.DroneValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
-import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 @Service
+@Slf4j
+@ConditionalOnProperty(name = "drone.allocation.strategy", havingValue = "greedy", matchIfMissing = true)
 public class OrderAllocatorImpl implements OrderAllocator {
 
     public OrderRepository orderRepository;
     public DroneRepository droneRepository;
     public DroneValidator droneValidator;
-    
+
+    // Candidatos por folha na pontuação paralela
+    private static final int LEAF_SIZE = 256;
+
+    private final ForkJoinPool scoringPool;
+    private final int parallelThreshold;
+
     public OrderAllocatorImpl(OrderRepository orderRepository,
                               DroneRepository droneRepository,
                               DroneValidator droneValidator) {
+        this(orderRepository, droneRepository, droneValidator, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param scoringPool       pool dedicado à pontuação paralela dos candidatos
+     * @param parallelThreshold quantidade mínima de candidatos para pontuar em
+     *                          paralelo; abaixo dela a pontuação é sequencial
+     */
+    @Autowired
+    public OrderAllocatorImpl(OrderRepository orderRepository,
+                              DroneRepository droneRepository,
+                              DroneValidator droneValidator,
+                              @Qualifier("allocationScoringPool") ForkJoinPool scoringPool,
+                              @Value("${drone.allocation.parallel.threshold:2000}") int parallelThreshold) {
         this.orderRepository = orderRepository;
         this.droneRepository = droneRepository;
         this.droneValidator = droneValidator;
+        this.scoringPool = scoringPool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Drone elegível com seu score e distância já calculados.
+     */
+    private record Candidate(Drone drone, double score, double distance) {
     }
 
+    /**
+     * Replanejamento completo: limpa os pedidos dos drones disponíveis e
+     * redistribui toda a fila de pendentes. Usado para rebalanceamento.
+     */
     @Override
-    public void allocateOrders() {
-        List<Drone> drones = droneRepository.findAll();
-        List<Order> orders = orderRepository.findAll();
+    public synchronized void allocateOrders() {
+        // Fila de pendentes já ordenada por prioridade (HIGH primeiro) e chegada
+        List<Order> orders = FleetReplan.clearPlans(droneRepository, orderRepository).pending();
 
-        drones.stream()
-                .filter(Drone::isAvailableForOrders)
-                .forEach(drone -> drone.getOrderList().clear());
+        for (Order order : orders) {
+            assignToBestDrone(order);
+        }
+    }
 
-        orders.sort(Comparator.comparing(Order::getPriority).reversed());
+    /**
+     * Alocação incremental: encaixa um único pedido no plano atual sem
+     * desfazer as alocações já existentes.
+     */
+    @Override
+    public synchronized Optional<Drone> allocate(Order order) {
+        return Optional.ofNullable(assignToBestDrone(order));
+    }
 
-        for (Order order : orders) {
-            Drone bestDrone = findBestDroneForOrder(drones, order);
+    private Drone assignToBestDrone(Order order) {
+        Drone bestDrone = findBestDroneForOrder(order);
 
-            if (bestDrone != null) {
-                try {
+        if (bestDrone != null) {
+            try {
+                // O monitor do drone impede que ele decole durante a atribuição
+                synchronized (bestDrone) {
                     DroneValidator.ValidationResult validation = droneValidator.validateDroneForOrder(bestDrone, order);
                     validation.throwIfInvalid();
-                    
+
                     bestDrone.assignOrder(order);
-                    System.out.println("✅ Pedido " + order.getId() + " alocado no drone " + bestDrone.getId());
-                } catch (Exception e) {
-                    System.out.println("⚠ Pedido " + order.getId() + " não pôde ser alocado: " + e.getMessage());
-                    // Log da exceção para debug
-                    if (e instanceof OrderAllocationException) {
-                        System.err.println("Erro de alocação: " + e.getMessage());
-                    }
                 }
-            } else {
-                System.out.println("⚠ Pedido " + order.getId() + " não pôde ser alocado - nenhum drone disponível.");
-                // Opcional: lançar exceção se necessário
-                // throw OrderAllocationException.noAvailableDrones(order.getId());
+                log.info("✅ Pedido {} alocado no drone {}", order.getId(), bestDrone.getId());
+                return bestDrone;
+            } catch (Exception e) {
+                log.info("⚠ Pedido {} não pôde ser alocado: {}", order.getId(), e.getMessage());
+                // Log da exceção para debug
+                if (e instanceof OrderAllocationException) {
+                    log.error("Erro de alocação: {}", e.getMessage());
+                }
             }
+        } else {
+            log.info("⚠ Pedido {} não pôde ser alocado - nenhum drone disponível.", order.getId());
+            // Opcional: lançar exceção se necessário
+            // throw OrderAllocationException.noAvailableDrones(order.getId());
         }
+        return null;
     }
 
-    private Drone findBestDroneForOrder(List<Drone> drones, Order order) {
-        return drones.stream()
-                .filter(drone -> drone.isAvailableForOrders())
-                .filter(drone -> drone.canCarry(order) && drone.canReach(order))
-                .filter(drone -> drone.getBattery() >= 20.0) // Bateria mínima para voo
-                .min(Comparator
-                        .<Drone>comparingDouble(drone -> calculateAllocationScore(drone, order))
-                        .thenComparingDouble(drone -> drone.calculateDistance(order))
-                )
-                .orElse(null);
+    private Drone findBestDroneForOrder(Order order) {
+        // Apenas drones ociosos na base cujo alcance cobre o destino (mapa de bits de alcance) são avaliados
+        List<Drone> candidates = droneRepository.findAvailableReaching(order.getDestinationX(), order.getDestinationY());
+
+        Candidate best = scoringPool != null && candidates.size() >= parallelThreshold
+                ? scoringPool.invoke(new ScoringTask(candidates, 0, candidates.size(), order))
+                : scoreRange(candidates, 0, candidates.size(), order);
+        return best != null ? best.drone() : null;
+    }
+
+    /**
+     * Menor score no intervalo [from, to); o desempate é pela distância e,
+     * persistindo, pelo primeiro na ordem dos candidatos.
+     */
+    private Candidate scoreRange(List<Drone> candidates, int from, int to, Order order) {
+        Candidate best = null;
+        for (int i = from; i < to; i++) {
+            Drone drone = candidates.get(i);
+            if (!drone.isAvailableForOrders()
+                    || !drone.canCarry(order) || !drone.canReach(order)
+                    || drone.getBattery() < 20.0) { // Bateria mínima para voo
+                continue;
+            }
+            best = better(best, new Candidate(drone, calculateAllocationScore(drone, order), drone.calculateDistance(order)));
+        }
+        return best;
+    }
+
+    /**
+     * Redução usada tanto na varredura quanto na junção das metades: em empate
+     * total vence {@code first}, que vem antes na ordem dos candidatos. Assim o
+     * resultado paralelo é idêntico ao sequencial.
+     */
+    private static Candidate better(Candidate first, Candidate second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        int byScore = Double.compare(second.score(), first.score());
+        if (byScore != 0) {
+            return byScore < 0 ? second : first;
+        }
+        return Double.compare(second.distance(), first.distance()) < 0 ? second : first;
+    }
+
+    /**
+     * Divide os candidatos ao meio até {@link #LEAF_SIZE} e reduz esquerda antes da direita.
+     */
+    private final class ScoringTask extends RecursiveTask<Candidate> {
+        private final List<Drone> candidates;
+        private final int from;
+        private final int to;
+        private final Order order;
+
+        private ScoringTask(List<Drone> candidates, int from, int to, Order order) {
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+            this.order = order;
+        }
+
+        @Override
+        protected Candidate compute() {
+            if (to - from <= LEAF_SIZE) {
+                return scoreRange(candidates, from, to, order);
+            }
+            int middle = (from + to) >>> 1;
+            ScoringTask left = new ScoringTask(candidates, from, middle, order);
+            ScoringTask right = new ScoringTask(candidates, middle, to, order);
+            right.fork();
+            Candidate leftBest = left.compute();
+            return better(leftBest, right.join());
+        }
     }
 
     private double calculateAllocationScore(Drone drone, Order order) {
@@ -0,0 +1,186 @@
+package com.examble.drone_api.service;
+
+import com.examble.drone_api.dto.OrderBatchItemDTO;
+import com.examble.drone_api.dto.OrderBatchResponseDTO;
+import com.examble.drone_api.dto.OrderCreateRequestDTO;
+import com.examble.drone_api.exception.OrderAllocationException;
+import com.examble.drone_api.mapper.OrderMapper;
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.repository.interfaces.DroneRepository;
+import com.examble.drone_api.repository.interfaces.OrderRepository;
+import com.examble.drone_api.service.interfaces.OrderAllocator;
+import com.examble.drone_api.service.interfaces.OrderBatchService;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Importação de pedidos em lote. O corpo (array JSON ou NDJSON) é lido item a
+ * item com o parser de streaming do Jackson, sem carregar o corpo inteiro;
+ * cada item é validado isoladamente (inclusive o alcance do destino, como no
+ * cadastro avulso), os válidos são salvos em blocos e a
+ * alocação roda uma única vez, ao final, sobre todos os pedidos criados.
+ */
+@Service
+@Slf4j
+public class OrderBatchServiceImpl implements OrderBatchService {
+
+    private final OrderRepository orderRepository;
+    private final OrderAllocator orderAllocator;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final DroneRepository droneRepository;
+    private final int chunkSize;
+
+    public OrderBatchServiceImpl(OrderRepository orderRepository,
+                                 OrderAllocator orderAllocator,
+                                 ObjectMapper objectMapper,
+                                 Validator validator,
+                                 int chunkSize) {
+        this(orderRepository, orderAllocator, objectMapper, validator, null, chunkSize);
+    }
+
+    /**
+     * @param droneRepository usado para recusar destinos que nenhum drone alcança;
+     *                        sem ele, todo item válido é aceito
+     */
+    @Autowired
+    public OrderBatchServiceImpl(OrderRepository orderRepository,
+                                 OrderAllocator orderAllocator,
+                                 ObjectMapper objectMapper,
+                                 Validator validator,
+                                 @Nullable DroneRepository droneRepository,
+                                 @Value("${drone.intake.batch.chunk-size:1000}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Tamanho do bloco deve ser maior que 0");
+        }
+        this.orderRepository = orderRepository;
+        this.orderAllocator = orderAllocator;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.droneRepository = droneRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public OrderBatchResponseDTO importOrders(InputStream body) throws IOException {
+        List<OrderBatchItemDTO> items = new ArrayList<>();
+        List<Order> created = new ArrayList<>();
+        List<Order> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(chunkSize);
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            // Array JSON: os itens são os elementos; NDJSON: os itens são os valores na raiz
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            } else if (token != null && token != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("O lote deve ser um array JSON ou NDJSON de pedidos");
+            }
+
+            int index = 0;
+            while (token != null && token != JsonToken.END_ARRAY) {
+                JsonNode node;
+                try {
+                    node = parser.readValueAsTree();
+                } catch (JsonProcessingException e) {
+                    // JSON malformado: não há como achar o início do próximo item
+                    items.add(rejected(index, Map.of("json", "JSON malformado: " + e.getOriginalMessage())));
+                    break;
+                }
+
+                Map<String, String> errors = new TreeMap<>();
+                OrderCreateRequestDTO request = toRequest(node, errors);
+                if (errors.isEmpty()) {
+                    chunk.add(OrderMapper.INSTANCE.toEntity(request));
+                    chunkIndexes.add(index);
+                    items.add(null);
+                    if (chunk.size() == chunkSize) {
+                        saveChunk(chunk, chunkIndexes, items, created);
+                    }
+                } else {
+                    items.add(rejected(index, errors));
+                }
+                index++;
+                try {
+                    token = parser.nextToken();
+                } catch (JsonProcessingException e) {
+                    items.add(rejected(index, Map.of("json", "JSON malformado: " + e.getOriginalMessage())));
+                    break;
+                }
+            }
+        }
+        saveChunk(chunk, chunkIndexes, items, created);
+
+        // Uma única alocação para o lote inteiro
+        List<Optional<Drone>> assignments = orderAllocator.allocateAll(created);
+        int allocated = (int) assignments.stream().filter(Optional::isPresent).count();
+
+        int rejected = items.size() - created.size();
+        log.info("Lote de pedidos: {} recebidos, {} criados, {} rejeitados, {} alocados",
+                items.size(), created.size(), rejected, allocated);
+        return new OrderBatchResponseDTO(items.size(), created.size(), rejected, allocated, items);
+    }
+
+    private OrderCreateRequestDTO toRequest(JsonNode node, Map<String, String> errors) {
+        if (!node.isObject()) {
+            errors.put("item", "Item deve ser um objeto JSON");
+            return null;
+        }
+        OrderCreateRequestDTO request;
+        try {
+            request = objectMapper.treeToValue(node, OrderCreateRequestDTO.class);
+        } catch (JsonProcessingException e) {
+            errors.put("item", "Campos inválidos: " + e.getOriginalMessage());
+            return null;
+        }
+        for (ConstraintViolation<OrderCreateRequestDTO> violation : validator.validate(request)) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        // Destino fora do alcance de toda a frota nunca seria entregue
+        if (errors.isEmpty() && droneRepository != null
+                && !droneRepository.isReachable(request.destinationX(), request.destinationY())) {
+            errors.put("destination", OrderAllocationException
+                    .unreachableDestination(request.destinationX(), request.destinationY()).getMessage());
+        }
+        return request;
+    }
+
+    private void saveChunk(List<Order> chunk, List<Integer> chunkIndexes,
+                           List<OrderBatchItemDTO> items, List<Order> created) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        orderRepository.saveAll(chunk);
+        for (int i = 0; i < chunk.size(); i++) {
+            int index = chunkIndexes.get(i);
+            items.set(index, new OrderBatchItemDTO(index, chunk.get(i).getId(), null));
+        }
+        created.addAll(chunk);
+        chunk.clear();
+        chunkIndexes.clear();
+    }
+
+    private OrderBatchItemDTO rejected(int index, Map<String, String> errors) {
+        return new OrderBatchItemDTO(index, null, errors);
+    }
+}
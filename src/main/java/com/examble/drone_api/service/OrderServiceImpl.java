@@ -1,25 +1,50 @@
 package com.examble.drone_api.service;
 
 import com.examble.drone_api.dto.OrderCreateRequestDTO;
+import com.examble.drone_api.exception.OrderAllocationException;
 import com.examble.drone_api.mapper.OrderMapper;
+import com.examble.drone_api.model.Drone;
 import com.examble.drone_api.model.Order;
+import com.examble.drone_api.model.type.DroneState;
+import com.examble.drone_api.repository.interfaces.DroneRepository;
 import com.examble.drone_api.repository.interfaces.OrderRepository;
 import com.examble.drone_api.service.interfaces.OrderAllocator;
+import com.examble.drone_api.service.interfaces.OrderIntake;
 import com.examble.drone_api.service.interfaces.OrderService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
 
 @Service
 public class OrderServiceImpl implements OrderService {
 
     OrderRepository orderRepository;
     OrderAllocator orderAllocator;
-    
+    OrderIntake orderIntake;
+    DroneRepository droneRepository;
+
     public OrderServiceImpl(OrderRepository orderRepository, OrderAllocator orderAllocator) {
+        this(orderRepository, orderAllocator, new DirectOrderIntake(orderAllocator), null);
+    }
+
+    /**
+     * @param droneRepository usado para recusar destinos que nenhum drone alcança
+     *                        e para achar os pedidos fora de qualquer plano; sem ele,
+     *                        todo pedido é aceito e a passada periódica não faz nada
+     */
+    @Autowired
+    public OrderServiceImpl(OrderRepository orderRepository, OrderAllocator orderAllocator,
+                            OrderIntake orderIntake, DroneRepository droneRepository) {
         this.orderRepository = orderRepository;
         this.orderAllocator = orderAllocator;
+        this.orderIntake = orderIntake;
+        this.droneRepository = droneRepository;
     }
 
     @Override
@@ -34,10 +59,62 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public Order createOrder(OrderCreateRequestDTO orderCreateRequestDTO) {
+        // Destino fora do alcance de toda a frota nunca seria entregue: recusa antes de salvar
+        if (droneRepository != null
+                && !droneRepository.isReachable(orderCreateRequestDTO.destinationX(), orderCreateRequestDTO.destinationY())) {
+            throw OrderAllocationException.unreachableDestination(
+                    orderCreateRequestDTO.destinationX(), orderCreateRequestDTO.destinationY());
+        }
+
         Order newOrder = orderRepository.save(OrderMapper.INSTANCE.toEntity(orderCreateRequestDTO));
 
-        orderAllocator.allocateOrders();
-        
+        // Encaixa apenas o novo pedido no plano atual (na hora ou no próximo lote);
+        // a requisição só responde depois que a alocação do pedido foi decidida
+        try {
+            orderIntake.submit(newOrder).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+
         return newOrder;
     }
+
+    /**
+     * Replanejamento completo sob demanda: desfaz os planos dos drones ociosos
+     * e redistribui todos os pedidos pendentes.
+     */
+    @Override
+    public void reallocateOrders() {
+        orderAllocator.allocateOrders();
+    }
+
+    /**
+     * Passada periódica: encaixa nos planos atuais apenas os pedidos pendentes
+     * que não estão no plano de nenhum drone (recusados antes por falta de
+     * capacidade). Os planos existentes, inclusive os refinados pelo
+     * {@link PlanOptimizer}, ficam como estão.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${drone.allocation.rebalance-interval-ms:30000}",
+               initialDelayString = "${drone.allocation.rebalance-interval-ms:30000}")
+    public void allocateUnassignedOrders() {
+        if (droneRepository == null) {
+            return;
+        }
+        Set<Long> planned = new HashSet<>();
+        for (Drone drone : droneRepository.findByDroneState(DroneState.IDLE)) {
+            synchronized (drone) {
+                for (Order order : drone.getOrderList()) {
+                    planned.add(order.getId());
+                }
+            }
+        }
+
+        List<Order> unassigned = orderRepository.findPending().stream()
+                .filter(order -> !planned.contains(order.getId()))
+                .toList();
+        if (!unassigned.isEmpty()) {
+            orderAllocator.allocateAll(unassigned);
+        }
+    }
 }
@@ -0,0 +1,151 @@
+package com.examble.drone_api.service;
+
+import com.examble.drone_api.model.Order;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Conjunto de trabalho dos alocadores em forma compacta: cada pedido vira um
+ * único {@code long} em um array primitivo, e os alocadores ordenam e percorrem
+ * esse array em vez da lista de {@link Order}. O objeto só é buscado
+ * ({@link #order(long)}) na hora de atribuir o pedido a um drone.
+ * <p>
+ * Layout, do bit mais alto para o mais baixo:
+ * <pre>
+ *   [0][prioridade: 2][63 - peso: 6][posição: 41][x: 7][y: 7]
+ * </pre>
+ * O peso é guardado complementado, então a ordem crescente dos valores é
+ * prioridade (HIGH primeiro), peso decrescente e posição de entrada: com os
+ * pedidos adicionados na ordem de {@link Order#ALLOCATION_ORDER}, um
+ * {@link #sort()} dá a mesma ordem do empacotamento, sem comparadores.
+ * <p>
+ * Só cabem pedidos do domínio da API (coordenadas 0..127, peso 1..63);
+ * {@link #add(Order)} recusa os demais. Não é thread-safe.
+ */
+public class PackedOrders {
+
+    private static final int COORDINATE_BITS = 7;
+    private static final int WEIGHT_BITS = 6;
+    private static final int SLOT_BITS = 41;
+    private static final int PRIORITY_BITS = 2;
+
+    private static final int X_SHIFT = COORDINATE_BITS;
+    private static final int SLOT_SHIFT = 2 * COORDINATE_BITS;
+    private static final int WEIGHT_SHIFT = SLOT_SHIFT + SLOT_BITS;
+    private static final int PRIORITY_SHIFT = WEIGHT_SHIFT + WEIGHT_BITS;
+
+    private static final int COORDINATE_MASK = (1 << COORDINATE_BITS) - 1;
+    private static final int MAX_WEIGHT = (1 << WEIGHT_BITS) - 1;
+    private static final long SLOT_MASK = (1L << SLOT_BITS) - 1;
+    private static final int PRIORITY_MASK = (1 << PRIORITY_BITS) - 1;
+
+    private long[] packed;
+    private Order[] orders;
+    private int size;
+
+    public PackedOrders() {
+        this(16);
+    }
+
+    public PackedOrders(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        packed = new long[capacity];
+        orders = new Order[capacity];
+    }
+
+    /**
+     * Empacota os pedidos na ordem da lista, ignorando os que não cabem no layout.
+     */
+    public static PackedOrders of(List<Order> orders) {
+        PackedOrders result = new PackedOrders(orders.size());
+        for (Order order : orders) {
+            result.add(order);
+        }
+        return result;
+    }
+
+    /**
+     * Se o pedido cabe no layout. Os que não cabem estão fora da grade ou acima
+     * do limite de peso de qualquer drone, e não podem ser alocados.
+     */
+    public static boolean fits(Order order) {
+        return order.getPriority() != null
+                && order.getWeight() >= 0 && order.getWeight() <= MAX_WEIGHT
+                && order.getDestinationX() >= 0 && order.getDestinationX() <= COORDINATE_MASK
+                && order.getDestinationY() >= 0 && order.getDestinationY() <= COORDINATE_MASK;
+    }
+
+    /**
+     * Adiciona o pedido no fim do array.
+     *
+     * @return {@code false} se o pedido não cabe no layout (ver {@link #fits(Order)})
+     */
+    public boolean add(Order order) {
+        if (!fits(order)) {
+            return false;
+        }
+        if (size == packed.length) {
+            int capacity = size * 2;
+            packed = Arrays.copyOf(packed, capacity);
+            orders = Arrays.copyOf(orders, capacity);
+        }
+        orders[size] = order;
+        packed[size] = ((long) order.getPriority().ordinal() << PRIORITY_SHIFT)
+                | ((long) (MAX_WEIGHT - order.getWeight()) << WEIGHT_SHIFT)
+                | ((long) size << SLOT_SHIFT)
+                | ((long) order.getDestinationX() << X_SHIFT)
+                | order.getDestinationY();
+        size++;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long get(int index) {
+        return packed[index];
+    }
+
+    /**
+     * Ordena por prioridade, peso decrescente e posição de entrada.
+     */
+    public void sort() {
+        Arrays.sort(packed, 0, size);
+    }
+
+    /**
+     * Pedido original do valor empacotado.
+     */
+    public Order order(long value) {
+        return orders[slot(value)];
+    }
+
+    public static int x(long value) {
+        return (int) (value >>> X_SHIFT) & COORDINATE_MASK;
+    }
+
+    public static int y(long value) {
+        return (int) value & COORDINATE_MASK;
+    }
+
+    public static int weight(long value) {
+        return MAX_WEIGHT - ((int) (value >>> WEIGHT_SHIFT) & MAX_WEIGHT);
+    }
+
+    /**
+     * Ordinal de {@link com.examble.drone_api.model.type.Priority} (0 = HIGH).
+     */
+    public static int priority(long value) {
+        return (int) (value >>> PRIORITY_SHIFT) & PRIORITY_MASK;
+    }
+
+    public static int slot(long value) {
+        return (int) ((value >>> SLOT_SHIFT) & SLOT_MASK);
+    }
+}
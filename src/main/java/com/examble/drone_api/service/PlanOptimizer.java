@@ -0,0 +1,297 @@
+package com.examble.drone_api.service;
+
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.model.type.DroneState;
+import com.examble.drone_api.repository.interfaces.DroneRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Otimizador em segundo plano dos planos dos drones que ainda não decolaram.
+ * A cada rodada aplica busca local (realocar um pedido, trocar pedidos entre
+ * drones e 2-opt da rota) sobre cópias dos planos, dentro de um orçamento de
+ * CPU, e grava cada melhoria de forma atômica: os drones envolvidos são
+ * travados e o plano só é trocado se ninguém o alterou desde a leitura.
+ * Roda em thread própria; a alocação feita na requisição não muda.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "drone.optimizer.enabled", havingValue = "true", matchIfMissing = true)
+public class PlanOptimizer {
+
+    private static final int BASE_X = 1;
+    private static final int BASE_Y = 1;
+
+    private final DroneRepository droneRepository;
+    private final RoutePlanner routePlanner;
+    private final long intervalMs;
+    private final long budgetNanos;
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final Random random = new Random();
+    private ScheduledExecutorService executor;
+
+    public PlanOptimizer(DroneRepository droneRepository,
+                         RoutePlanner routePlanner,
+                         @Value("${drone.optimizer.interval-ms:1000}") long intervalMs,
+                         @Value("${drone.optimizer.budget-ms:50}") long budgetMs) {
+        if (intervalMs < 1 || budgetMs < 1) {
+            throw new IllegalArgumentException("Intervalo e orçamento do otimizador devem ser maiores que 0");
+        }
+        this.droneRepository = droneRepository;
+        this.routePlanner = routePlanner;
+        this.intervalMs = intervalMs;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMs);
+    }
+
+    /**
+     * Plano de um drone como lido no início da rodada.
+     */
+    private static final class Plan {
+        private final Drone drone;
+        private List<Order> stops;
+        private int weight;
+        private int length;
+
+        private Plan(Drone drone) {
+            this.drone = drone;
+            this.stops = new ArrayList<>(drone.getOrderList());
+            this.weight = drone.getTotalWeight();
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "PlanOptimizer");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::runRound, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        log.info("Otimizador de planos ativo (orçamento de {}ms a cada {}ms)",
+                TimeUnit.NANOSECONDS.toMillis(budgetNanos), intervalMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void runRound() {
+        try {
+            optimize(budgetNanos);
+        } catch (Exception e) {
+            // Uma exceção cancelaria o agendamento; a próxima rodada relê os planos
+            log.error("Erro na rodada do otimizador de planos", e);
+        }
+    }
+
+    /**
+     * Executa uma rodada de busca local até esgotar o orçamento de CPU.
+     *
+     * @return quantidade de melhorias gravadas
+     */
+    int optimize(long budgetNanos) {
+        long start = cpuTime();
+        List<Plan> plans = readPlans();
+        if (plans.isEmpty()) {
+            return 0;
+        }
+        int before = plans.stream().mapToInt(plan -> plan.length).sum();
+
+        int improvements = 0;
+        int move = 0;
+        int failedMoves = 0;
+        // Sem melhora há muitos movimentos seguidos, a vizinhança está esgotada: devolve o orçamento
+        int maxFailedMoves = 50 * plans.size();
+        while (failedMoves < maxFailedMoves && cpuTime() - start < budgetNanos) {
+            Plan a = plans.get(random.nextInt(plans.size()));
+            Plan b = plans.get(random.nextInt(plans.size()));
+            if (a.stops.isEmpty() || b.stops.isEmpty()) {
+                failedMoves++;
+                continue;
+            }
+            boolean improved = switch (move++ % 3) {
+                case 0 -> a != b && relocate(a, b);
+                case 1 -> a != b && swap(a, b);
+                default -> twoOpt(a);
+            };
+            if (improved) {
+                improvements++;
+                failedMoves = 0;
+            } else {
+                failedMoves++;
+            }
+        }
+
+        if (improvements > 0) {
+            int after = plans.stream().mapToInt(plan -> plan.length).sum();
+            log.info("Otimizador: {} melhorias, rotas de {} para {} células", improvements, before, after);
+        }
+        return improvements;
+    }
+
+    private List<Plan> readPlans() {
+        List<Plan> plans = new ArrayList<>();
+        for (Drone drone : droneRepository.findByDroneState(DroneState.IDLE)) {
+            synchronized (drone) {
+                if (drone.isAvailableForOrders() && drone.hasOrders()) {
+                    Plan plan = new Plan(drone);
+                    plan.length = length(plan.drone, plan.stops);
+                    plans.add(plan);
+                }
+            }
+        }
+        return plans;
+    }
+
+    /**
+     * Move um pedido de {@code from} para a melhor posição da rota de {@code to}.
+     */
+    private boolean relocate(Plan from, Plan to) {
+        Order order = from.stops.get(random.nextInt(from.stops.size()));
+        if (to.weight + order.getWeight() > to.drone.getWeightLimit() || !to.drone.canReach(order)) {
+            return false;
+        }
+        List<Order> newFrom = new ArrayList<>(from.stops);
+        newFrom.remove(order);
+        List<Order> newTo = bestInsertion(to.drone, to.stops, order);
+        return commitIfShorter(from, newFrom, to, newTo);
+    }
+
+    /**
+     * Troca um pedido de cada drone, inserindo cada um na melhor posição da outra rota.
+     */
+    private boolean swap(Plan a, Plan b) {
+        Order fromA = a.stops.get(random.nextInt(a.stops.size()));
+        Order fromB = b.stops.get(random.nextInt(b.stops.size()));
+        int weightDelta = fromB.getWeight() - fromA.getWeight();
+        if (a.weight + weightDelta > a.drone.getWeightLimit()
+                || b.weight - weightDelta > b.drone.getWeightLimit()
+                || !a.drone.canReach(fromB) || !b.drone.canReach(fromA)) {
+            return false;
+        }
+        List<Order> newA = new ArrayList<>(a.stops);
+        newA.remove(fromA);
+        List<Order> newB = new ArrayList<>(b.stops);
+        newB.remove(fromB);
+        return commitIfShorter(a, bestInsertion(a.drone, newA, fromB), b, bestInsertion(b.drone, newB, fromA));
+    }
+
+    private boolean twoOpt(Plan plan) {
+        if (plan.stops.size() < 3) {
+            return false;
+        }
+        List<Order> route = routePlanner.plan(plan.drone.getPositionX(), plan.drone.getPositionY(), plan.stops);
+        int length = length(plan.drone, route);
+        if (length >= plan.length) {
+            return false;
+        }
+        synchronized (plan.drone) {
+            return replaceIfUnchanged(plan, route, length);
+        }
+    }
+
+    private boolean commitIfShorter(Plan a, List<Order> newA, Plan b, List<Order> newB) {
+        int lengthA = length(a.drone, newA);
+        int lengthB = length(b.drone, newB);
+        if (lengthA + lengthB >= a.length + b.length) {
+            return false;
+        }
+        // Travas sempre na ordem dos ids, para não haver impasse entre rodadas e alocações
+        Plan first = a.drone.getId() < b.drone.getId() ? a : b;
+        Plan second = first == a ? b : a;
+        synchronized (first.drone) {
+            synchronized (second.drone) {
+                if (!isUnchanged(a) || !isUnchanged(b)) {
+                    return false;
+                }
+                replace(a, newA, lengthA);
+                replace(b, newB, lengthB);
+                return true;
+            }
+        }
+    }
+
+    private boolean replaceIfUnchanged(Plan plan, List<Order> stops, int length) {
+        if (!isUnchanged(plan)) {
+            return false;
+        }
+        replace(plan, stops, length);
+        return true;
+    }
+
+    /**
+     * O plano só pode ser trocado se o drone ainda está na base esperando e
+     * sua lista não foi tocada (alocação, replanejamento ou decolagem) desde a leitura.
+     */
+    private boolean isUnchanged(Plan plan) {
+        List<Order> current = plan.drone.getOrderList();
+        if (!plan.drone.isAvailableForOrders() || current.size() != plan.stops.size()) {
+            return false;
+        }
+        for (int i = 0; i < current.size(); i++) {
+            if (current.get(i) != plan.stops.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void replace(Plan plan, List<Order> stops, int length) {
+        plan.drone.replaceOrders(stops);
+        plan.stops = stops;
+        plan.weight = plan.drone.getTotalWeight();
+        plan.length = length;
+    }
+
+    private List<Order> bestInsertion(Drone drone, List<Order> stops, Order order) {
+        int bestPosition = 0;
+        int bestCost = Integer.MAX_VALUE;
+        int x = drone.getPositionX();
+        int y = drone.getPositionY();
+        for (int i = 0; i <= stops.size(); i++) {
+            int nextX = i < stops.size() ? stops.get(i).getDestinationX() : BASE_X;
+            int nextY = i < stops.size() ? stops.get(i).getDestinationY() : BASE_Y;
+            int cost = RoutePlanner.gridDistance(x, y, order.getDestinationX(), order.getDestinationY())
+                    + RoutePlanner.gridDistance(order.getDestinationX(), order.getDestinationY(), nextX, nextY)
+                    - RoutePlanner.gridDistance(x, y, nextX, nextY);
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestPosition = i;
+            }
+            x = nextX;
+            y = nextY;
+        }
+        List<Order> result = new ArrayList<>(stops.size() + 1);
+        result.addAll(stops);
+        result.add(bestPosition, order);
+        return result;
+    }
+
+    private int length(Drone drone, List<Order> stops) {
+        return stops.isEmpty() ? 0 : routePlanner.routeLength(drone.getPositionX(), drone.getPositionY(), stops);
+    }
+
+    private long cpuTime() {
+        return threadMXBean.isCurrentThreadCpuTimeSupported()
+                ? threadMXBean.getCurrentThreadCpuTime()
+                : System.nanoTime();
+    }
+}
@@ -0,0 +1,143 @@
+package com.examble.drone_api.service;
+
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sequencia as paradas de um drone: vizinho mais próximo para construir a rota
+ * e 2-opt para melhorá-la. A distância é a da grade: o drone anda uma célula
+ * por tick, inclusive na diagonal, então o custo de um trecho é
+ * {@code max(|dx|, |dy|)} ticks. A rota parte da posição do drone e termina na base.
+ */
+@Component
+@Slf4j
+public class RoutePlanner {
+
+    private static final int BASE_X = 1;
+    private static final int BASE_Y = 1;
+    private static final int MAX_TWO_OPT_PASSES = 50;
+
+    /**
+     * Reordena a {@code orderList} do drone na sequência planejada; a lista passa
+     * a ser a rota usada pela simulação.
+     */
+    public void planRoute(Drone drone) {
+        List<Order> stops = drone.getOrderList();
+        if (stops == null || stops.size() < 2) {
+            return;
+        }
+        List<Order> route = plan(drone.getPositionX(), drone.getPositionY(), stops);
+        if (log.isDebugEnabled()) {
+            log.debug("Rota do drone {}: {} -> {} células",
+                    drone.getId(), routeLength(drone.getPositionX(), drone.getPositionY(), stops),
+                    routeLength(drone.getPositionX(), drone.getPositionY(), route));
+        }
+        drone.replaceOrders(route);
+    }
+
+    public List<Order> plan(int startX, int startY, List<Order> stops) {
+        List<Order> route = nearestNeighbour(startX, startY, stops);
+        twoOpt(startX, startY, route);
+        return route;
+    }
+
+    /**
+     * Comprimento, em células, da rota que sai de (startX, startY), visita as
+     * paradas na ordem dada e volta à base.
+     */
+    public int routeLength(int startX, int startY, List<Order> route) {
+        int length = 0;
+        int x = startX;
+        int y = startY;
+        for (Order stop : route) {
+            length += gridDistance(x, y, stop.getDestinationX(), stop.getDestinationY());
+            x = stop.getDestinationX();
+            y = stop.getDestinationY();
+        }
+        return length + gridDistance(x, y, BASE_X, BASE_Y);
+    }
+
+    private List<Order> nearestNeighbour(int startX, int startY, List<Order> stops) {
+        List<Order> remaining = new ArrayList<>(stops);
+        List<Order> route = new ArrayList<>(stops.size());
+        int x = startX;
+        int y = startY;
+        while (!remaining.isEmpty()) {
+            int nearest = 0;
+            int nearestDistance = Integer.MAX_VALUE;
+            for (int i = 0; i < remaining.size(); i++) {
+                Order stop = remaining.get(i);
+                int candidate = gridDistance(x, y, stop.getDestinationX(), stop.getDestinationY());
+                // Empate: mantém a parada alocada primeiro
+                if (candidate < nearestDistance) {
+                    nearest = i;
+                    nearestDistance = candidate;
+                }
+            }
+            Order next = remaining.remove(nearest);
+            route.add(next);
+            x = next.getDestinationX();
+            y = next.getDestinationY();
+        }
+        return route;
+    }
+
+    /**
+     * 2-opt com extremidades fixas (posição inicial e base): inverte trechos da
+     * rota enquanto houver inversão que a encurte.
+     */
+    private void twoOpt(int startX, int startY, List<Order> route) {
+        int n = route.size();
+        // Pontos da rota completa: início, paradas, base
+        int[] xs = new int[n + 2];
+        int[] ys = new int[n + 2];
+        xs[0] = startX;
+        ys[0] = startY;
+        for (int i = 0; i < n; i++) {
+            xs[i + 1] = route.get(i).getDestinationX();
+            ys[i + 1] = route.get(i).getDestinationY();
+        }
+        xs[n + 1] = BASE_X;
+        ys[n + 1] = BASE_Y;
+
+        boolean improved = true;
+        for (int pass = 0; improved && pass < MAX_TWO_OPT_PASSES; pass++) {
+            improved = false;
+            for (int i = 1; i < n; i++) {
+                for (int j = i + 1; j <= n; j++) {
+                    int before = gridDistance(xs[i - 1], ys[i - 1], xs[i], ys[i])
+                            + gridDistance(xs[j], ys[j], xs[j + 1], ys[j + 1]);
+                    int after = gridDistance(xs[i - 1], ys[i - 1], xs[j], ys[j])
+                            + gridDistance(xs[i], ys[i], xs[j + 1], ys[j + 1]);
+                    if (after < before) {
+                        reverse(xs, ys, route, i, j);
+                        improved = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private void reverse(int[] xs, int[] ys, List<Order> route, int from, int to) {
+        for (int i = from, j = to; i < j; i++, j--) {
+            int x = xs[i];
+            xs[i] = xs[j];
+            xs[j] = x;
+            int y = ys[i];
+            ys[i] = ys[j];
+            ys[j] = y;
+            Order stop = route.get(i - 1);
+            route.set(i - 1, route.get(j - 1));
+            route.set(j - 1, stop);
+        }
+    }
+
+    static int gridDistance(int x1, int y1, int x2, int y2) {
+        return Math.max(Math.abs(x1 - x2), Math.abs(y1 - y2));
+    }
+}
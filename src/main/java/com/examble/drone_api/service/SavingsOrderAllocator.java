@@ -0,0 +1,451 @@
+package com.examble.drone_api.service;
+
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.repository.index.DroneSpatialIndex;
+import com.examble.drone_api.repository.interfaces.DroneRepository;
+import com.examble.drone_api.repository.interfaces.OrderRepository;
+import com.examble.drone_api.service.interfaces.OrderAllocator;
+import com.examble.drone_api.validation.DroneValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Roteirização capacitada pelo algoritmo de economias de Clarke-Wright.
+ * Cada pedido começa como uma viagem própria saindo da base (1,1); as viagens
+ * são unidas pelas maiores economias {@code s(i,j) = d(0,i) + d(0,j) - d(i,j)}
+ * enquanto couberem no maior drone disponível. As viagens resultantes são
+ * então distribuídas entre os drones, da mais prioritária para a menos.
+ * <p>
+ * Para caber no tempo de replanejamento com milhares de pedidos, as economias
+ * só são calculadas entre cada pedido e seus {@code neighbours} vizinhos mais
+ * próximos na grade (lista granular), e não entre todos os pares.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "drone.allocation.strategy", havingValue = "savings")
+public class SavingsOrderAllocator implements OrderAllocator {
+
+    private static final int BASE_X = 1;
+    private static final int BASE_Y = 1;
+    private static final int BUCKET_SIZE = 5;
+    private static final int BUCKETS_PER_AXIS = (DroneSpatialIndex.GRID_SIZE + BUCKET_SIZE - 1) / BUCKET_SIZE;
+    // Índices de pedido ocupam 21 bits em cada economia empacotada
+    private static final int MAX_ORDERS = 1 << 21;
+    private static final long INDEX_MASK = MAX_ORDERS - 1;
+
+    private static final Comparator<Drone> SMALLEST_FIRST = Comparator
+            .comparingInt(Drone::getWeightLimit)
+            .thenComparing(Drone::getId);
+
+    private final OrderRepository orderRepository;
+    private final DroneRepository droneRepository;
+    private final DroneValidator droneValidator;
+    private final int neighbours;
+
+    public SavingsOrderAllocator(OrderRepository orderRepository,
+                                 DroneRepository droneRepository,
+                                 DroneValidator droneValidator,
+                                 @Value("${drone.allocation.savings.neighbours:32}") int neighbours) {
+        if (neighbours < 1) {
+            throw new IllegalArgumentException("Quantidade de vizinhos deve ser maior que 0");
+        }
+        this.orderRepository = orderRepository;
+        this.droneRepository = droneRepository;
+        this.droneValidator = droneValidator;
+        this.neighbours = neighbours;
+    }
+
+    /**
+     * Viagem montada pelas economias: paradas na ordem de visita.
+     */
+    private record Trip(List<Order> stops, int weight, int priority) {
+    }
+
+    @Override
+    public synchronized void allocateOrders() {
+        long startNanos = System.nanoTime();
+        // Acima do limite, drones com pedidos que ficariam fora do replanejamento mantêm o plano
+        Set<Long> replanned = replannedOrderIds(orderRepository.findPending());
+        FleetReplan.Scope scope = FleetReplan.clearPlans(droneRepository, orderRepository,
+                drone -> replanned == null || drone.getOrderList().stream()
+                        .allMatch(order -> replanned.contains(order.getId())));
+        List<Drone> drones = new ArrayList<>(scope.drones());
+        if (drones.isEmpty()) {
+            return;
+        }
+
+        int maxWeight = drones.stream().mapToInt(Drone::getWeightLimit).max().orElse(0);
+        int maxReach = drones.stream().mapToInt(Drone::getDistancePerCargo).max().orElse(0);
+        List<Order> pending = scope.pending();
+        PackedOrders orders = new PackedOrders(Math.min(pending.size(), MAX_ORDERS));
+        int considered = 0;
+        for (Order order : pending) {
+            if (orders.size() == MAX_ORDERS) {
+                break;
+            }
+            considered++;
+            if (order.getWeight() > maxWeight || baseDistance(order) > maxReach || !orders.add(order)) {
+                log.info("⚠ Pedido {} não pôde ser alocado - nenhum drone disponível.", order.getId());
+            }
+        }
+        if (considered < pending.size()) {
+            log.warn("Clarke-Wright: limite de {} pedidos por replanejamento; {} pedidos pendentes ficaram "
+                    + "para a próxima rodada", MAX_ORDERS, pending.size() - considered);
+        }
+
+        List<Trip> trips = buildTrips(orders, maxWeight);
+        trips.sort(Comparator.comparingInt(Trip::priority)
+                .thenComparing(Comparator.comparingInt(Trip::weight).reversed()));
+
+        drones.sort(SMALLEST_FIRST);
+        int allocated = 0;
+        int usedDrones = 0;
+        for (Trip trip : trips) {
+            int fitting = findSmallestFitting(drones, trip.stops(), trip.weight());
+            if (fitting >= 0) {
+                Drone drone = drones.remove(fitting);
+                allocated += assignAll(drone, trip.stops());
+                usedDrones++;
+            } else {
+                // Nenhum drone livre comporta a viagem inteira: divide entre os maiores que restam
+                int[] result = splitAcross(drones, trip.stops());
+                allocated += result[0];
+                usedDrones += result[1];
+            }
+        }
+
+        log.info("Clarke-Wright: {} de {} pedidos em {} viagens ({} rotas planejadas, {} ms)",
+                allocated, orders.size(), usedDrones, trips.size(),
+                (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * Ids dos primeiros {@link #MAX_ORDERS} pendentes, ou {@code null} se todos
+     * cabem no replanejamento.
+     */
+    private static Set<Long> replannedOrderIds(List<Order> pending) {
+        if (pending.size() <= MAX_ORDERS) {
+            return null;
+        }
+        Set<Long> ids = new HashSet<>(MAX_ORDERS * 2);
+        for (Order order : pending.subList(0, MAX_ORDERS)) {
+            ids.add(order.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Incremental: junta o pedido à viagem já carregada (e ainda na base) com a
+     * maior economia; sem economia positiva, abre a viagem no menor drone que o leva.
+     */
+    @Override
+    public synchronized Optional<Drone> allocate(Order order) {
+        List<Drone> candidates = droneRepository.findAvailableNear(
+                order.getDestinationX(), order.getDestinationY(), droneRepository.getMaxReach());
+
+        Drone best = null;
+        int bestSaving = 0;
+        List<Drone> emptyDrones = new ArrayList<>();
+        for (Drone drone : candidates) {
+            if (!drone.canCarry(order) || !drone.canReach(order)) {
+                continue;
+            }
+            if (!drone.hasOrders()) {
+                emptyDrones.add(drone);
+                continue;
+            }
+            for (Order stop : drone.getOrderList()) {
+                int saving = saving(order, stop);
+                if (saving > bestSaving) {
+                    best = drone;
+                    bestSaving = saving;
+                }
+            }
+        }
+        if (best == null) {
+            best = emptyDrones.stream().min(SMALLEST_FIRST).orElse(null);
+        }
+        if (best == null) {
+            log.info("⚠ Pedido {} não pôde ser alocado - nenhum drone disponível.", order.getId());
+            return Optional.empty();
+        }
+        return assign(best, order) ? Optional.of(best) : Optional.empty();
+    }
+
+    /**
+     * Une as viagens pelas maiores economias. Cada viagem é uma lista duplamente
+     * ligada sem direção ({@code linkA}/{@code linkB}); só as pontas podem ser
+     * unidas, o que torna cada junção O(1).
+     */
+    private List<Trip> buildTrips(PackedOrders orders, int maxWeight) {
+        int n = orders.size();
+        int[] linkA = new int[n];
+        int[] linkB = new int[n];
+        int[] parent = new int[n];
+        int[] tripWeight = new int[n];
+        Arrays.fill(linkA, -1);
+        Arrays.fill(linkB, -1);
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+            tripWeight[i] = PackedOrders.weight(orders.get(i));
+        }
+
+        long[] savings = computeSavings(orders);
+        for (int k = savings.length - 1; k >= 0; k--) {
+            int i = (int) ((savings[k] >>> 21) & INDEX_MASK);
+            int j = (int) (savings[k] & INDEX_MASK);
+            if (linkA[i] != -1 && linkB[i] != -1 || linkA[j] != -1 && linkB[j] != -1) {
+                continue;
+            }
+            int rootI = find(parent, i);
+            int rootJ = find(parent, j);
+            if (rootI == rootJ || tripWeight[rootI] + tripWeight[rootJ] > maxWeight) {
+                continue;
+            }
+            link(linkA, linkB, i, j);
+            link(linkA, linkB, j, i);
+            parent[rootJ] = rootI;
+            tripWeight[rootI] += tripWeight[rootJ];
+        }
+
+        List<Trip> trips = new ArrayList<>();
+        boolean[] visited = new boolean[n];
+        for (int end = 0; end < n; end++) {
+            if (visited[end] || linkA[end] != -1 && linkB[end] != -1) {
+                continue;
+            }
+            List<Order> stops = new ArrayList<>();
+            int priority = Integer.MAX_VALUE;
+            int previous = -1;
+            int current = end;
+            while (current != -1) {
+                visited[current] = true;
+                long stop = orders.get(current);
+                stops.add(orders.order(stop));
+                priority = Math.min(priority, PackedOrders.priority(stop));
+                int next = linkA[current] != previous ? linkA[current] : linkB[current];
+                previous = current;
+                current = next;
+            }
+            trips.add(new Trip(stops, tripWeight[find(parent, end)], priority));
+        }
+        return trips;
+    }
+
+    /**
+     * Economias positivas entre cada pedido e seus vizinhos mais próximos,
+     * empacotadas em {@code long} (economia, i, j) e ordenadas de forma crescente.
+     */
+    private long[] computeSavings(PackedOrders orders) {
+        int n = orders.size();
+        int[] bucketHead = new int[BUCKETS_PER_AXIS * BUCKETS_PER_AXIS];
+        int[] bucketNext = new int[n];
+        Arrays.fill(bucketHead, -1);
+        for (int i = 0; i < n; i++) {
+            int bucket = bucketOf(orders.get(i));
+            bucketNext[i] = bucketHead[bucket];
+            bucketHead[bucket] = i;
+        }
+
+        long[] savings = new long[Math.max(16, Math.min(n * neighbours, 1 << 24))];
+        int size = 0;
+        int[] candidates = new int[64];
+        long[] ranked = new long[64];
+        for (int i = 0; i < n; i++) {
+            long order = orders.get(i);
+            int bx = bucketX(PackedOrders.x(order));
+            int by = bucketY(PackedOrders.y(order));
+            int count = 0;
+            // Visita anéis de baldes até ter vizinhos suficientes, mais um anel de folga
+            for (int ring = 0, extraRings = -1; ring < BUCKETS_PER_AXIS && extraRings != 0; ring++) {
+                for (int x = bx - ring; x <= bx + ring; x++) {
+                    for (int y = by - ring; y <= by + ring; y++) {
+                        boolean onRing = Math.abs(x - bx) == ring || Math.abs(y - by) == ring;
+                        if (!onRing || x < 0 || y < 0 || x >= BUCKETS_PER_AXIS || y >= BUCKETS_PER_AXIS) {
+                            continue;
+                        }
+                        for (int j = bucketHead[x * BUCKETS_PER_AXIS + y]; j != -1; j = bucketNext[j]) {
+                            if (j == i) {
+                                continue;
+                            }
+                            if (count == candidates.length) {
+                                candidates = Arrays.copyOf(candidates, count * 2);
+                            }
+                            candidates[count++] = j;
+                        }
+                    }
+                }
+                if (extraRings > 0) {
+                    extraRings--;
+                } else if (extraRings < 0 && count >= neighbours) {
+                    extraRings = 1;
+                }
+            }
+
+            if (ranked.length < count) {
+                ranked = new long[candidates.length];
+            }
+            for (int c = 0; c < count; c++) {
+                ranked[c] = ((long) distance(order, orders.get(candidates[c])) << 32) | candidates[c];
+            }
+            Arrays.sort(ranked, 0, count);
+            for (int c = 0; c < Math.min(count, neighbours); c++) {
+                // Um par pode aparecer duas vezes (i vizinho de j e vice-versa); a
+                // segunda ocorrência só é descartada na junção, por já estarem unidos
+                int j = (int) ranked[c];
+                int saving = saving(order, orders.get(j));
+                if (saving <= 0) {
+                    continue;
+                }
+                if (size == savings.length) {
+                    savings = Arrays.copyOf(savings, size * 2);
+                }
+                savings[size++] = ((long) saving << 42) | ((long) Math.min(i, j) << 21) | Math.max(i, j);
+            }
+        }
+        long[] result = Arrays.copyOf(savings, size);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private int findSmallestFitting(List<Drone> drones, List<Order> stops, int weight) {
+        for (int i = 0; i < drones.size(); i++) {
+            Drone drone = drones.get(i);
+            if (drone.getWeightLimit() >= weight && reachesAll(drone, stops)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reparte as paradas da viagem, na ordem de visita, entre os maiores drones
+     * livres. Retorna {pedidos alocados, drones usados}.
+     */
+    private int[] splitAcross(List<Drone> drones, List<Order> stops) {
+        int allocated = 0;
+        int used = 0;
+        int next = 0;
+        while (next < stops.size() && !drones.isEmpty()) {
+            Drone drone = drones.get(drones.size() - 1);
+            int weight = 0;
+            int end = next;
+            while (end < stops.size() && weight + stops.get(end).getWeight() <= drone.getWeightLimit()) {
+                weight += stops.get(end).getWeight();
+                end++;
+            }
+            if (end == next) {
+                break;
+            }
+            drones.remove(drones.size() - 1);
+            allocated += assignAll(drone, stops.subList(next, end));
+            used++;
+            next = end;
+        }
+        for (int i = next; i < stops.size(); i++) {
+            log.info("⚠ Pedido {} não pôde ser alocado - nenhum drone disponível.", stops.get(i).getId());
+        }
+        return new int[]{allocated, used};
+    }
+
+    private int assignAll(Drone drone, List<Order> stops) {
+        int allocated = 0;
+        for (Order stop : stops) {
+            if (assign(drone, stop)) {
+                allocated++;
+            }
+        }
+        return allocated;
+    }
+
+    private boolean assign(Drone drone, Order order) {
+        try {
+            // Mesmo monitor usado na decolagem: o drone não parte no meio da atribuição
+            synchronized (drone) {
+                droneValidator.validateDroneForOrder(drone, order).throwIfInvalid();
+                drone.assignOrder(order);
+            }
+            log.info("✅ Pedido {} alocado no drone {}", order.getId(), drone.getId());
+            return true;
+        } catch (Exception e) {
+            log.info("⚠ Pedido {} não pôde ser alocado: {}", order.getId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean reachesAll(Drone drone, List<Order> stops) {
+        for (Order stop : stops) {
+            if (!drone.canReach(stop)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void link(int[] linkA, int[] linkB, int from, int to) {
+        if (linkA[from] == -1) {
+            linkA[from] = to;
+        } else {
+            linkB[from] = to;
+        }
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static int saving(Order a, Order b) {
+        return saving(a.getDestinationX(), a.getDestinationY(), b.getDestinationX(), b.getDestinationY());
+    }
+
+    private static int saving(long a, long b) {
+        return saving(PackedOrders.x(a), PackedOrders.y(a), PackedOrders.x(b), PackedOrders.y(b));
+    }
+
+    private static int saving(int ax, int ay, int bx, int by) {
+        return gridDistance(BASE_X, BASE_Y, ax, ay) + gridDistance(BASE_X, BASE_Y, bx, by)
+                - gridDistance(ax, ay, bx, by);
+    }
+
+    private static int distance(long a, long b) {
+        return gridDistance(PackedOrders.x(a), PackedOrders.y(a), PackedOrders.x(b), PackedOrders.y(b));
+    }
+
+    /**
+     * Distância em células da grade (o drone anda na diagonal), a mesma usada pelo {@link RoutePlanner}.
+     */
+    private static int gridDistance(int x1, int y1, int x2, int y2) {
+        return Math.max(Math.abs(x1 - x2), Math.abs(y1 - y2));
+    }
+
+    private static double baseDistance(Order order) {
+        return Math.hypot(order.getDestinationX() - BASE_X, order.getDestinationY() - BASE_Y);
+    }
+
+    private static int bucketOf(long order) {
+        return bucketX(PackedOrders.x(order)) * BUCKETS_PER_AXIS + bucketY(PackedOrders.y(order));
+    }
+
+    private static int bucketX(int x) {
+        return Math.min(BUCKETS_PER_AXIS - 1, Math.max(0, (x - 1) / BUCKET_SIZE));
+    }
+
+    private static int bucketY(int y) {
+        return Math.min(BUCKETS_PER_AXIS - 1, Math.max(0, (y - 1) / BUCKET_SIZE));
+    }
+}
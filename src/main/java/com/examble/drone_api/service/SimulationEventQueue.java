@@ -0,0 +1,51 @@
+package com.examble.drone_api.service;
+
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.SimulationEvent;
+import com.examble.drone_api.model.type.SimulationEventType;
+import com.examble.drone_api.util.ConcurrentLongLongMap;
+
+import java.util.PriorityQueue;
+
+/**
+ * Fila de eventos da simulação ordenada por horário.
+ * Cada drone tem no máximo um evento válido: agendar um novo evento torna o
+ * anterior obsoleto, e eventos obsoletos são descartados ao serem retirados.
+ */
+public class SimulationEventQueue {
+
+    private static final long NO_SEQUENCE = -1L;
+
+    private final PriorityQueue<SimulationEvent> events = new PriorityQueue<>();
+    private final ConcurrentLongLongMap currentSequenceByDrone = new ConcurrentLongLongMap();
+    private long nextSequence = 0;
+
+    public synchronized void schedule(Drone drone, SimulationEventType type, long dueAtMillis) {
+        long sequence = nextSequence++;
+        currentSequenceByDrone.put(drone.getId(), sequence);
+        events.add(new SimulationEvent(dueAtMillis, sequence, drone, type));
+    }
+
+    public synchronized void cancel(Drone drone) {
+        currentSequenceByDrone.remove(drone.getId(), NO_SEQUENCE);
+    }
+
+    /**
+     * Retira o próximo evento válido com horário até {@code nowMillis}, ou null se não houver.
+     */
+    public synchronized SimulationEvent pollDue(long nowMillis) {
+        while (!events.isEmpty() && events.peek().dueAtMillis() <= nowMillis) {
+            SimulationEvent event = events.poll();
+            long currentSequence = currentSequenceByDrone.get(event.drone().getId(), NO_SEQUENCE);
+            if (currentSequence == event.sequence()) {
+                currentSequenceByDrone.remove(event.drone().getId(), NO_SEQUENCE);
+                return event;
+            }
+        }
+        return null;
+    }
+
+    public synchronized int size() {
+        return currentSequenceByDrone.size();
+    }
+}
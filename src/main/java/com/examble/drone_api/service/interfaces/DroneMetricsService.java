@@ -1,17 +1,43 @@
 package com.examble.drone_api.service.interfaces;
 
 import com.examble.drone_api.model.DroneMetrics;
+import com.examble.drone_api.model.LatencySummary;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
 public interface DroneMetricsService {
     void recordDelivery(Long droneId, long deliveryTimeMs);
+
+    /**
+     * Entrega com horário explícito, usada também na recuperação do log.
+     */
+    void recordDelivery(Long droneId, long deliveryTimeMs, long deliveredAtMillis);
     void recordFlightTime(Long droneId, long flightTimeMs);
     Map<Long, DroneMetrics> getAllDroneMetrics();
+    Optional<DroneMetrics> getDroneMetrics(Long droneId);
+    LatencySummary getDeliveryTimePercentiles();
+    LatencySummary getFlightTimePercentiles();
     int getTotalDeliveries();
     double getAverageDeliveryTime();
     Long getMostEfficientDroneId();
     DroneMetrics getMostEfficientDroneMetrics();
+
+    /**
+     * Grava os contadores e histogramas da frota e de cada drone em um instante
+     * sem registros em andamento.
+     *
+     * @return posição do log que corresponde à cópia (0 sem persistência)
+     */
+    long writeSnapshot(DataOutput out) throws IOException;
+
+    /**
+     * Substitui as métricas pelas gravadas em {@link #writeSnapshot}.
+     */
+    void readSnapshot(DataInput in) throws IOException;
 }
@@ -9,5 +9,6 @@ import java.util.Optional;
 public interface DroneService {
     List<Drone> findAll();
     Optional<Drone> findById(Long id);
+    List<Drone> findAvailableNear(int x, int y, double radius);
     Drone createDrone(DroneCreateRequestDTO droneCreateRequestDTO);
 }
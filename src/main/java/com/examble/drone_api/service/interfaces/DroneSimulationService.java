@@ -2,10 +2,31 @@ package com.examble.drone_api.service.interfaces;
 
 import com.examble.drone_api.model.Drone;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.concurrent.CompletableFuture;
 
 public interface DroneSimulationService {
     void updateDroneStates();
     CompletableFuture<Void> startDroneFlight(Drone drone);
     void startAllDronesWithOrders();
+    int fastForward(Duration duration);
+    LocalDateTime getSimulatedTime();
+    double getTimeWarp();
+    void setTimeWarp(double timeWarp);
+
+    /**
+     * Atualiza os objetos {@link Drone} com o estado mantido pelo motor, quando
+     * o motor não os atualiza a cada tick (modo em colunas). Usado antes de
+     * expor os drones pela API.
+     */
+    void refreshDroneViews();
+
+    void refreshDroneView(Drone drone);
+
+    /**
+     * Retoma no motor um drone recuperado da persistência fora do estado
+     * IDLE, como se ele tivesse acabado de mudar para o estado atual.
+     */
+    void resumeDrone(Drone drone);
 }
@@ -0,0 +1,17 @@
+package com.examble.drone_api.service.interfaces;
+
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+public interface DroneStreamService {
+    SseEmitter subscribe(Supplier<? extends Collection<Drone>> fleet);
+    void markChanged(Drone drone);
+    void recordDelivery(Drone drone, Order order);
+    void flush(LocalDateTime simulatedTime);
+    int getSubscriberCount();
+}
@@ -1,5 +1,33 @@
 package com.examble.drone_api.service.interfaces;
 
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
 public interface OrderAllocator {
     void allocateOrders();
+    Optional<Drone> allocate(Order order);
+
+    /**
+     * Aloca um lote de pedidos recém-chegados em uma única passada, na ordem de
+     * alocação (prioridade e chegada). O resultado segue a ordem da lista recebida.
+     */
+    default List<Optional<Drone>> allocateAll(List<Order> orders) {
+        List<Integer> positions = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            positions.add(i);
+        }
+        positions.sort(Comparator.comparing(orders::get, Order.ALLOCATION_ORDER));
+
+        List<Optional<Drone>> results = new ArrayList<>(Collections.nCopies(orders.size(), Optional.empty()));
+        for (int position : positions) {
+            results.set(position, allocate(orders.get(position)));
+        }
+        return results;
+    }
 }
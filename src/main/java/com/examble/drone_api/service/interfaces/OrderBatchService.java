@@ -0,0 +1,10 @@
+package com.examble.drone_api.service.interfaces;
+
+import com.examble.drone_api.dto.OrderBatchResponseDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface OrderBatchService {
+    OrderBatchResponseDTO importOrders(InputStream body) throws IOException;
+}
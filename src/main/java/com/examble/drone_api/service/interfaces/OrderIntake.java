@@ -0,0 +1,19 @@
+package com.examble.drone_api.service.interfaces;
+
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Entrada dos pedidos recém-criados na alocação.
+ */
+public interface OrderIntake {
+
+    /**
+     * Encaminha o pedido já salvo para alocação; o futuro é concluído com o
+     * drone escolhido, ou vazio se nenhum pôde recebê-lo.
+     */
+    CompletableFuture<Optional<Drone>> submit(Order order);
+}
@@ -10,4 +10,6 @@ public interface OrderService {
     List<Order> findAll();
     Optional<Order> findById(Long id);
     Order createOrder(OrderCreateRequestDTO droneCreateRequestDTO);
+    void reallocateOrders();
+    void allocateUnassignedOrders();
 }
@@ -0,0 +1,245 @@
+package com.examble.drone_api.util;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Mapa concorrente de {@code long} para {@code long}, sem boxing de chave nem
+ * de valor. Mesma organização do {@link ConcurrentLongObjectMap} (segmentos
+ * com {@link StampedLock}, leituras otimistas, sondagem linear), com chaves e
+ * valores em dois {@code long[]}.
+ * <p>
+ * Uma posição vazia é marcada pela chave {@code 0}; a própria chave {@code 0}
+ * fica fora da tabela, em um campo do seu segmento. Como não há valor
+ * reservado, as leituras recebem o valor a retornar na ausência da chave.
+ */
+public class ConcurrentLongLongMap {
+
+    private static final int SEGMENT_SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(LongHashing.DEFAULT_SEGMENTS);
+    private static final long EMPTY_KEY = 0L;
+
+    private final Segment[] segments = new Segment[LongHashing.DEFAULT_SEGMENTS];
+
+    public ConcurrentLongLongMap() {
+        this(0);
+    }
+
+    public ConcurrentLongLongMap(int expectedSize) {
+        int capacity = LongHashing.segmentCapacity(expectedSize, segments.length);
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment(capacity);
+        }
+    }
+
+    /**
+     * @return o valor da chave, ou {@code absentValue} se ela não estiver no mapa
+     */
+    public long get(long key, long absentValue) {
+        long hash = LongHashing.mix(key);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.tryOptimisticRead();
+        long value = segment.find(key, hash, absentValue);
+        if (!segment.validate(stamp)) {
+            stamp = segment.readLock();
+            try {
+                value = segment.find(key, hash, absentValue);
+            } finally {
+                segment.unlockRead(stamp);
+            }
+        }
+        return value;
+    }
+
+    public boolean containsKey(long key) {
+        long hash = LongHashing.mix(key);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.readLock();
+        try {
+            return segment.indexOf(key, hash) != Segment.NOT_FOUND;
+        } finally {
+            segment.unlockRead(stamp);
+        }
+    }
+
+    public void put(long key, long value) {
+        long hash = LongHashing.mix(key);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.writeLock();
+        try {
+            segment.insert(key, hash, value);
+        } finally {
+            segment.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return o valor removido, ou {@code absentValue} se a chave não estava no mapa
+     */
+    public long remove(long key, long absentValue) {
+        long hash = LongHashing.mix(key);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.writeLock();
+        try {
+            return segment.delete(key, hash, absentValue);
+        } finally {
+            segment.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[LongHashing.segmentIndex(hash, SEGMENT_SHIFT)];
+    }
+
+    private static final class Segment extends StampedLock {
+        private static final int NOT_FOUND = -2;
+        private static final int ZERO_KEY_INDEX = -1;
+
+        // Os arrays só são trocados juntos, sob a trava de escrita
+        private long[] keys;
+        private long[] values;
+        private boolean hasZeroKey;
+        private long zeroKeyValue;
+        private volatile int size;
+
+        private Segment(int capacity) {
+            keys = new long[capacity];
+            values = new long[capacity];
+        }
+
+        /**
+         * Também usado em leitura otimista: lê cada array uma vez e limita a
+         * sondagem ao tamanho da tabela, então uma escrita concorrente só pode
+         * produzir um resultado errado, descartado pelo {@code validate}.
+         */
+        private long find(long key, long hash, long absentValue) {
+            if (key == EMPTY_KEY) {
+                return hasZeroKey ? zeroKeyValue : absentValue;
+            }
+            long[] keys = this.keys;
+            long[] values = this.values;
+            int mask = Math.min(keys.length, values.length) - 1;
+            int index = (int) hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                long current = keys[index];
+                if (current == EMPTY_KEY) {
+                    return absentValue;
+                }
+                if (current == key) {
+                    return values[index];
+                }
+                index = (index + 1) & mask;
+            }
+            return absentValue;
+        }
+
+        private int indexOf(long key, long hash) {
+            if (key == EMPTY_KEY) {
+                return hasZeroKey ? ZERO_KEY_INDEX : NOT_FOUND;
+            }
+            int mask = keys.length - 1;
+            int index = (int) hash & mask;
+            while (keys[index] != EMPTY_KEY) {
+                if (keys[index] == key) {
+                    return index;
+                }
+                index = (index + 1) & mask;
+            }
+            return NOT_FOUND;
+        }
+
+        private void insert(long key, long hash, long value) {
+            if (key == EMPTY_KEY) {
+                if (!hasZeroKey) {
+                    hasZeroKey = true;
+                    size++;
+                }
+                zeroKeyValue = value;
+                return;
+            }
+            int mask = keys.length - 1;
+            int index = (int) hash & mask;
+            while (keys[index] != EMPTY_KEY) {
+                if (keys[index] == key) {
+                    values[index] = value;
+                    return;
+                }
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            values[index] = value;
+            size++;
+            if (LongHashing.exceedsLoad(size, keys.length)) {
+                rehash(keys.length << 1);
+            }
+        }
+
+        private long delete(long key, long hash, long absentValue) {
+            int index = indexOf(key, hash);
+            if (index == NOT_FOUND) {
+                return absentValue;
+            }
+            size--;
+            if (index == ZERO_KEY_INDEX) {
+                hasZeroKey = false;
+                return zeroKeyValue;
+            }
+            long previous = values[index];
+            shiftBack(index, keys.length - 1);
+            return previous;
+        }
+
+        /**
+         * Remoção na sondagem linear: puxa para o buraco cada entrada seguinte
+         * cuja posição ideal não está entre o buraco e ela.
+         */
+        private void shiftBack(int hole, int mask) {
+            int index = hole;
+            while (true) {
+                index = (index + 1) & mask;
+                if (keys[index] == EMPTY_KEY) {
+                    break;
+                }
+                int ideal = (int) LongHashing.mix(keys[index]) & mask;
+                boolean movable = hole <= index ? ideal <= hole || ideal > index : ideal <= hole && ideal > index;
+                if (movable) {
+                    keys[hole] = keys[index];
+                    values[hole] = values[index];
+                    hole = index;
+                }
+            }
+            keys[hole] = EMPTY_KEY;
+            values[hole] = 0L;
+        }
+
+        private void rehash(int capacity) {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            long[] newKeys = new long[capacity];
+            long[] newValues = new long[capacity];
+            int mask = capacity - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY_KEY) {
+                    int index = (int) LongHashing.mix(oldKeys[i]) & mask;
+                    while (newKeys[index] != EMPTY_KEY) {
+                        index = (index + 1) & mask;
+                    }
+                    newKeys[index] = oldKeys[i];
+                    newValues[index] = oldValues[i];
+                }
+            }
+            keys = newKeys;
+            values = newValues;
+        }
+    }
+}
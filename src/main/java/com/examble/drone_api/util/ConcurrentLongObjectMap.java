@@ -0,0 +1,294 @@
+package com.examble.drone_api.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongFunction;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Mapa concorrente de chaves {@code long} para objetos, sem boxing da chave.
+ * As entradas ficam em endereçamento aberto (sondagem linear) em dois arrays
+ * paralelos, {@code long[]} de chaves e {@code Object[]} de valores, divididos
+ * em segmentos pelos bits altos do hash. Cada segmento tem um
+ * {@link StampedLock}: escritas tomam a trava de escrita do segmento e leituras
+ * são otimistas (sem trava), refeitas sob a trava de leitura só se uma escrita
+ * concorrente invalidou o carimbo. A remoção desloca as entradas seguintes
+ * para trás, sem lápides.
+ * <p>
+ * Uma posição vazia é marcada pelo valor {@code null}, então valores nulos não
+ * são aceitos. A iteração ({@link #forEach}, {@link #values()}) é fracamente
+ * consistente: cada segmento é lido sob a sua trava de leitura, um de cada vez.
+ */
+public class ConcurrentLongObjectMap<V> {
+
+    private static final int SEGMENT_SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(LongHashing.DEFAULT_SEGMENTS);
+
+    private final Segment[] segments = new Segment[LongHashing.DEFAULT_SEGMENTS];
+
+    public ConcurrentLongObjectMap() {
+        this(0);
+    }
+
+    public ConcurrentLongObjectMap(int expectedSize) {
+        int capacity = LongHashing.segmentCapacity(expectedSize, segments.length);
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment(capacity);
+        }
+    }
+
+    public V get(long key) {
+        long hash = LongHashing.mix(key);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.tryOptimisticRead();
+        Object value = segment.find(key, hash);
+        if (!segment.validate(stamp)) {
+            stamp = segment.readLock();
+            try {
+                value = segment.find(key, hash);
+            } finally {
+                segment.unlockRead(stamp);
+            }
+        }
+        return cast(value);
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * @return o valor anterior, ou {@code null}
+     */
+    public V put(long key, V value) {
+        Objects.requireNonNull(value, "value");
+        long hash = LongHashing.mix(key);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.writeLock();
+        try {
+            return cast(segment.insert(key, hash, value, true));
+        } finally {
+            segment.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return o valor já presente, ou {@code null} se {@code value} foi inserido
+     */
+    public V putIfAbsent(long key, V value) {
+        Objects.requireNonNull(value, "value");
+        long hash = LongHashing.mix(key);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.writeLock();
+        try {
+            return cast(segment.insert(key, hash, value, false));
+        } finally {
+            segment.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Como {@link java.util.concurrent.ConcurrentHashMap#computeIfAbsent}: a
+     * função roda no máximo uma vez por chave, sob a trava (não reentrante) do
+     * segmento, e não deve acessar este mapa. Com a chave presente, não trava.
+     */
+    public V computeIfAbsent(long key, LongFunction<? extends V> mappingFunction) {
+        V existing = get(key);
+        if (existing != null) {
+            return existing;
+        }
+        long hash = LongHashing.mix(key);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.writeLock();
+        try {
+            Object current = segment.find(key, hash);
+            if (current != null) {
+                return cast(current);
+            }
+            V value = mappingFunction.apply(key);
+            if (value != null) {
+                segment.insert(key, hash, value, true);
+            }
+            return value;
+        } finally {
+            segment.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return o valor removido, ou {@code null}
+     */
+    public V remove(long key) {
+        long hash = LongHashing.mix(key);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.writeLock();
+        try {
+            return cast(segment.delete(key, hash));
+        } finally {
+            segment.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void forEach(ObjLongConsumer<? super V> action) {
+        for (Segment segment : segments) {
+            long stamp = segment.readLock();
+            try {
+                long[] keys = segment.keys;
+                Object[] values = segment.values;
+                for (int i = 0; i < values.length; i++) {
+                    if (values[i] != null) {
+                        action.accept(cast(values[i]), keys[i]);
+                    }
+                }
+            } finally {
+                segment.unlockRead(stamp);
+            }
+        }
+    }
+
+    /**
+     * Cópia dos valores, sem ordem definida.
+     */
+    public List<V> values() {
+        List<V> result = new ArrayList<>(size());
+        forEach((value, key) -> result.add(value));
+        return result;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[LongHashing.segmentIndex(hash, SEGMENT_SHIFT)];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V cast(Object value) {
+        return (V) value;
+    }
+
+    private static final class Segment extends StampedLock {
+        // Os arrays só são trocados juntos, sob a trava de escrita
+        private long[] keys;
+        private Object[] values;
+        private volatile int size;
+
+        private Segment(int capacity) {
+            keys = new long[capacity];
+            values = new Object[capacity];
+        }
+
+        /**
+         * Também usado em leitura otimista: lê cada array uma vez e limita a
+         * sondagem ao tamanho da tabela, então uma escrita concorrente só pode
+         * produzir um resultado errado, descartado pelo {@code validate}.
+         */
+        private Object find(long key, long hash) {
+            long[] keys = this.keys;
+            Object[] values = this.values;
+            int mask = Math.min(keys.length, values.length) - 1;
+            int index = (int) hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                Object value = values[index];
+                if (value == null) {
+                    return null;
+                }
+                if (keys[index] == key) {
+                    return value;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        private Object insert(long key, long hash, Object value, boolean replace) {
+            int mask = keys.length - 1;
+            int index = (int) hash & mask;
+            while (values[index] != null) {
+                if (keys[index] == key) {
+                    Object previous = values[index];
+                    if (replace) {
+                        values[index] = value;
+                    }
+                    return previous;
+                }
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            values[index] = value;
+            size++;
+            if (LongHashing.exceedsLoad(size, keys.length)) {
+                rehash(keys.length << 1);
+            }
+            return null;
+        }
+
+        private Object delete(long key, long hash) {
+            int mask = keys.length - 1;
+            int index = (int) hash & mask;
+            while (values[index] != null) {
+                if (keys[index] == key) {
+                    Object previous = values[index];
+                    shiftBack(index, mask);
+                    size--;
+                    return previous;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        /**
+         * Remoção na sondagem linear: puxa para o buraco cada entrada seguinte
+         * cuja posição ideal não está entre o buraco e ela.
+         */
+        private void shiftBack(int hole, int mask) {
+            int index = hole;
+            while (true) {
+                index = (index + 1) & mask;
+                if (values[index] == null) {
+                    break;
+                }
+                int ideal = (int) LongHashing.mix(keys[index]) & mask;
+                boolean movable = hole <= index ? ideal <= hole || ideal > index : ideal <= hole && ideal > index;
+                if (movable) {
+                    keys[hole] = keys[index];
+                    values[hole] = values[index];
+                    hole = index;
+                }
+            }
+            keys[hole] = 0L;
+            values[hole] = null;
+        }
+
+        private void rehash(int capacity) {
+            long[] oldKeys = keys;
+            Object[] oldValues = values;
+            long[] newKeys = new long[capacity];
+            Object[] newValues = new Object[capacity];
+            int mask = capacity - 1;
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] != null) {
+                    int index = (int) LongHashing.mix(oldKeys[i]) & mask;
+                    while (newValues[index] != null) {
+                        index = (index + 1) & mask;
+                    }
+                    newKeys[index] = oldKeys[i];
+                    newValues[index] = oldValues[i];
+                }
+            }
+            keys = newKeys;
+            values = newValues;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.examble.drone_api.util;
+
+/**
+ * Espalhamento e dimensionamento comuns aos mapas de chave {@code long}.
+ */
+final class LongHashing {
+
+    static final int DEFAULT_SEGMENTS = 16;
+    static final int MIN_SEGMENT_CAPACITY = 4;
+
+    private LongHashing() {
+    }
+
+    /**
+     * Multiplicação pela razão áurea: ids sequenciais caem em posições
+     * distintas nos bits baixos (posição na tabela) e bem espalhadas nos
+     * bits altos (segmento).
+     */
+    static long mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+
+    static int segmentIndex(long hash, int segmentShift) {
+        return (int) (hash >>> segmentShift);
+    }
+
+    /**
+     * Capacidade inicial de cada segmento (potência de dois) para {@code expectedSize}
+     * entradas sem redimensionar, com fator de carga de 3/4.
+     */
+    static int segmentCapacity(int expectedSize, int segments) {
+        long perSegment = (Math.max(0L, expectedSize) + segments - 1) / segments;
+        long required = Math.max(MIN_SEGMENT_CAPACITY, perSegment * 4 / 3 + 1);
+        return (int) Math.min(1 << 30, Long.highestOneBit(required - 1) << 1);
+    }
+
+    static boolean exceedsLoad(int size, int capacity) {
+        return size * 4L > capacity * 3L;
+    }
+}
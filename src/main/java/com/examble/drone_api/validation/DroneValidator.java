@@ -16,9 +16,8 @@ public class DroneValidator {
         }
         
         // Verificar capacidade de peso
-        if (!drone.canCarry(order)) {
-            int totalWeight = drone.getTotalWeight();
-            int availableWeight = drone.getWeightLimit() - totalWeight;
+        int availableWeight = drone.getRemainingCapacity();
+        if (order.getWeight() > availableWeight) {
             result.addError(String.format("Peso do pedido (%d kg) excede capacidade disponível (%d kg)", 
                 order.getWeight(), availableWeight));
         }
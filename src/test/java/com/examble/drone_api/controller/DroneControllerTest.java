@@ -159,6 +159,39 @@ class DroneControllerTest {
         verify(droneService).findAll();
     }
 
+    @Test
+    void testGetAllDrones_ShouldReturnNearbyDrones_WhenNearAndRadiusProvided() throws Exception {
+        // Given
+        Drone drone = Drone.builder()
+                .id(3L)
+                .positionX(10)
+                .positionY(12)
+                .weightLimit(50)
+                .distancePerCargo(20)
+                .battery(100.0)
+                .state(DroneState.IDLE)
+                .build();
+
+        when(droneService.findAvailableNear(10, 10, 5.0)).thenReturn(List.of(drone));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/drones").param("near", "10,10").param("radius", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(3L));
+
+        verify(droneService, never()).findAll();
+    }
+
+    @Test
+    void testGetAllDrones_ShouldReturnBadRequest_WhenNearIsMalformed() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/drones").param("near", "10").param("radius", "5"))
+                .andExpect(status().isBadRequest());
+
+        verify(droneService, never()).findAvailableNear(anyInt(), anyInt(), anyDouble());
+    }
+
     @Test
     void testFlyDrones_ShouldReturnSuccess_WhenDronesHaveOrders() throws Exception {
         // Given
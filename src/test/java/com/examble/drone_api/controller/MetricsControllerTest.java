@@ -0,0 +1,77 @@
+package com.examble.drone_api.controller;
+
+import com.examble.drone_api.model.DroneMetrics;
+import com.examble.drone_api.model.LatencySummary;
+import com.examble.drone_api.service.interfaces.DroneMetricsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Optional;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class MetricsControllerTest {
+
+    @Mock
+    private DroneMetricsService metricsService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new MetricsController(metricsService))
+                .setControllerAdvice(new com.examble.drone_api.exception.GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void testGetFleetLatencies_ShouldReturnPercentiles() throws Exception {
+        // Given
+        when(metricsService.getTotalDeliveries()).thenReturn(10);
+        when(metricsService.getDeliveryTimePercentiles()).thenReturn(new LatencySummary(10, 2000, 4000, 7000, 7100));
+        when(metricsService.getFlightTimePercentiles()).thenReturn(new LatencySummary(4, 9000, 12000, 15000, 15000));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/metricas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deliveries").value(10))
+                .andExpect(jsonPath("$.deliveryTime.p50Ms").value(2000))
+                .andExpect(jsonPath("$.deliveryTime.p99Ms").value(7000))
+                .andExpect(jsonPath("$.deliveryTime.maxMs").value(7100))
+                .andExpect(jsonPath("$.flightTime.p90Ms").value(12000));
+    }
+
+    @Test
+    void testGetDroneLatencies_ShouldReturnDronePercentiles() throws Exception {
+        // Given
+        DroneMetrics metrics = new DroneMetrics();
+        metrics.recordDelivery(3000, 0L);
+        when(metricsService.getDroneMetrics(1L)).thenReturn(Optional.of(metrics));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/metricas/drones/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.droneId").value(1))
+                .andExpect(jsonPath("$.deliveries").value(1))
+                .andExpect(jsonPath("$.deliveryTime.maxMs").value(3000))
+                .andExpect(jsonPath("$.flightTime.count").value(0));
+    }
+
+    @Test
+    void testGetDroneLatencies_ShouldReturnNotFound_WhenDroneHasNoMetrics() throws Exception {
+        // Given
+        when(metricsService.getDroneMetrics(99L)).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/metricas/drones/99"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,70 @@
+package com.examble.drone_api.controller;
+
+import com.examble.drone_api.dto.OrderBatchItemDTO;
+import com.examble.drone_api.dto.OrderBatchResponseDTO;
+import com.examble.drone_api.service.interfaces.OrderBatchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderBatchControllerTest {
+
+    @Mock
+    private OrderBatchService orderBatchService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new OrderBatchController(orderBatchService))
+                .setControllerAdvice(new com.examble.drone_api.exception.GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void testPostOrders_ShouldReturnPerItemResults() throws Exception {
+        // Given
+        OrderBatchResponseDTO response = new OrderBatchResponseDTO(2, 1, 1, 1, List.of(
+                new OrderBatchItemDTO(0, 1L, null),
+                new OrderBatchItemDTO(1, null, Map.of("weight", "Peso não pode exceder 50 kg"))));
+        when(orderBatchService.importOrders(any(InputStream.class))).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/pedidos/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"destinationX\":5,\"destinationY\":5,\"weight\":10}\n"
+                                + "{\"destinationX\":5,\"destinationY\":5,\"weight\":60}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[1].errors.weight").value("Peso não pode exceder 50 kg"));
+    }
+
+    @Test
+    void testPostOrders_ShouldReturnBadRequest_WhenBodyIsNotAList() throws Exception {
+        // Given
+        when(orderBatchService.importOrders(any(InputStream.class)))
+                .thenThrow(new IllegalArgumentException("O lote deve ser um array JSON ou NDJSON de pedidos"));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/pedidos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("42"))
+                .andExpect(status().isBadRequest());
+    }
+}
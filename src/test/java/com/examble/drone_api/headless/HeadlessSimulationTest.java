@@ -0,0 +1,85 @@
+package com.examble.drone_api.headless;
+
+import com.examble.drone_api.config.SimulationClock;
+import com.examble.drone_api.config.SimulationProperties;
+import com.examble.drone_api.model.type.SimulationEngineMode;
+import com.examble.drone_api.repository.DroneRepositoryImpl;
+import com.examble.drone_api.repository.OrderRepositoryImpl;
+import com.examble.drone_api.service.DroneMetricsServiceImpl;
+import com.examble.drone_api.service.DroneServiceImpl;
+import com.examble.drone_api.service.DroneSimulationServiceImpl;
+import com.examble.drone_api.service.DroneStreamServiceImpl;
+import com.examble.drone_api.service.OrderAllocatorImpl;
+import com.examble.drone_api.service.RoutePlanner;
+import com.examble.drone_api.validation.DroneValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeadlessSimulationTest {
+
+    private HeadlessSimulation simulation;
+
+    @BeforeEach
+    void setUp() {
+        SimulationClock clock = new SimulationClock(Clock.fixed(Instant.parse("2025-01-01T10:00:00Z"), ZoneOffset.UTC), 0);
+        DroneRepositoryImpl droneRepository = new DroneRepositoryImpl();
+        OrderRepositoryImpl orderRepository = new OrderRepositoryImpl();
+        OrderAllocatorImpl orderAllocator = new OrderAllocatorImpl(orderRepository, droneRepository, new DroneValidator());
+        DroneSimulationServiceImpl simulationService = new DroneSimulationServiceImpl(droneRepository, orderRepository,
+                new DroneMetricsServiceImpl(clock), clock,
+                new SimulationProperties(SimulationEngineMode.EVENT_DRIVEN, 1000, 5, 10, 0),
+                new DroneStreamServiceImpl(new ObjectMapper(), Runnable::run, 64, 0), new RoutePlanner());
+
+        simulation = new HeadlessSimulation(new DroneServiceImpl(droneRepository), droneRepository,
+                orderRepository, orderAllocator, simulationService);
+    }
+
+    @Test
+    void testRun_ShouldDeliverWholeWorkloadInSimulatedTime() {
+        // Given
+        HeadlessScenario scenario = new HeadlessScenario(
+                List.of(new HeadlessScenario.FleetGroup(5, 50, 150)),
+                new HeadlessScenario.Workload(60, 20, 10, 10, 42L),
+                24 * 3600);
+
+        // When
+        HeadlessReport report = simulation.run(scenario);
+
+        // Then
+        assertEquals(60, report.orders());
+        assertEquals(60, report.deliveries());
+        assertEquals(0, report.unassignedOrders());
+        assertTrue(report.trips() > 0);
+        assertTrue(report.trips() <= 60);
+        assertTrue(report.simulatedSeconds() < 24 * 3600);
+        assertEquals(report.simulatedSeconds(), report.ticks());
+        assertTrue(report.allocationLatencyNanos().count() >= 60);
+        assertTrue(report.allocationLatencyNanos().p50() <= report.allocationLatencyNanos().max());
+    }
+
+    @Test
+    void testRun_ShouldStopAtScenarioDuration() {
+        // Given
+        HeadlessScenario scenario = new HeadlessScenario(
+                List.of(new HeadlessScenario.FleetGroup(1, 10, 150)),
+                new HeadlessScenario.Workload(500, 500, 10, 10, 7L),
+                60);
+
+        // When
+        HeadlessReport report = simulation.run(scenario);
+
+        // Then
+        assertEquals(60, report.simulatedSeconds());
+        assertEquals(60, report.ticks());
+        assertTrue(report.deliveries() < 500);
+        assertTrue(report.unassignedOrders() > 0);
+    }
+}
@@ -256,15 +256,14 @@ class DroneTest {
     @Test
     void testChangeState_ShouldUpdateStateAndTimestamp() {
         // Given
-        LocalDateTime beforeChange = LocalDateTime.now().minusSeconds(1);
+        LocalDateTime changedAt = LocalDateTime.of(2025, 1, 1, 12, 0);
 
         // When
-        drone.changeState(DroneState.IN_FLIGHT);
+        drone.changeState(DroneState.IN_FLIGHT, changedAt);
 
         // Then
         assertEquals(DroneState.IN_FLIGHT, drone.getState());
-        assertNotNull(drone.getLastStateChange());
-        assertTrue(drone.getLastStateChange().isAfter(beforeChange));
+        assertEquals(changedAt, drone.getLastStateChange());
     }
 
     @Test
@@ -303,4 +302,70 @@ class DroneTest {
         // When & Then
         assertFalse(drone.hasOrders());
     }
+
+    @Test
+    void testRunningTotals_ShouldFollowEveryListMutation() {
+        // Given
+        Order light = Order.builder().id(2L).weight(5).build();
+        Order heavy = Order.builder().id(3L).weight(30).build();
+
+        // When
+        drone.assignOrder(order);
+        drone.addCargo(light);
+        drone.getOrderList().add(0, heavy);
+
+        // Then
+        assertEquals(45, drone.getTotalWeight());
+        assertEquals(5, drone.getRemainingCapacity());
+        assertEquals(3, drone.getStopCount());
+
+        // When: entrega do primeiro, troca e remoção pelo iterador
+        drone.getOrderList().remove(0);
+        drone.getOrderList().set(0, heavy);
+        drone.getOrderList().removeIf(o -> o == light);
+
+        // Then
+        assertEquals(30, drone.getTotalWeight());
+        assertEquals(1, drone.getStopCount());
+
+        // When
+        drone.getOrderList().addAll(List.of(order, light));
+        drone.getOrderList().subList(0, 2).clear();
+
+        // Then
+        assertEquals(List.of(light), drone.getOrderList());
+        assertEquals(5, drone.getTotalWeight());
+
+        // When
+        drone.getOrderList().clear();
+
+        // Then
+        assertEquals(0, drone.getTotalWeight());
+        assertEquals(50, drone.getRemainingCapacity());
+    }
+
+    @Test
+    void testSetOrderList_ShouldCountInitialOrders() {
+        // Given
+        List<Order> orders = new ArrayList<>(List.of(order, Order.builder().weight(15).build()));
+
+        // When
+        drone.setOrderList(orders);
+
+        // Then
+        assertEquals(25, drone.getTotalWeight());
+        assertEquals(2, drone.getStopCount());
+        assertEquals(orders, drone.getOrderList());
+        assertFalse(drone.canCarry(Order.builder().weight(26).build()));
+    }
+
+    @Test
+    void testBuilder_ShouldStartWithEmptyCargo_WhenNoOrderListGiven() {
+        // When
+        Drone withoutList = Drone.builder().weightLimit(10).build();
+
+        // Then
+        assertFalse(withoutList.hasOrders());
+        assertEquals(10, withoutList.getRemainingCapacity());
+    }
 }
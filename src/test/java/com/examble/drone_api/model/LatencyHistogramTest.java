@@ -0,0 +1,120 @@
+package com.examble.drone_api.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testSummarize_ShouldReturnZeros_WhenEmpty() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram(5, 36);
+
+        // When
+        LatencySummary summary = histogram.summarize();
+
+        // Then
+        assertEquals(new LatencySummary(0, 0, 0, 0, 0), summary);
+    }
+
+    @Test
+    void testRecord_ShouldKeepSmallValuesExact() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram(3, 24);
+
+        // When
+        for (long value = 0; value < 16; value++) {
+            histogram.record(value);
+        }
+
+        // Then
+        assertEquals(7, histogram.valueAtPercentile(50));
+        assertEquals(15, histogram.getMax());
+        assertEquals(16, histogram.getCount());
+    }
+
+    @Test
+    void testSummarize_ShouldStayWithinRelativeError() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram(5, 36);
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value);
+        }
+
+        // When
+        LatencySummary summary = histogram.summarize();
+
+        // Then
+        assertEquals(100_000, summary.count());
+        assertEquals(50_000, summary.p50(), 50_000 / 32.0);
+        assertEquals(90_000, summary.p90(), 90_000 / 32.0);
+        assertEquals(99_000, summary.p99(), 99_000 / 32.0);
+        assertEquals(100_000, summary.max());
+    }
+
+    @Test
+    void testRecord_ShouldClampValuesAboveRange_AndKeepExactMax() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram(3, 10);
+
+        // When
+        histogram.record(1_000_000);
+
+        // Then
+        assertEquals(1_000_000, histogram.getMax());
+        assertEquals(1_000_000, histogram.valueAtPercentile(99));
+    }
+
+    @Test
+    void testRecord_ShouldCountAllValues_WhenCalledConcurrently() throws InterruptedException {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram(5, 36);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        for (int thread = 0; thread < 8; thread++) {
+            executor.submit(() -> {
+                for (int i = 1; i <= 10_000; i++) {
+                    histogram.record(i);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(80_000, histogram.getCount());
+        assertEquals(10_000, histogram.getMax());
+    }
+
+    @Test
+    void testReadFrom_ShouldRestoreWrittenHistogram() throws IOException {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram(5, 36);
+        for (long value = 1; value <= 5_000; value += 7) {
+            histogram.record(value * value);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        histogram.writeTo(new DataOutputStream(bytes));
+
+        // When
+        LatencyHistogram restored = new LatencyHistogram(5, 36);
+        restored.record(1);
+        restored.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // Then
+        assertEquals(histogram.summarize(), restored.summarize());
+        assertThrows(IOException.class, () -> new LatencyHistogram(3, 24)
+                .readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+    }
+}
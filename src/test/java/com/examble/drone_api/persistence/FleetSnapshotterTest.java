@@ -0,0 +1,199 @@
+package com.examble.drone_api.persistence;
+
+import com.examble.drone_api.config.SimulationProperties;
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.model.type.DroneState;
+import com.examble.drone_api.model.type.Priority;
+import com.examble.drone_api.model.type.SimulationEngineMode;
+import com.examble.drone_api.repository.DroneRepositoryImpl;
+import com.examble.drone_api.repository.OrderRepositoryImpl;
+import com.examble.drone_api.service.DroneMetricsServiceImpl;
+import com.examble.drone_api.service.interfaces.DroneSimulationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FleetSnapshotterTest {
+
+    private static final SimulationProperties PROPERTIES =
+            new SimulationProperties(SimulationEngineMode.EVENT_DRIVEN, 1000, 5, 10, 1.0);
+    private static final LocalDateTime TAKEOFF = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRestart_ShouldLoadSnapshotAndReplayOnlyTheTail() throws IOException {
+        // Given: snapshot no meio da sessão, com segmentos pequenos para que o log anterior seja apagado
+        try (Session session = new Session(512)) {
+            populate(session);
+            session.metricsService.recordDelivery(1L, 1_000L, 10L);
+
+            long lsn = session.snapshotter.takeSnapshot();
+            assertTrue(WriteAheadLog.segmentStart(session.wal.listSegments().get(0)) > 0);
+            assertTrue(WriteAheadLog.segmentStart(session.wal.listSegments().get(0)) <= lsn);
+            assertEquals(-1, session.snapshotter.takeSnapshot());
+
+            continueAfterSnapshot(session);
+        }
+
+        // When
+        DroneSimulationService simulationService = mock(DroneSimulationService.class);
+        try (Session session = new Session(512)) {
+            session.recovery(simulationService).afterSingletonsInstantiated();
+
+            // Then
+            assertRecovered(session, simulationService);
+            assertEquals(2, session.metricsService.getTotalDeliveries());
+            assertEquals(2, session.metricsService.getDroneMetrics(1L).orElseThrow().getDeliveries());
+            assertEquals(3_000, session.metricsService.getDeliveryTimePercentiles().max());
+        }
+    }
+
+    @Test
+    void testRecover_ShouldNotChangeState_WhenReplayingRecordsAlreadyInSnapshot() throws IOException {
+        // Given: snapshot tirado depois de todas as mudanças; o log anterior continua em disco
+        try (Session session = new Session(64 * 1024)) {
+            populate(session);
+            continueAfterSnapshot(session);
+            session.snapshotter.takeSnapshot();
+        }
+
+        // When: carrega o snapshot e lê o log inteiro sobre ele
+        DroneSimulationService simulationService = mock(DroneSimulationService.class);
+        try (Session session = new Session(64 * 1024)) {
+            long lsn = session.snapshotter.restoreLatest();
+            assertTrue(lsn > 0);
+            session.recovery(simulationService).recover(0L);
+
+            // Then
+            assertRecovered(session, simulationService);
+        }
+    }
+
+    @Test
+    void testRestart_ShouldLogUnassignment_OfOrderRestoredFromSnapshot() throws IOException {
+        // Given: o plano do drone 2 está só no snapshot
+        try (Session session = new Session(64 * 1024)) {
+            populate(session);
+            session.snapshotter.takeSnapshot();
+        }
+        try (Session session = new Session(64 * 1024)) {
+            session.recovery(mock(DroneSimulationService.class)).afterSingletonsInstantiated();
+
+            // When: o replanejamento tira o pedido do drone, que fica pendente
+            session.droneRepository.findById(2L).orElseThrow().getOrderList().clear();
+        }
+
+        // Then
+        try (Session session = new Session(64 * 1024)) {
+            session.recovery(mock(DroneSimulationService.class)).afterSingletonsInstantiated();
+            assertTrue(session.droneRepository.findById(2L).orElseThrow().getOrderList().isEmpty());
+            assertEquals(List.of(1L, 2L), ids(session.droneRepository.findById(1L).orElseThrow().getOrderList()));
+            assertTrue(session.orderRepository.findPending().stream().anyMatch(order -> order.getId() == 3L));
+        }
+    }
+
+    private static void populate(Session session) {
+        Drone first = session.droneRepository.save(createDrone());
+        Drone second = session.droneRepository.save(createDrone());
+        List<Order> orders = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            orders.add(Order.builder().destinationX(i).destinationY(i).weight(i % 5 + 1)
+                    .priority(Priority.values()[i % 3]).build());
+        }
+        session.orderRepository.saveAll(orders);
+        first.assignOrder(orders.get(0));
+        first.assignOrder(orders.get(1));
+        second.assignOrder(orders.get(2));
+    }
+
+    /**
+     * Decolagem do drone 1, entrega do pedido 1, um pedido novo para o drone 2.
+     */
+    private static void continueAfterSnapshot(Session session) {
+        Drone first = session.droneRepository.findById(1L).orElseThrow();
+        Drone second = session.droneRepository.findById(2L).orElseThrow();
+        Order delivered = session.orderRepository.findById(1L).orElseThrow();
+
+        first.changeState(DroneState.IN_FLIGHT, TAKEOFF);
+        session.orderRepository.markDispatched(first.getOrderList());
+        first.updatePosition(1, 1);
+        first.getOrderList().remove(delivered);
+        session.orderRepository.markDelivered(delivered);
+        session.metricsService.recordDelivery(1L, 3_000L, 20L);
+        second.assignOrder(session.orderRepository.save(
+                Order.builder().destinationX(4).destinationY(4).weight(2).build()));
+    }
+
+    private static void assertRecovered(Session session, DroneSimulationService simulationService) {
+        Drone first = session.droneRepository.findById(1L).orElseThrow();
+        Drone second = session.droneRepository.findById(2L).orElseThrow();
+        assertEquals(DroneState.IN_FLIGHT, first.getState());
+        assertEquals(TAKEOFF, first.getLastStateChange());
+        assertEquals(List.of(2L), ids(first.getOrderList()));
+        assertEquals(DroneState.IDLE, second.getState());
+        assertEquals(List.of(3L, 21L), ids(second.getOrderList()));
+
+        assertEquals(List.of(1L), ids(session.orderRepository.findDelivered()));
+        assertEquals(LongStream.rangeClosed(3, 21).boxed().toList(),
+                session.orderRepository.findPending().stream().map(Order::getId).sorted().toList());
+        assertEquals(21, session.orderRepository.findAll().size());
+        verify(simulationService).resumeDrone(first);
+        verify(simulationService, never()).resumeDrone(second);
+    }
+
+    private static List<Long> ids(List<Order> orders) {
+        return orders.stream().map(Order::getId).toList();
+    }
+
+    private static Drone createDrone() {
+        return Drone.builder()
+                .weightLimit(50)
+                .distancePerCargo(100)
+                .battery(100.0)
+                .state(DroneState.IDLE)
+                .orderList(new ArrayList<>())
+                .build();
+    }
+
+    private class Session implements AutoCloseable {
+        private final WriteAheadLog wal;
+        private final StateJournal journal;
+        private final DroneRepositoryImpl droneRepository;
+        private final OrderRepositoryImpl orderRepository;
+        private final DroneMetricsServiceImpl metricsService;
+        private final FleetSnapshotter snapshotter;
+
+        private Session(int segmentSize) throws IOException {
+            wal = new WriteAheadLog(directory.resolve("wal"), segmentSize, true);
+            journal = new StateJournal(wal);
+            droneRepository = new DroneRepositoryImpl(journal);
+            orderRepository = new OrderRepositoryImpl(journal);
+            metricsService = new DroneMetricsServiceImpl(Clock.systemUTC(), journal);
+            snapshotter = new FleetSnapshotter(new SnapshotStore(directory.resolve("snapshots")), wal,
+                    droneRepository, orderRepository, metricsService, 0);
+        }
+
+        private WalRecovery recovery(DroneSimulationService simulationService) {
+            return new WalRecovery(journal, droneRepository, orderRepository, metricsService, simulationService,
+                    PROPERTIES, snapshotter);
+        }
+
+        @Override
+        public void close() throws IOException {
+            wal.close();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.examble.drone_api.persistence;
+
+import com.examble.drone_api.config.SimulationProperties;
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.model.type.DroneState;
+import com.examble.drone_api.model.type.Priority;
+import com.examble.drone_api.model.type.SimulationEngineMode;
+import com.examble.drone_api.repository.DroneRepositoryImpl;
+import com.examble.drone_api.repository.OrderRepositoryImpl;
+import com.examble.drone_api.service.DroneMetricsServiceImpl;
+import com.examble.drone_api.service.interfaces.DroneSimulationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WalRecoveryTest {
+
+    private static final SimulationProperties PROPERTIES =
+            new SimulationProperties(SimulationEngineMode.EVENT_DRIVEN, 1000, 5, 10, 1.0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRecover_ShouldRebuildDronesOrdersAndMetrics() throws IOException {
+        // Given: um drone em voo com um pedido já entregue, um drone parado com carga e um pedido pendente
+        LocalDateTime takeoff = LocalDateTime.of(2025, 1, 1, 12, 0);
+        try (WriteAheadLog wal = new WriteAheadLog(directory, 64 * 1024, true)) {
+            StateJournal journal = new StateJournal(wal);
+            DroneRepositoryImpl droneRepository = new DroneRepositoryImpl(journal);
+            OrderRepositoryImpl orderRepository = new OrderRepositoryImpl(journal);
+            DroneMetricsServiceImpl metricsService = new DroneMetricsServiceImpl(Clock.systemUTC(), journal);
+
+            Drone flying = droneRepository.save(createDrone());
+            Drone parked = droneRepository.save(createDrone());
+            List<Order> orders = orderRepository.saveAll(List.of(
+                    createOrder(2, 2, Priority.HIGH), createOrder(5, 5, Priority.LOW),
+                    createOrder(8, 8, Priority.MEDIUM), createOrder(9, 9, Priority.LOW)));
+
+            // Replanejamento: pedido 3 passa do drone em voo para o parado antes da decolagem
+            flying.assignOrder(orders.get(0));
+            flying.assignOrder(orders.get(2));
+            flying.getOrderList().remove(orders.get(2));
+            parked.assignOrder(orders.get(2));
+            flying.assignOrder(orders.get(1));
+
+            flying.changeState(DroneState.IN_FLIGHT, takeoff);
+            orderRepository.markDispatched(flying.getOrderList());
+            flying.updatePosition(2, 2);
+            flying.changeState(DroneState.DELIVERING, takeoff.plusSeconds(3));
+            flying.getOrderList().remove(orders.get(0));
+            orderRepository.markDelivered(orders.get(0));
+            metricsService.recordDelivery(flying.getId(), 3_000L, 42L);
+        }
+
+        // When
+        DroneSimulationService simulationService = mock(DroneSimulationService.class);
+        DroneRepositoryImpl droneRepository;
+        OrderRepositoryImpl orderRepository;
+        DroneMetricsServiceImpl metricsService;
+        try (WriteAheadLog wal = new WriteAheadLog(directory, 64 * 1024, true)) {
+            StateJournal journal = new StateJournal(wal);
+            droneRepository = new DroneRepositoryImpl(journal);
+            orderRepository = new OrderRepositoryImpl(journal);
+            metricsService = new DroneMetricsServiceImpl(Clock.systemUTC(), journal);
+            long appended = wal.getAppendedLsn();
+
+            new WalRecovery(journal, droneRepository, orderRepository, metricsService, simulationService, PROPERTIES)
+                    .recover(0L);
+
+            // A própria leitura não grava no log
+            assertEquals(appended, wal.getAppendedLsn());
+        }
+
+        // Then
+        Drone flying = droneRepository.findById(1L).orElseThrow();
+        Drone parked = droneRepository.findById(2L).orElseThrow();
+        assertEquals(DroneState.DELIVERING, flying.getState());
+        assertEquals(2, flying.getPositionX());
+        assertEquals(2, flying.getPositionY());
+        assertEquals(takeoff.plusSeconds(3), flying.getLastStateChange());
+        assertEquals(takeoff.plusSeconds(8), flying.getEstimatedArrivalTime());
+        assertEquals(List.of(5), weights(flying.getOrderList()));
+        assertEquals(DroneState.IDLE, parked.getState());
+        assertEquals(List.of(8), weights(parked.getOrderList()));
+
+        assertTrue(orderRepository.findById(1L).orElseThrow().isDelivered());
+        assertEquals(List.of(1L), orderRepository.findDelivered().stream().map(Order::getId).toList());
+        assertEquals(List.of(3L, 4L), orderRepository.findPending().stream().map(Order::getId).toList());
+        assertEquals(1, metricsService.getTotalDeliveries());
+        assertEquals(1, metricsService.getDroneMetrics(1L).orElseThrow().getDeliveries());
+
+        verify(simulationService).resumeDrone(flying);
+        verify(simulationService, never()).resumeDrone(parked);
+        assertEquals(3L, droneRepository.save(createDrone()).getId());
+        assertEquals(5L, orderRepository.save(createOrder(1, 1, Priority.LOW)).getId());
+    }
+
+    @Test
+    void testRecover_ShouldNotReturnReplannedOrderToPreviousDrone() throws IOException {
+        // Given: o replanejamento tira o pedido 1 do drone na base, que recebe outro até o limite
+        try (WriteAheadLog wal = new WriteAheadLog(directory, 64 * 1024, true)) {
+            StateJournal journal = new StateJournal(wal);
+            DroneRepositoryImpl droneRepository = new DroneRepositoryImpl(journal);
+            OrderRepositoryImpl orderRepository = new OrderRepositoryImpl(journal);
+
+            Drone drone = droneRepository.save(createDrone());
+            List<Order> orders = orderRepository.saveAll(List.of(
+                    createOrder(20, 20, Priority.LOW), createOrder(25, 25, Priority.HIGH)));
+            drone.assignOrder(orders.get(0));
+            drone.getOrderList().clear();
+            drone.assignOrder(orders.get(1));
+        }
+
+        // When
+        DroneRepositoryImpl droneRepository;
+        OrderRepositoryImpl orderRepository;
+        try (WriteAheadLog wal = new WriteAheadLog(directory, 64 * 1024, true)) {
+            StateJournal journal = new StateJournal(wal);
+            droneRepository = new DroneRepositoryImpl(journal);
+            orderRepository = new OrderRepositoryImpl(journal);
+            new WalRecovery(journal, droneRepository, orderRepository,
+                    new DroneMetricsServiceImpl(Clock.systemUTC(), journal), mock(DroneSimulationService.class),
+                    PROPERTIES).recover(0L);
+        }
+
+        // Then
+        Drone drone = droneRepository.findById(1L).orElseThrow();
+        assertEquals(List.of(25), weights(drone.getOrderList()));
+        assertTrue(drone.getTotalWeight() <= drone.getWeightLimit());
+        assertEquals(2, orderRepository.findPending().size());
+    }
+
+    private static List<Integer> weights(List<Order> orders) {
+        return orders.stream().map(Order::getWeight).toList();
+    }
+
+    private static Drone createDrone() {
+        return Drone.builder()
+                .weightLimit(30)
+                .distancePerCargo(100)
+                .battery(100.0)
+                .state(DroneState.IDLE)
+                .orderList(new ArrayList<>())
+                .build();
+    }
+
+    private static Order createOrder(int x, int y, Priority priority) {
+        return Order.builder()
+                .destinationX(x)
+                .destinationY(y)
+                .weight(x)
+                .priority(priority)
+                .build();
+    }
+}
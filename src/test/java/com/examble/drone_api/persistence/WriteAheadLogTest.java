@@ -0,0 +1,226 @@
+package com.examble.drone_api.persistence;
+
+import com.examble.drone_api.model.type.DroneState;
+import com.examble.drone_api.model.type.Priority;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteAheadLogTest {
+
+    private static final int SEGMENT_SIZE = 64 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testReplay_ShouldReturnRecordsInOrder_AfterReopening() throws IOException {
+        // Given
+        try (WriteAheadLog wal = new WriteAheadLog(directory, SEGMENT_SIZE, true)) {
+            wal.appendDroneCreated(1L, 10, 50, 0, 0, 100.0, DroneState.IDLE);
+            wal.appendOrderCreated(7L, 3, 4, 5, Priority.HIGH, false);
+            wal.appendOrderAssigned(7L, 1L);
+            wal.appendOrderUnassigned(7L, 1L);
+            wal.appendOrderAssigned(7L, 1L);
+            wal.appendDroneStateChanged(1L, DroneState.IN_FLIGHT, 0, 0, 99.5, 1_000L);
+            wal.appendOrderDelivered(7L);
+            wal.appendDeliveryRecorded(1L, 1_500L, 2_000L);
+            wal.sync(wal.appendFlightTimeRecorded(1L, 3_000L));
+        }
+
+        // When
+        RecordingHandler handler = new RecordingHandler();
+        long end;
+        try (WriteAheadLog wal = new WriteAheadLog(directory, SEGMENT_SIZE, true)) {
+            end = wal.replay(0L, handler);
+            assertEquals(end, wal.getAppendedLsn());
+        }
+
+        // Then
+        assertEquals(List.of(
+                "drone 1 10 50 0 0 100.0 IDLE",
+                "order 7 3 4 5 HIGH false",
+                "assign 7 1",
+                "unassign 7 1",
+                "assign 7 1",
+                "state 1 IN_FLIGHT 0 0 99.5 1000",
+                "delivered 7",
+                "delivery 1 1500 2000",
+                "flight 1 3000"), handler.records);
+    }
+
+    @Test
+    void testOpen_ShouldDiscardTornRecord_AndContinueAfterLastValidRecord() throws IOException {
+        // Given: um registro cortado após os registros íntegros
+        long validEnd;
+        try (WriteAheadLog wal = new WriteAheadLog(directory, SEGMENT_SIZE, true)) {
+            wal.appendOrderCreated(1L, 1, 1, 1, Priority.LOW, false);
+            validEnd = wal.appendOrderCreated(2L, 2, 2, 2, Priority.LOW, false);
+        }
+        try (FileChannel channel = FileChannel.open(wal0(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x12, 0x34, 0x56, 0x78, 2, 9, 9}), validEnd);
+        }
+
+        // When
+        RecordingHandler handler = new RecordingHandler();
+        try (WriteAheadLog wal = new WriteAheadLog(directory, SEGMENT_SIZE, true)) {
+            assertEquals(validEnd, wal.getAppendedLsn());
+            wal.sync(wal.appendOrderDelivered(2L));
+        }
+        try (WriteAheadLog wal = new WriteAheadLog(directory, SEGMENT_SIZE, true)) {
+            wal.replay(0L, handler);
+        }
+
+        // Then
+        assertEquals(List.of("order 1 1 1 1 LOW false", "order 2 2 2 2 LOW false", "delivered 2"),
+                handler.records);
+    }
+
+    @Test
+    void testAppend_ShouldRollSegments_AndReplayFromAnyPosition() throws IOException {
+        // Given: segmentos pequenos
+        List<Long> positions = new ArrayList<>();
+        try (WriteAheadLog wal = new WriteAheadLog(directory, 256, true)) {
+            positions.add(wal.getAppendedLsn());
+            for (long orderId = 1; orderId <= 100; orderId++) {
+                positions.add(wal.appendOrderAssigned(orderId, orderId % 7));
+            }
+            assertTrue(wal.listSegments().size() > 1);
+        }
+
+        // When
+        RecordingHandler all = new RecordingHandler();
+        RecordingHandler tail = new RecordingHandler();
+        try (WriteAheadLog wal = new WriteAheadLog(directory, 256, true)) {
+            assertEquals(positions.get(100), wal.replay(0L, all));
+            wal.replay(positions.get(60), tail);
+        }
+
+        // Then
+        assertEquals(100, all.records.size());
+        assertEquals("assign 1 1", all.records.get(0));
+        assertEquals("assign 100 2", all.records.get(99));
+        assertEquals(all.records.subList(60, 100), tail.records);
+    }
+
+    @Test
+    void testDeleteSegmentsBefore_ShouldKeepSegmentsFromPosition() throws IOException {
+        // Given
+        List<Long> positions = new ArrayList<>();
+        try (WriteAheadLog wal = new WriteAheadLog(directory, 256, true)) {
+            for (long orderId = 1; orderId <= 100; orderId++) {
+                positions.add(wal.appendOrderDelivered(orderId));
+            }
+            int segments = wal.listSegments().size();
+
+            // When
+            int deleted = wal.deleteSegmentsBefore(positions.get(69));
+
+            // Then: a leitura a partir da posição continua completa
+            assertTrue(deleted > 0);
+            assertEquals(segments - deleted, wal.listSegments().size());
+            RecordingHandler handler = new RecordingHandler();
+            wal.replay(positions.get(69), handler);
+            assertEquals(30, handler.records.size());
+            assertEquals("delivered 71", handler.records.get(0));
+            // O segmento em escrita fica
+            wal.deleteSegmentsBefore(Long.MAX_VALUE);
+            assertEquals(1, wal.listSegments().size());
+        }
+    }
+
+    @Test
+    void testSync_ShouldShareForces_WhenCommittingConcurrently() throws Exception {
+        // Given
+        int threads = 8;
+        int commitsPerThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When
+        try (WriteAheadLog wal = new WriteAheadLog(directory, SEGMENT_SIZE, true)) {
+            for (int thread = 0; thread < threads; thread++) {
+                long droneId = thread;
+                executor.submit(() -> {
+                    for (int i = 0; i < commitsPerThread; i++) {
+                        wal.sync(wal.appendFlightTimeRecorded(droneId, i));
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+            // Then
+            assertTrue(wal.getForceCount() <= threads * commitsPerThread);
+            RecordingHandler handler = new RecordingHandler();
+            wal.replay(0L, handler);
+            assertEquals(threads * commitsPerThread, handler.records.size());
+        }
+    }
+
+    private Path wal0() {
+        return directory.resolve(String.format("wal-%020d.log", 0L));
+    }
+
+    private static class RecordingHandler implements WalRecordHandler {
+        private final List<String> records = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void droneCreated(long droneId, int weightLimit, int distancePerCargo, int positionX, int positionY,
+                                 double battery, DroneState state) {
+            records.add("drone " + droneId + " " + weightLimit + " " + distancePerCargo + " " + positionX + " "
+                    + positionY + " " + battery + " " + state);
+        }
+
+        @Override
+        public void orderCreated(long orderId, int destinationX, int destinationY, int weight, Priority priority,
+                                 boolean delivered) {
+            records.add("order " + orderId + " " + destinationX + " " + destinationY + " " + weight + " "
+                    + priority + " " + delivered);
+        }
+
+        @Override
+        public void orderAssigned(long orderId, long droneId) {
+            records.add("assign " + orderId + " " + droneId);
+        }
+
+        @Override
+        public void droneStateChanged(long droneId, DroneState state, int positionX, int positionY, double battery,
+                                      long changedAtMillis) {
+            records.add("state " + droneId + " " + state + " " + positionX + " " + positionY + " " + battery + " "
+                    + changedAtMillis);
+        }
+
+        @Override
+        public void orderDelivered(long orderId) {
+            records.add("delivered " + orderId);
+        }
+
+        @Override
+        public void deliveryRecorded(long droneId, long deliveryTimeMs, long deliveredAtMillis) {
+            records.add("delivery " + droneId + " " + deliveryTimeMs + " " + deliveredAtMillis);
+        }
+
+        @Override
+        public void flightTimeRecorded(long droneId, long flightTimeMs) {
+            records.add("flight " + droneId + " " + flightTimeMs);
+        }
+
+        @Override
+        public void orderUnassigned(long orderId, long droneId) {
+            records.add("unassign " + orderId + " " + droneId);
+        }
+    }
+}
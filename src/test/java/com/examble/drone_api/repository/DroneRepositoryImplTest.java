@@ -0,0 +1,232 @@
+package com.examble.drone_api.repository;
+
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.model.type.DroneState;
+import com.examble.drone_api.model.type.Priority;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DroneRepositoryImplTest {
+
+    private DroneRepositoryImpl droneRepository;
+
+    @BeforeEach
+    void setUp() {
+        droneRepository = new DroneRepositoryImpl();
+    }
+
+    @Test
+    void testSave_ShouldAssignSequentialIds() {
+        // When
+        Drone drone1 = droneRepository.save(createDrone(DroneState.IDLE));
+        Drone drone2 = droneRepository.save(createDrone(DroneState.IDLE));
+
+        // Then
+        assertEquals(1L, drone1.getId());
+        assertEquals(2L, drone2.getId());
+        assertEquals(List.of(drone1, drone2), droneRepository.findAll());
+    }
+
+    @Test
+    void testFindById_ShouldReturnSavedDrone() {
+        // Given
+        Drone drone = droneRepository.save(createDrone(DroneState.IDLE));
+
+        // When & Then
+        assertSame(drone, droneRepository.findById(drone.getId()).orElseThrow());
+        assertTrue(droneRepository.findById(99L).isEmpty());
+        assertTrue(droneRepository.findById(null).isEmpty());
+    }
+
+    @Test
+    void testFindByDroneState_ShouldFollowStateChanges() {
+        // Given
+        Drone drone1 = droneRepository.save(createDrone(DroneState.IDLE));
+        Drone drone2 = droneRepository.save(createDrone(DroneState.IDLE));
+
+        // When
+        drone1.changeState(DroneState.IN_FLIGHT, LocalDateTime.now());
+
+        // Then
+        assertEquals(List.of(drone2), droneRepository.findByDroneState(DroneState.IDLE));
+        assertEquals(List.of(drone1), droneRepository.findByDroneState(DroneState.IN_FLIGHT));
+
+        // When
+        drone1.setState(DroneState.IDLE);
+
+        // Then
+        assertEquals(List.of(drone1, drone2), droneRepository.findByDroneState(DroneState.IDLE));
+        assertTrue(droneRepository.findByDroneState(DroneState.IN_FLIGHT).isEmpty());
+    }
+
+    @Test
+    void testFindAvailableNear_ShouldReturnDronesWithinRadiusSortedByDistance() {
+        // Given
+        Drone atBase = droneRepository.save(createDrone(DroneState.IDLE));
+        Drone nearby = droneRepository.save(createDrone(DroneState.IDLE));
+        Drone far = droneRepository.save(createDrone(DroneState.IDLE));
+        Drone busy = droneRepository.save(createDrone(DroneState.IN_FLIGHT));
+        nearby.updatePosition(12, 12);
+        far.updatePosition(80, 80);
+        busy.updatePosition(11, 11);
+
+        // When
+        List<Drone> result = droneRepository.findAvailableNear(10, 10, 15);
+
+        // Then
+        assertEquals(List.of(nearby, atBase), result);
+    }
+
+    @Test
+    void testFindAvailableNear_ShouldTrackPositionChanges() {
+        // Given
+        Drone drone = droneRepository.save(createDrone(DroneState.IDLE));
+
+        // When
+        drone.updatePosition(50, 50);
+
+        // Then
+        assertTrue(droneRepository.findAvailableNear(1, 1, 5).isEmpty());
+        assertEquals(List.of(drone), droneRepository.findAvailableNear(52, 48, 3));
+    }
+
+    @Test
+    void testFindSmallestAvailable_ShouldReturnTightestDroneWithEnoughCapacityAndRange() {
+        // Given
+        Drone large = droneRepository.save(createDrone(DroneState.IDLE, 50, 20));
+        Drone small = droneRepository.save(createDrone(DroneState.IDLE, 10, 20));
+        Drone shortRange = droneRepository.save(createDrone(DroneState.IDLE, 9, 5));
+
+        // When & Then
+        assertSame(small, droneRepository.findSmallestAvailable(8, 10, false, drone -> true).orElseThrow());
+        assertSame(shortRange, droneRepository.findSmallestAvailable(8, 4.5, false, drone -> true).orElseThrow());
+        assertSame(large, droneRepository.findSmallestAvailable(11, 10, false, drone -> true).orElseThrow());
+        assertTrue(droneRepository.findSmallestAvailable(51, 10, false, drone -> true).isEmpty());
+        assertTrue(droneRepository.findSmallestAvailable(8, 21, false, drone -> true).isEmpty());
+    }
+
+    @Test
+    void testFindSmallestAvailable_ShouldFollowCargoAndStateChanges() {
+        // Given
+        Drone first = droneRepository.save(createDrone(DroneState.IDLE, 50, 20));
+        Drone second = droneRepository.save(createDrone(DroneState.IDLE, 50, 20));
+
+        // When
+        first.assignOrder(new Order(1L, 5, 5, 30, Priority.HIGH, false));
+
+        // Then: o drone carregado agora é o mais justo para até 20kg
+        assertSame(first, droneRepository.findSmallestAvailable(20, 10, false, drone -> true).orElseThrow());
+        assertSame(first, droneRepository.findSmallestAvailable(20, 10, true, drone -> true).orElseThrow());
+        assertSame(second, droneRepository.findSmallestAvailable(21, 10, false, drone -> true).orElseThrow());
+        assertTrue(droneRepository.findSmallestAvailable(21, 10, true, drone -> true).isEmpty());
+
+        // When
+        first.changeState(DroneState.IN_FLIGHT, LocalDateTime.now());
+
+        // Then
+        assertSame(second, droneRepository.findSmallestAvailable(20, 10, false, drone -> true).orElseThrow());
+
+        // When
+        first.getOrderList().clear();
+        first.setState(DroneState.IDLE);
+
+        // Then: de volta vazio, empata com o segundo e vence pelo id
+        assertSame(first, droneRepository.findSmallestAvailable(50, 10, false, drone -> true).orElseThrow());
+        assertTrue(droneRepository.findSmallestAvailable(1, 10, true, drone -> true).isEmpty());
+    }
+
+    @Test
+    void testFindAvailableReaching_ShouldReturnIdleDronesCoveringDestination() {
+        // Given
+        Drone shortRange = droneRepository.save(createDrone(DroneState.IDLE, 50, 10));
+        Drone longRange = droneRepository.save(createDrone(DroneState.IDLE, 50, 150));
+        Drone busy = droneRepository.save(createDrone(DroneState.IN_FLIGHT, 50, 150));
+
+        // When & Then: (7,9) está a 10 da base, (8,9) a pouco mais de 10
+        assertEquals(List.of(shortRange, longRange), droneRepository.findAvailableReaching(7, 9));
+        assertEquals(List.of(longRange), droneRepository.findAvailableReaching(8, 9));
+        assertEquals(List.of(longRange), droneRepository.findAvailableReaching(100, 100));
+
+        // When
+        longRange.changeState(DroneState.IN_FLIGHT, LocalDateTime.now());
+        busy.setState(DroneState.IDLE);
+
+        // Then
+        assertEquals(List.of(busy), droneRepository.findAvailableReaching(100, 100));
+    }
+
+    @Test
+    void testFindAvailableReaching_ShouldSkipIdleDronesAwayFromBase() {
+        // Given
+        Drone away = droneRepository.save(createDrone(DroneState.IDLE, 50, 150));
+        away.setPositionX(40);
+
+        // When & Then: o alcance é medido a partir da base, onde o drone recebe pedidos
+        assertTrue(droneRepository.findAvailableReaching(7, 9).isEmpty());
+
+        // When
+        away.setPositionX(1);
+
+        // Then
+        assertEquals(List.of(away), droneRepository.findAvailableReaching(7, 9));
+    }
+
+    @Test
+    void testIsReachable_ShouldConsiderWholeFleet() {
+        // Given
+        assertFalse(droneRepository.isReachable(1, 1));
+        droneRepository.save(createDrone(DroneState.IN_FLIGHT, 50, 10));
+
+        // When & Then
+        assertTrue(droneRepository.isReachable(1, 1));
+        assertTrue(droneRepository.isReachable(7, 9));
+        assertFalse(droneRepository.isReachable(8, 9));
+    }
+
+    @Test
+    void testSave_ShouldGenerateUniqueIds_WhenCalledConcurrently() throws InterruptedException {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            executor.submit(() -> ids.add(droneRepository.save(createDrone(DroneState.IDLE)).getId()));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(1000, ids.size());
+        assertEquals(1000, droneRepository.findAll().size());
+        assertEquals(1000, droneRepository.findByDroneState(DroneState.IDLE).size());
+    }
+
+    private Drone createDrone(DroneState state) {
+        return createDrone(state, 50, 20);
+    }
+
+    private Drone createDrone(DroneState state, int weightLimit, int distancePerCargo) {
+        return Drone.builder()
+                .positionX(1)
+                .positionY(1)
+                .weightLimit(weightLimit)
+                .distancePerCargo(distancePerCargo)
+                .battery(100.0)
+                .state(state)
+                .orderList(new ArrayList<>())
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.examble.drone_api.repository;
+
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.model.type.Priority;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderRepositoryImplTest {
+
+    private OrderRepositoryImpl orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = new OrderRepositoryImpl();
+    }
+
+    @Test
+    void testFindPending_ShouldOrderByPriorityThenArrival() {
+        // Given
+        Order low = orderRepository.save(createOrder(Priority.LOW));
+        Order high1 = orderRepository.save(createOrder(Priority.HIGH));
+        Order medium = orderRepository.save(createOrder(Priority.MEDIUM));
+        Order high2 = orderRepository.save(createOrder(Priority.HIGH));
+
+        // When
+        List<Order> pending = orderRepository.findPending();
+
+        // Then
+        assertEquals(List.of(high1, high2, medium, low), pending);
+    }
+
+    @Test
+    void testMarkDelivered_ShouldMoveOrderOutOfPending() {
+        // Given
+        Order order1 = orderRepository.save(createOrder(Priority.HIGH));
+        Order order2 = orderRepository.save(createOrder(Priority.LOW));
+
+        // When
+        orderRepository.markDelivered(order1);
+
+        // Then
+        assertTrue(order1.isDelivered());
+        assertEquals(List.of(order2), orderRepository.findPending());
+        assertEquals(List.of(order1), orderRepository.findDelivered());
+        assertEquals(List.of(order1, order2), orderRepository.findAll());
+    }
+
+    @Test
+    void testMarkDispatched_ShouldRemoveOrdersFromPending() {
+        // Given
+        Order order1 = orderRepository.save(createOrder(Priority.HIGH));
+        Order order2 = orderRepository.save(createOrder(Priority.MEDIUM));
+
+        // When
+        orderRepository.markDispatched(List.of(order1));
+
+        // Then
+        assertEquals(List.of(order2), orderRepository.findPending());
+        assertTrue(orderRepository.findDelivered().isEmpty());
+    }
+
+    @Test
+    void testSaveAll_ShouldAssignConsecutiveIdsAndQueuePending() {
+        // Given
+        Order first = orderRepository.save(createOrder(Priority.LOW));
+        Order low = createOrder(Priority.LOW);
+        Order high = createOrder(Priority.HIGH);
+
+        // When
+        orderRepository.saveAll(List.of(low, high));
+
+        // Then
+        assertEquals(2L, low.getId());
+        assertEquals(3L, high.getId());
+        assertSame(high, orderRepository.findById(3L).orElseThrow());
+        assertEquals(List.of(high, first, low), orderRepository.findPending());
+        assertEquals(List.of(first, low, high), orderRepository.findAll());
+    }
+
+    private Order createOrder(Priority priority) {
+        return Order.builder()
+                .destinationX(5)
+                .destinationY(5)
+                .weight(10)
+                .priority(priority)
+                .build();
+    }
+}
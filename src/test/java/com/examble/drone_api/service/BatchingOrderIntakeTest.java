@@ -0,0 +1,173 @@
+package com.examble.drone_api.service;
+
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.model.type.Priority;
+import com.examble.drone_api.service.interfaces.OrderAllocator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchingOrderIntakeTest {
+
+    private final RecordingAllocator allocator = new RecordingAllocator();
+    private BatchingOrderIntake intake;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (intake != null) {
+            intake.stop();
+        }
+    }
+
+    @Test
+    void testSubmit_ShouldAllocateBurstInFewBatches() throws Exception {
+        // Given
+        intake = new BatchingOrderIntake(allocator, 50, 500, 1000);
+        intake.start();
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<Optional<Drone>>> results = new CopyOnWriteArrayList<>();
+        List<Order> orders = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            orders.add(new Order(id, 5, 5, 10, Priority.MEDIUM, false));
+        }
+
+        // When
+        for (Order order : orders) {
+            clients.submit(() -> results.add(intake.submit(order)));
+        }
+        clients.shutdown();
+        assertTrue(clients.awaitTermination(5, TimeUnit.SECONDS));
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        // Then: cada pedido recebe o próprio resultado, em bem menos chamadas ao alocador
+        for (CompletableFuture<Optional<Drone>> result : results) {
+            assertTrue(result.get().isPresent());
+        }
+        assertEquals(500, allocator.allocated.size());
+        assertTrue(allocator.batches.size() < 50);
+    }
+
+    @Test
+    void testSubmit_ShouldCompleteEachFutureWithItsOwnAssignment() throws Exception {
+        // Given
+        intake = new BatchingOrderIntake(allocator, 20, 500, 1000);
+        intake.start();
+        Order first = new Order(1L, 5, 5, 10, Priority.LOW, false);
+        Order second = new Order(2L, 5, 5, 10, Priority.HIGH, false);
+
+        // When
+        CompletableFuture<Optional<Drone>> firstResult = intake.submit(first);
+        CompletableFuture<Optional<Drone>> secondResult = intake.submit(second);
+
+        // Then
+        assertEquals(1L, firstResult.get(5, TimeUnit.SECONDS).orElseThrow().getId());
+        assertEquals(2L, secondResult.get(5, TimeUnit.SECONDS).orElseThrow().getId());
+        // HIGH é alocado antes, mesmo tendo chegado depois
+        assertEquals(List.of(second, first), allocator.allocated);
+    }
+
+    @Test
+    void testSubmit_ShouldAllocateOnCallerThread_WhenNotRunning() {
+        // Given
+        intake = new BatchingOrderIntake(allocator, 50, 500, 1);
+        Order order = new Order(1L, 5, 5, 10, Priority.HIGH, false);
+
+        // When
+        CompletableFuture<Optional<Drone>> result = intake.submit(order);
+
+        // Then
+        assertTrue(result.isDone());
+        assertEquals(List.of(order), allocator.allocated);
+        assertTrue(allocator.batches.isEmpty());
+    }
+
+    @Test
+    void testSubmit_ShouldAllocateOnCallerThread_WhenStoppedBetweenCheckAndEnqueue() throws Exception {
+        // Given: a parada roda (e esvazia a fila) logo antes de o pedido entrar nela
+        List<BatchingOrderIntake> stopping = new ArrayList<>();
+        ArrayBlockingQueue<BatchingOrderIntake.PendingOrder> queue = new ArrayBlockingQueue<>(1000) {
+            @Override
+            public boolean offer(BatchingOrderIntake.PendingOrder pending) {
+                try {
+                    stopping.get(0).stop();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return super.offer(pending);
+            }
+        };
+        intake = new BatchingOrderIntake(allocator, 50, 500, queue);
+        stopping.add(intake);
+        intake.start();
+        Order order = new Order(1L, 5, 5, 10, Priority.HIGH, false);
+
+        // When
+        CompletableFuture<Optional<Drone>> result = intake.submit(order);
+
+        // Then
+        assertEquals(1L, result.get(5, TimeUnit.SECONDS).orElseThrow().getId());
+        assertTrue(queue.isEmpty());
+        assertEquals(List.of(order), allocator.allocated);
+    }
+
+    @Test
+    void testSubmit_ShouldFailFutures_WhenBatchAllocationFails() {
+        // Given
+        allocator.failing = true;
+        intake = new BatchingOrderIntake(allocator, 10, 500, 1000);
+        intake.start();
+
+        // When
+        CompletableFuture<Optional<Drone>> result = intake.submit(new Order(1L, 5, 5, 10, Priority.HIGH, false));
+
+        // Then
+        CompletionException exception = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+
+    @Test
+    void testConstructor_ShouldRejectNonPositiveWindow() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchingOrderIntake(allocator, 0, 500, 1000));
+    }
+
+    /**
+     * Alocador que entrega cada pedido a um drone com o mesmo id e registra os lotes.
+     */
+    private static class RecordingAllocator implements OrderAllocator {
+        private final List<Order> allocated = new CopyOnWriteArrayList<>();
+        private final List<Integer> batches = new CopyOnWriteArrayList<>();
+        private volatile boolean failing;
+
+        @Override
+        public void allocateOrders() {
+        }
+
+        @Override
+        public Optional<Drone> allocate(Order order) {
+            if (failing) {
+                throw new IllegalStateException("Falha na alocação");
+            }
+            allocated.add(order);
+            return Optional.of(Drone.builder().id(order.getId()).build());
+        }
+
+        @Override
+        public List<Optional<Drone>> allocateAll(List<Order> orders) {
+            batches.add(orders.size());
+            return OrderAllocator.super.allocateAll(orders);
+        }
+    }
+}
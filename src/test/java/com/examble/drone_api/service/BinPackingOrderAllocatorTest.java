@@ -0,0 +1,160 @@
+package com.examble.drone_api.service;
+
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.model.type.DroneState;
+import com.examble.drone_api.model.type.Priority;
+import com.examble.drone_api.repository.DroneRepositoryImpl;
+import com.examble.drone_api.repository.OrderRepositoryImpl;
+import com.examble.drone_api.validation.DroneValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinPackingOrderAllocatorTest {
+
+    private DroneRepositoryImpl droneRepository;
+    private OrderRepositoryImpl orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        droneRepository = new DroneRepositoryImpl();
+        orderRepository = new OrderRepositoryImpl();
+    }
+
+    @Test
+    void testAllocateOrders_ShouldPackHeaviestOrdersFirst() {
+        // Given
+        Drone drone1 = saveDrone(50, 50);
+        Drone drone2 = saveDrone(50, 50);
+        Drone drone3 = saveDrone(50, 50);
+        saveOrder(30, Priority.MEDIUM);
+        saveOrder(20, Priority.MEDIUM);
+        saveOrder(25, Priority.MEDIUM);
+        saveOrder(25, Priority.MEDIUM);
+
+        // When
+        allocator(BinPackingOrderAllocator.Fit.FIRST_FIT).allocateOrders();
+
+        // Then: 30+20 e 25+25, sem usar o terceiro drone
+        assertEquals(50, drone1.getTotalWeight());
+        assertEquals(50, drone2.getTotalWeight());
+        assertFalse(drone3.hasOrders());
+    }
+
+    @Test
+    void testAllocateOrders_ShouldPackHigherPriorityFirst_WhenCapacityIsShort() {
+        // Given
+        Drone drone = saveDrone(10, 50);
+        saveOrder(10, Priority.LOW);
+        Order high1 = saveOrder(5, Priority.HIGH);
+        Order high2 = saveOrder(5, Priority.HIGH);
+
+        // When
+        allocator(BinPackingOrderAllocator.Fit.BEST_FIT).allocateOrders();
+
+        // Then
+        assertEquals(List.of(high1, high2), drone.getOrderList());
+    }
+
+    @Test
+    void testAllocateOrders_BestFit_ShouldChooseTightestLoad() {
+        // Given
+        Drone large = saveDrone(50, 50);
+        Drone medium = saveDrone(40, 50);
+        saveOrder(40, Priority.HIGH);
+        saveOrder(35, Priority.HIGH);
+        Order small = saveOrder(5, Priority.HIGH);
+
+        // When
+        allocator(BinPackingOrderAllocator.Fit.BEST_FIT).allocateOrders();
+
+        // Then
+        assertTrue(medium.getOrderList().contains(small));
+        assertEquals(40, large.getTotalWeight());
+    }
+
+    @Test
+    void testAllocateOrders_FirstFit_ShouldChooseFirstOpenedLoad() {
+        // Given
+        Drone large = saveDrone(50, 50);
+        Drone medium = saveDrone(40, 50);
+        saveOrder(40, Priority.HIGH);
+        saveOrder(35, Priority.HIGH);
+        Order small = saveOrder(5, Priority.HIGH);
+
+        // When
+        allocator(BinPackingOrderAllocator.Fit.FIRST_FIT).allocateOrders();
+
+        // Then
+        assertTrue(large.getOrderList().contains(small));
+        assertEquals(35, medium.getTotalWeight());
+    }
+
+    @Test
+    void testAllocate_ShouldFillLoadedDroneBeforeOpeningAnother() {
+        // Given
+        Drone drone1 = saveDrone(50, 50);
+        Drone drone2 = saveDrone(50, 50);
+        BinPackingOrderAllocator allocator = allocator(BinPackingOrderAllocator.Fit.BEST_FIT);
+
+        // When
+        allocator.allocate(saveOrder(10, Priority.HIGH));
+        allocator.allocate(saveOrder(10, Priority.LOW));
+
+        // Then
+        assertEquals(20, drone1.getTotalWeight());
+        assertFalse(drone2.hasOrders());
+    }
+
+    @Test
+    void testAllocate_BestFit_ShouldChooseTightestLoadedDrone() {
+        // Given
+        Drone roomy = saveDrone(50, 50);
+        Drone tight = saveDrone(50, 50);
+        saveDrone(50, 50);
+        roomy.assignOrder(saveOrder(10, Priority.HIGH));
+        tight.assignOrder(saveOrder(40, Priority.HIGH));
+
+        // When
+        Order order = saveOrder(8, Priority.HIGH);
+
+        // Then
+        assertSame(tight, allocator(BinPackingOrderAllocator.Fit.BEST_FIT).allocate(order).orElseThrow());
+        assertEquals(48, tight.getTotalWeight());
+    }
+
+    @Test
+    void testAllocate_ShouldReturnEmpty_WhenNoDroneReachesDestination() {
+        // Given
+        saveDrone(50, 5);
+        Order farOrder = orderRepository.save(new Order(null, 90, 90, 5, Priority.HIGH, false));
+
+        // When & Then
+        assertTrue(allocator(BinPackingOrderAllocator.Fit.BEST_FIT).allocate(farOrder).isEmpty());
+    }
+
+    private BinPackingOrderAllocator allocator(BinPackingOrderAllocator.Fit fit) {
+        return new BinPackingOrderAllocator(orderRepository, droneRepository, new DroneValidator(), fit, true);
+    }
+
+    private Drone saveDrone(int weightLimit, int distancePerCargo) {
+        return droneRepository.save(Drone.builder()
+                .positionX(1)
+                .positionY(1)
+                .weightLimit(weightLimit)
+                .distancePerCargo(distancePerCargo)
+                .battery(100.0)
+                .state(DroneState.IDLE)
+                .orderList(new ArrayList<>())
+                .build());
+    }
+
+    private Order saveOrder(int weight, Priority priority) {
+        return orderRepository.save(new Order(null, 5, 5, weight, priority, false));
+    }
+}
@@ -10,7 +10,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -231,4 +234,18 @@ class DroneServiceImplTest {
 
         verify(droneRepository).save(any(Drone.class));
     }
+
+    @Test
+    void testCreateDrone_ShouldStampStateChangeWithInjectedClock() {
+        // Given
+        Instant now = Instant.parse("2025-01-01T12:00:00Z");
+        DroneServiceImpl service = new DroneServiceImpl(droneRepository, null, Clock.fixed(now, ZoneOffset.UTC));
+        when(droneRepository.save(any(Drone.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Drone result = service.createDrone(new DroneCreateRequestDTO(50, 20, 1, 1));
+
+        // Then
+        assertEquals(LocalDateTime.of(2025, 1, 1, 12, 0), result.getLastStateChange());
+    }
 }
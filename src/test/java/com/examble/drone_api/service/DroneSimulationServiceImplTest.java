@@ -0,0 +1,249 @@
+package com.examble.drone_api.service;
+
+import com.examble.drone_api.config.SimulationClock;
+import com.examble.drone_api.config.SimulationProperties;
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.model.type.DroneState;
+import com.examble.drone_api.model.type.Priority;
+import com.examble.drone_api.model.type.SimulationEngineMode;
+import com.examble.drone_api.repository.DroneRepositoryImpl;
+import com.examble.drone_api.repository.OrderRepositoryImpl;
+import com.examble.drone_api.repository.interfaces.DroneRepository;
+import com.examble.drone_api.repository.interfaces.OrderRepository;
+import com.examble.drone_api.service.interfaces.DroneMetricsService;
+import com.examble.drone_api.service.interfaces.DroneStreamService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DroneSimulationServiceImplTest {
+
+    @Mock
+    private DroneRepository droneRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private DroneMetricsService metricsService;
+
+    @Mock
+    private DroneStreamService streamService;
+
+    @Test
+    void testUpdateDroneStates_Polling_ShouldVisitEveryDrone() {
+        // Given
+        DroneSimulationServiceImpl simulationService = createService(SimulationEngineMode.POLLING);
+        Drone lowBattery = createDrone(1L, 50.0);
+        when(droneRepository.findAll()).thenReturn(List.of(lowBattery));
+
+        // When
+        simulationService.fastForward(Duration.ofSeconds(1));
+
+        // Then
+        assertEquals(DroneState.RECHARGING, lowBattery.getState());
+    }
+
+    @Test
+    void testUpdateDroneStates_EventDriven_ShouldOnlyProcessScheduledDrones() {
+        // Given
+        DroneSimulationServiceImpl simulationService = createService(SimulationEngineMode.EVENT_DRIVEN);
+        Drone lowBattery = createDrone(1L, 50.0);
+
+        // When
+        simulationService.fastForward(Duration.ofSeconds(1));
+
+        // Then
+        assertEquals(DroneState.IDLE, lowBattery.getState());
+        verify(droneRepository, never()).findAll();
+    }
+
+    @Test
+    void testUpdateDroneStates_EventDriven_ShouldAdvanceDroneAfterTakeoff() {
+        // Given
+        DroneSimulationServiceImpl simulationService = createService(SimulationEngineMode.EVENT_DRIVEN);
+        Drone drone = createDrone(1L, 100.0);
+        drone.getOrderList().add(new Order(1L, 1, 3, 10, Priority.HIGH, false));
+        simulationService.startDroneFlight(drone).join();
+
+        // When
+        simulationService.fastForward(Duration.ofSeconds(1));
+
+        // Then
+        assertEquals(DroneState.IN_FLIGHT, drone.getState());
+        assertEquals(2, drone.getPositionY());
+
+        // When
+        simulationService.updateDroneStates();
+
+        // Then
+        assertEquals(DroneState.IN_FLIGHT, drone.getState());
+        assertEquals(2, drone.getPositionY());
+    }
+
+    @Test
+    void testFastForward_EventDriven_ShouldCompleteTripInSimulatedTime() {
+        // Given
+        DroneSimulationServiceImpl simulationService = createService(SimulationEngineMode.EVENT_DRIVEN);
+        assertCompletesTripInSimulatedTime(simulationService);
+    }
+
+    @Test
+    void testFastForward_Polling_ShouldCompleteTripInSimulatedTime() {
+        // Given
+        DroneSimulationServiceImpl simulationService = createService(SimulationEngineMode.POLLING);
+        assertCompletesTripInSimulatedTime(simulationService);
+    }
+
+    @Test
+    void testFastForward_Columnar_ShouldCompleteTripInSimulatedTime() {
+        // Given
+        DroneSimulationServiceImpl simulationService = createService(SimulationEngineMode.COLUMNAR);
+        assertCompletesTripInSimulatedTime(simulationService);
+    }
+
+    @Test
+    void testRefreshDroneViews_Columnar_ShouldMaterializeFlightProgress() {
+        // Given
+        DroneSimulationServiceImpl simulationService = createService(SimulationEngineMode.COLUMNAR);
+        Drone drone = createDrone(1L, 100.0);
+        drone.getOrderList().add(new Order(1L, 5, 5, 10, Priority.HIGH, false));
+        simulationService.startDroneFlight(drone).join();
+        simulationService.fastForward(Duration.ofSeconds(2));
+
+        // Then: o passo de voo fica nas colunas até alguém pedir o drone
+        assertEquals(1, drone.getPositionX());
+        assertEquals(100.0, drone.getBattery());
+
+        // When
+        simulationService.refreshDroneViews();
+
+        // Then
+        assertEquals(3, drone.getPositionX());
+        assertEquals(3, drone.getPositionY());
+        assertEquals(100.0 - 2 * Math.sqrt(2) * 0.1, drone.getBattery(), 1e-9);
+        assertEquals(DroneState.IN_FLIGHT, drone.getState());
+    }
+
+    @Test
+    void testFastForward_Columnar_ShouldMatchPolling() {
+        // Given: a mesma frota e os mesmos pedidos nos dois motores
+        List<Drone> polling = runRandomFleet(SimulationEngineMode.POLLING);
+        List<Drone> columnar = runRandomFleet(SimulationEngineMode.COLUMNAR);
+
+        // Then
+        for (int i = 0; i < polling.size(); i++) {
+            Drone expected = polling.get(i);
+            Drone actual = columnar.get(i);
+            assertEquals(expected.getState(), actual.getState(), "estado do drone " + i);
+            assertEquals(expected.getPositionX(), actual.getPositionX(), "x do drone " + i);
+            assertEquals(expected.getPositionY(), actual.getPositionY(), "y do drone " + i);
+            assertEquals(expected.getBattery(), actual.getBattery(), "bateria do drone " + i);
+            assertEquals(expected.getOrderList().size(), actual.getOrderList().size(), "paradas do drone " + i);
+        }
+    }
+
+    @Test
+    void testFastForward_ShouldRejectNonPositiveDuration() {
+        // Given
+        DroneSimulationServiceImpl simulationService = createService(SimulationEngineMode.POLLING);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> simulationService.fastForward(Duration.ZERO));
+    }
+
+    @Test
+    void testStartDroneFlight_ShouldSequenceStopsBeforeTakeoff() {
+        // Given
+        DroneSimulationServiceImpl simulationService = createService(SimulationEngineMode.POLLING);
+        Drone drone = createDrone(1L, 100.0);
+        Order far = new Order(1L, 10, 1, 5, Priority.HIGH, false);
+        Order near = new Order(2L, 3, 1, 5, Priority.HIGH, false);
+        Order middle = new Order(3L, 7, 1, 5, Priority.HIGH, false);
+        drone.getOrderList().addAll(List.of(far, near, middle));
+
+        // When
+        simulationService.startDroneFlight(drone).join();
+
+        // Then
+        assertEquals(DroneState.IN_FLIGHT, drone.getState());
+        assertEquals(List.of(near, middle, far), drone.getOrderList());
+    }
+
+    private void assertCompletesTripInSimulatedTime(DroneSimulationServiceImpl simulationService) {
+        Drone drone = createDrone(1L, 100.0);
+        Order order = new Order(1L, 1, 3, 10, Priority.HIGH, false);
+        drone.getOrderList().add(order);
+        lenient().when(droneRepository.findAll()).thenReturn(List.of(drone));
+        simulationService.startDroneFlight(drone).join();
+
+        // When
+        int ticks = simulationService.fastForward(Duration.ofMinutes(1));
+
+        // Then: 2 passos até o destino, 5s de entrega, 2 passos de volta
+        assertEquals(60, ticks);
+        assertEquals(DroneState.IDLE, drone.getState());
+        assertEquals(1, drone.getPositionY());
+        verify(orderRepository).markDelivered(order);
+        verify(metricsService).recordDelivery(1L, 8000L);
+        verify(metricsService).recordFlightTime(1L, 10000L);
+    }
+
+    private DroneSimulationServiceImpl createService(SimulationEngineMode engineMode) {
+        return createService(engineMode, droneRepository, orderRepository);
+    }
+
+    private DroneSimulationServiceImpl createService(SimulationEngineMode engineMode,
+                                                     DroneRepository drones, OrderRepository orders) {
+        SimulationClock clock = new SimulationClock(Clock.fixed(Instant.parse("2025-01-01T10:00:00Z"), ZoneOffset.UTC), 0);
+        SimulationProperties properties = new SimulationProperties(engineMode, 1000, 5, 10, 0);
+        return new DroneSimulationServiceImpl(drones, orders, metricsService, clock, properties, streamService, new RoutePlanner());
+    }
+
+    private List<Drone> runRandomFleet(SimulationEngineMode engineMode) {
+        DroneRepositoryImpl drones = new DroneRepositoryImpl();
+        OrderRepositoryImpl orders = new OrderRepositoryImpl();
+        DroneSimulationServiceImpl simulationService = createService(engineMode, drones, orders);
+        Random random = new Random(7);
+        for (int i = 0; i < 40; i++) {
+            Drone drone = drones.save(createDrone(null, 30.0 + random.nextInt(71)));
+            for (int j = 0; j < 1 + random.nextInt(4); j++) {
+                drone.getOrderList().add(orders.save(new Order(null, 1 + random.nextInt(15),
+                        1 + random.nextInt(15), 1, Priority.MEDIUM, false)));
+            }
+        }
+        drones.findAll().forEach(drone -> simulationService.startDroneFlight(drone).join());
+        for (int second = 0; second < 90; second++) {
+            simulationService.fastForward(Duration.ofSeconds(1));
+        }
+        simulationService.refreshDroneViews();
+        return drones.findAll();
+    }
+
+    private Drone createDrone(Long id, double battery) {
+        return Drone.builder()
+                .id(id)
+                .positionX(1)
+                .positionY(1)
+                .weightLimit(50)
+                .distancePerCargo(20)
+                .battery(battery)
+                .state(DroneState.IDLE)
+                .orderList(new ArrayList<>())
+                .build();
+    }
+}
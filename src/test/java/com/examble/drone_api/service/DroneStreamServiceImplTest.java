@@ -0,0 +1,129 @@
+package com.examble.drone_api.service;
+
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.model.type.DroneState;
+import com.examble.drone_api.model.type.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DroneStreamServiceImplTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @Test
+    void testFlush_ShouldCoalesceChangesOfSameDronePerTick() throws Exception {
+        // Given
+        DroneStreamServiceImpl streamService = new DroneStreamServiceImpl(objectMapper, Runnable::run, 8, 0);
+        RecordingSink sink = new RecordingSink();
+        Drone drone = createDrone(1L);
+        streamService.register(sink, () -> List.of(drone));
+
+        // When
+        drone.updatePosition(2, 2);
+        streamService.markChanged(drone);
+        drone.updatePosition(3, 3);
+        streamService.markChanged(drone);
+        streamService.recordDelivery(drone, new Order(7L, 3, 3, 5, Priority.HIGH, false));
+        streamService.flush(LocalDateTime.of(2025, 1, 1, 10, 0));
+
+        // Then
+        assertEquals(List.of("snapshot", "delta"), sink.names);
+        var delta = objectMapper.readTree(sink.data.get(1));
+        assertEquals(1, delta.get("drones").size());
+        assertEquals(3, delta.get("drones").get(0).get("positionX").asInt());
+        assertEquals(7L, delta.get("deliveries").get(0).get("orderId").asLong());
+    }
+
+    @Test
+    void testFlush_ShouldNotPublish_WhenNothingChanged() {
+        // Given
+        DroneStreamServiceImpl streamService = new DroneStreamServiceImpl(objectMapper, Runnable::run, 8, 0);
+        RecordingSink sink = new RecordingSink();
+        streamService.register(sink, List::of);
+
+        // When
+        streamService.flush(LocalDateTime.now());
+
+        // Then
+        assertEquals(List.of("snapshot"), sink.names);
+    }
+
+    @Test
+    void testMarkChanged_ShouldBeIgnored_WithoutSubscribers() {
+        // Given
+        DroneStreamServiceImpl streamService = new DroneStreamServiceImpl(objectMapper, Runnable::run, 8, 0);
+        Drone drone = createDrone(1L);
+        streamService.markChanged(drone);
+        RecordingSink sink = new RecordingSink();
+        streamService.register(sink, List::of);
+
+        // When
+        streamService.flush(LocalDateTime.now());
+
+        // Then
+        assertEquals(List.of("snapshot"), sink.names);
+    }
+
+    @Test
+    void testFlush_ShouldDropOldestAndRequestResync_WhenSubscriberIsSlow() {
+        // Given
+        List<Runnable> pendingDrains = new ArrayList<>();
+        Executor stalledExecutor = pendingDrains::add;
+        DroneStreamServiceImpl streamService = new DroneStreamServiceImpl(objectMapper, stalledExecutor, 4, 0);
+        RecordingSink sink = new RecordingSink();
+        Drone drone = createDrone(1L);
+        streamService.register(sink, () -> List.of(drone));
+
+        // When
+        for (int tick = 1; tick <= 10; tick++) {
+            drone.updatePosition(1 + tick, 1);
+            streamService.markChanged(drone);
+            streamService.flush(LocalDateTime.now());
+        }
+        pendingDrains.forEach(Runnable::run);
+
+        // Then
+        assertEquals(1, pendingDrains.size());
+        assertEquals(List.of("resync", "delta", "delta", "delta", "delta"), sink.names);
+        // O resync traz a frota no momento do envio
+        assertTrue(sink.data.get(0).contains("\"positionX\":11"));
+        assertTrue(sink.data.get(4).contains("\"positionX\":11"));
+    }
+
+    private Drone createDrone(Long id) {
+        return Drone.builder()
+                .id(id)
+                .positionX(1)
+                .positionY(1)
+                .weightLimit(50)
+                .distancePerCargo(20)
+                .battery(100.0)
+                .state(DroneState.IDLE)
+                .orderList(new ArrayList<>())
+                .build();
+    }
+
+    private static class RecordingSink implements DroneStreamServiceImpl.EventSink {
+        private final List<String> names = new ArrayList<>();
+        private final List<String> data = new ArrayList<>();
+
+        @Override
+        public void send(String eventName, String payload) {
+            names.add(eventName);
+            data.add(payload);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
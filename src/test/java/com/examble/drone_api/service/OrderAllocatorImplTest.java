@@ -10,12 +10,16 @@ import com.examble.drone_api.validation.DroneValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -51,8 +55,8 @@ class OrderAllocatorImplTest {
         List<Drone> drones = Arrays.asList(drone1, drone2);
         List<Order> orders = Arrays.asList(order1, order2);
 
-        when(droneRepository.findAll()).thenReturn(drones);
-        when(orderRepository.findAll()).thenReturn(orders);
+        givenFleet(drones);
+        when(orderRepository.findPending()).thenReturn(orders);
         when(droneValidator.validateDroneForOrder(any(), any()))
                 .thenReturn(new DroneValidator.ValidationResult());
 
@@ -74,10 +78,10 @@ class OrderAllocatorImplTest {
         Order lowPriorityOrder = createOrder(2L, 10, 10, 15, Priority.LOW);
 
         List<Drone> drones = Arrays.asList(drone);
-        List<Order> orders = Arrays.asList(lowPriorityOrder, highPriorityOrder); // Low priority first in list
+        List<Order> orders = Arrays.asList(highPriorityOrder, lowPriorityOrder); // Fila de pendentes já ordenada
 
-        when(droneRepository.findAll()).thenReturn(drones);
-        when(orderRepository.findAll()).thenReturn(orders);
+        givenFleet(drones);
+        when(orderRepository.findPending()).thenReturn(orders);
         when(droneValidator.validateDroneForOrder(any(), any()))
                 .thenReturn(new DroneValidator.ValidationResult());
 
@@ -90,7 +94,9 @@ class OrderAllocatorImplTest {
         assertTrue(drone.getOrderList().contains(lowPriorityOrder));
         
         // Verify allocation order (HIGH should be processed first)
-        verify(droneValidator, times(2)).validateDroneForOrder(any(), any());
+        InOrder inOrder = inOrder(droneValidator);
+        inOrder.verify(droneValidator).validateDroneForOrder(drone, highPriorityOrder);
+        inOrder.verify(droneValidator).validateDroneForOrder(drone, lowPriorityOrder);
     }
 
     @Test
@@ -105,8 +111,8 @@ class OrderAllocatorImplTest {
         List<Drone> drones = Arrays.asList(drone);
         List<Order> orders = Arrays.asList(newOrder);
 
-        when(droneRepository.findAll()).thenReturn(drones);
-        when(orderRepository.findAll()).thenReturn(orders);
+        givenFleet(drones);
+        when(orderRepository.findPending()).thenReturn(orders);
         when(droneValidator.validateDroneForOrder(any(), any()))
                 .thenReturn(new DroneValidator.ValidationResult());
 
@@ -130,8 +136,8 @@ class OrderAllocatorImplTest {
         List<Drone> drones = Arrays.asList(availableDrone, busyDrone);
         List<Order> orders = Arrays.asList(order);
 
-        when(droneRepository.findAll()).thenReturn(drones);
-        when(orderRepository.findAll()).thenReturn(orders);
+        givenFleet(drones);
+        when(orderRepository.findPending()).thenReturn(orders);
         when(droneValidator.validateDroneForOrder(any(), any()))
                 .thenReturn(new DroneValidator.ValidationResult());
 
@@ -144,6 +150,39 @@ class OrderAllocatorImplTest {
         assertFalse(busyDrone.getOrderList().contains(order));
     }
 
+    @Test
+    void testAllocateOrders_ShouldKeepPlanOfDroneThatTakesOffDuringRebalance() throws InterruptedException {
+        // Given: o drone decola enquanto o replanejamento espera pela sua trava
+        Drone takingOff = createDrone(1L, 50, 20, DroneState.IDLE, 100.0);
+        Drone idle = createDrone(2L, 50, 20, DroneState.IDLE, 100.0);
+        Order onBoard = createOrder(1L, 3, 3, 10, Priority.HIGH);
+        Order waiting = createOrder(2L, 5, 5, 10, Priority.LOW);
+        takingOff.getOrderList().add(onBoard);
+
+        givenFleet(Arrays.asList(takingOff, idle));
+        AtomicReference<List<Order>> pending = new AtomicReference<>(List.of(onBoard, waiting));
+        when(orderRepository.findPending()).thenAnswer(invocation -> pending.get());
+        lenient().when(droneValidator.validateDroneForOrder(any(), any()))
+                .thenReturn(new DroneValidator.ValidationResult());
+
+        // When
+        Thread rebalance;
+        synchronized (takingOff) {
+            rebalance = new Thread(orderAllocator::allocateOrders);
+            rebalance.start();
+            while (rebalance.getState() != Thread.State.BLOCKED && rebalance.isAlive()) {
+                Thread.onSpinWait();
+            }
+            takingOff.changeState(DroneState.IN_FLIGHT, null);
+            pending.set(List.of(waiting));
+        }
+        rebalance.join();
+
+        // Then
+        assertEquals(List.of(onBoard), takingOff.getOrderList());
+        assertEquals(List.of(waiting), idle.getOrderList());
+    }
+
     @Test
     void testAllocateOrders_ShouldHandleValidationFailures() {
         // Given
@@ -153,8 +192,8 @@ class OrderAllocatorImplTest {
         List<Drone> drones = Arrays.asList(drone);
         List<Order> orders = Arrays.asList(order);
 
-        when(droneRepository.findAll()).thenReturn(drones);
-        when(orderRepository.findAll()).thenReturn(orders);
+        givenFleet(drones);
+        when(orderRepository.findPending()).thenReturn(orders);
         
         // Mock validation failure
         DroneValidator.ValidationResult failedValidation = new DroneValidator.ValidationResult();
@@ -179,8 +218,8 @@ class OrderAllocatorImplTest {
         List<Drone> drones = Arrays.asList(busyDrone);
         List<Order> orders = Arrays.asList(order);
 
-        when(droneRepository.findAll()).thenReturn(drones);
-        when(orderRepository.findAll()).thenReturn(orders);
+        givenFleet(drones);
+        when(orderRepository.findPending()).thenReturn(orders);
 
         // When
         orderAllocator.allocateOrders();
@@ -198,8 +237,8 @@ class OrderAllocatorImplTest {
         List<Drone> drones = Arrays.asList(drone);
         List<Order> orders = new ArrayList<>();
 
-        when(droneRepository.findAll()).thenReturn(drones);
-        when(orderRepository.findAll()).thenReturn(orders);
+        givenFleet(drones);
+        when(orderRepository.findPending()).thenReturn(orders);
 
         // When
         orderAllocator.allocateOrders();
@@ -218,8 +257,8 @@ class OrderAllocatorImplTest {
         List<Drone> drones = new ArrayList<>();
         List<Order> orders = Arrays.asList(order);
 
-        when(droneRepository.findAll()).thenReturn(drones);
-        when(orderRepository.findAll()).thenReturn(orders);
+        givenFleet(drones);
+        when(orderRepository.findPending()).thenReturn(orders);
 
         // When
         orderAllocator.allocateOrders();
@@ -229,6 +268,45 @@ class OrderAllocatorImplTest {
         verify(droneValidator, never()).validateDroneForOrder(any(), any());
     }
 
+    @Test
+    void testAllocate_ShouldAddOrderWithoutClearingExistingPlan() {
+        // Given
+        Drone drone = createDrone(1L, 50, 20, DroneState.IDLE, 100.0);
+        Order existingOrder = createOrder(1L, 3, 3, 5, Priority.LOW);
+        drone.getOrderList().add(existingOrder);
+
+        Order newOrder = createOrder(2L, 8, 8, 10, Priority.HIGH);
+
+        givenFleet(Arrays.asList(drone));
+        when(droneValidator.validateDroneForOrder(any(), any()))
+                .thenReturn(new DroneValidator.ValidationResult());
+
+        // When
+        Optional<Drone> result = orderAllocator.allocate(newOrder);
+
+        // Then
+        assertEquals(Optional.of(drone), result);
+        assertEquals(List.of(existingOrder, newOrder), drone.getOrderList());
+        verify(orderRepository, never()).findPending();
+    }
+
+    @Test
+    void testAllocate_ShouldReturnEmpty_WhenNoDroneCanTakeOrder() {
+        // Given
+        Drone drone = createDrone(1L, 10, 20, DroneState.IDLE, 100.0);
+        Order heavyOrder = createOrder(1L, 5, 5, 30, Priority.HIGH);
+
+        givenFleet(Arrays.asList(drone));
+
+        // When
+        Optional<Drone> result = orderAllocator.allocate(heavyOrder);
+
+        // Then
+        assertTrue(result.isEmpty());
+        assertTrue(drone.getOrderList().isEmpty());
+        verify(droneValidator, never()).validateDroneForOrder(any(), any());
+    }
+
     @Test
     void testFindBestDroneForOrder_ShouldConsiderMultipleFactors() {
         // Given
@@ -240,8 +318,8 @@ class OrderAllocatorImplTest {
         List<Drone> drones = Arrays.asList(drone1, drone2);
         List<Order> orders = Arrays.asList(order);
 
-        when(droneRepository.findAll()).thenReturn(drones);
-        when(orderRepository.findAll()).thenReturn(orders);
+        givenFleet(drones);
+        when(orderRepository.findPending()).thenReturn(orders);
         when(droneValidator.validateDroneForOrder(any(), any()))
                 .thenReturn(new DroneValidator.ValidationResult());
 
@@ -253,7 +331,72 @@ class OrderAllocatorImplTest {
         verify(droneValidator, atLeastOnce()).validateDroneForOrder(any(), any());
     }
 
+    @Test
+    void testAllocate_Parallel_ShouldChooseSameDroneAsSequential() {
+        // Given: dois melhores empatados em score e distância, em metades diferentes da frota
+        List<Drone> drones = new ArrayList<>();
+        for (long id = 1; id <= 3000; id++) {
+            drones.add(createDrone(id, 50, 20, DroneState.IDLE, 90.0));
+        }
+        drones.get(1499).setBattery(100.0);
+        drones.get(2799).setBattery(100.0);
+        givenFleet(drones);
+        when(droneValidator.validateDroneForOrder(any(), any()))
+                .thenReturn(new DroneValidator.ValidationResult());
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            OrderAllocatorImpl parallelAllocator =
+                    new OrderAllocatorImpl(orderRepository, droneRepository, droneValidator, pool, 1);
+
+            // When
+            Drone sequential = orderAllocator.allocate(createOrder(1L, 5, 5, 10, Priority.HIGH)).orElseThrow();
+            sequential.getOrderList().clear();
+            Drone parallel = parallelAllocator.allocate(createOrder(2L, 5, 5, 10, Priority.HIGH)).orElseThrow();
+
+            // Then
+            assertEquals(1500L, sequential.getId());
+            assertSame(sequential, parallel);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testAllocate_Parallel_ShouldKeepFirstCandidate_WhenAllTie() {
+        // Given
+        List<Drone> drones = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            drones.add(createDrone(id, 50, 20, DroneState.IDLE, 100.0));
+        }
+        givenFleet(drones);
+        when(droneValidator.validateDroneForOrder(any(), any()))
+                .thenReturn(new DroneValidator.ValidationResult());
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            // When
+            Optional<Drone> result = new OrderAllocatorImpl(orderRepository, droneRepository, droneValidator, pool, 1)
+                    .allocate(createOrder(1L, 5, 5, 10, Priority.HIGH));
+
+            // Then
+            assertEquals(1L, result.orElseThrow().getId());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     // Helper methods
+    private void givenFleet(List<Drone> drones) {
+        List<Drone> idleDrones = drones.stream()
+                .filter(drone -> drone.getState() == DroneState.IDLE)
+                .toList();
+        lenient().when(droneRepository.findByDroneState(DroneState.IDLE)).thenReturn(idleDrones);
+        lenient().when(droneRepository.getMaxReach()).thenReturn(100);
+        lenient().when(droneRepository.findAvailableReaching(anyInt(), anyInt()))
+                .thenReturn(idleDrones.stream().filter(Drone::isAvailableForOrders).toList());
+    }
+
     private Drone createDrone(Long id, int weightLimit, int distancePerCargo, DroneState state, double battery) {
         Drone drone = Drone.builder()
                 .id(id)
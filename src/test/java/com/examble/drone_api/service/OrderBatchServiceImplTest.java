@@ -0,0 +1,149 @@
+package com.examble.drone_api.service;
+
+import com.examble.drone_api.dto.OrderBatchItemDTO;
+import com.examble.drone_api.dto.OrderBatchResponseDTO;
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.model.type.Priority;
+import com.examble.drone_api.repository.OrderRepositoryImpl;
+import com.examble.drone_api.repository.interfaces.DroneRepository;
+import com.examble.drone_api.service.interfaces.OrderAllocator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderBatchServiceImplTest {
+
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private OrderAllocator orderAllocator;
+
+    private OrderRepositoryImpl orderRepository;
+    private OrderBatchServiceImpl orderBatchService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = new OrderRepositoryImpl();
+        orderBatchService = new OrderBatchServiceImpl(orderRepository, orderAllocator, new ObjectMapper(), VALIDATOR, 2);
+        lenient().when(orderAllocator.allocateAll(anyList())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            return orders.stream().map(order -> Optional.of(Drone.builder().id(1L).build())).toList();
+        });
+    }
+
+    @Test
+    void testImportOrders_ShouldCreateValidItemsFromJsonArray() throws IOException {
+        // Given
+        String body = """
+                [{"destinationX": 5, "destinationY": 5, "weight": 10, "priority": "HIGH"},
+                 {"destinationX": 0, "destinationY": 5, "weight": 60},
+                 {"destinationX": 8, "destinationY": 3, "weight": 4},
+                 {"destinationX": 9, "destinationY": 9, "weight": 1, "priority": "MEDIUM"}]
+                """;
+
+        // When
+        OrderBatchResponseDTO response = orderBatchService.importOrders(stream(body));
+
+        // Then
+        assertEquals(4, response.received());
+        assertEquals(3, response.created());
+        assertEquals(1, response.rejected());
+        assertEquals(3, response.allocated());
+        assertEquals(1L, response.items().get(0).id());
+        OrderBatchItemDTO invalid = response.items().get(1);
+        assertNull(invalid.id());
+        assertEquals("Coordenada X deve ser maior que 0", invalid.errors().get("destinationX"));
+        assertEquals("Peso não pode exceder 50 kg", invalid.errors().get("weight"));
+        assertEquals(2L, response.items().get(2).id());
+        assertEquals(Priority.LOW, orderRepository.findById(2L).orElseThrow().getPriority());
+        assertEquals(3, orderRepository.findPending().size());
+        verify(orderAllocator, times(1)).allocateAll(anyList());
+    }
+
+    @Test
+    void testImportOrders_ShouldAcceptNdjson() throws IOException {
+        // Given
+        String body = """
+                {"destinationX": 5, "destinationY": 5, "weight": 10}
+                {"destinationX": "abc", "destinationY": 5, "weight": 10}
+                {"destinationX": 7, "destinationY": 7, "weight": 10}
+                """;
+
+        // When
+        OrderBatchResponseDTO response = orderBatchService.importOrders(stream(body));
+
+        // Then
+        assertEquals(3, response.received());
+        assertEquals(2, response.created());
+        assertTrue(response.items().get(1).errors().containsKey("item"));
+        assertEquals(List.of(1L, 2L), orderRepository.findAll().stream().map(Order::getId).toList());
+    }
+
+    @Test
+    void testImportOrders_ShouldKeepParsedItems_WhenJsonBreaksMidStream() throws IOException {
+        // Given
+        String body = "[{\"destinationX\": 5, \"destinationY\": 5, \"weight\": 10}, {\"destinationX\": 5,";
+
+        // When
+        OrderBatchResponseDTO response = orderBatchService.importOrders(stream(body));
+
+        // Then
+        assertEquals(1, response.created());
+        assertEquals(1, response.rejected());
+        assertTrue(response.items().get(1).errors().containsKey("json"));
+    }
+
+    @Test
+    void testImportOrders_ShouldRejectUnreachableDestinations() throws IOException {
+        // Given
+        DroneRepository droneRepository = mock(DroneRepository.class);
+        when(droneRepository.isReachable(anyInt(), anyInt())).thenAnswer(invocation ->
+                (int) invocation.getArgument(0) < 50);
+        OrderBatchServiceImpl service = new OrderBatchServiceImpl(orderRepository, orderAllocator,
+                new ObjectMapper(), VALIDATOR, droneRepository, 2);
+        String body = """
+                {"destinationX": 5, "destinationY": 5, "weight": 10}
+                {"destinationX": 90, "destinationY": 90, "weight": 10}
+                """;
+
+        // When
+        OrderBatchResponseDTO response = service.importOrders(stream(body));
+
+        // Then
+        assertEquals(1, response.created());
+        assertEquals(1, response.rejected());
+        OrderBatchItemDTO unreachable = response.items().get(1);
+        assertNull(unreachable.id());
+        assertTrue(unreachable.errors().get("destination").contains("(90,90)"));
+        assertEquals(1, orderRepository.findAll().size());
+    }
+
+    @Test
+    void testImportOrders_ShouldRejectBodyThatIsNotAnArrayOrObjects() {
+        assertThrows(IllegalArgumentException.class, () -> orderBatchService.importOrders(stream("42")));
+        verifyNoInteractions(orderAllocator);
+    }
+
+    private InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,8 +1,10 @@
 package com.examble.drone_api.service;
 
 import com.examble.drone_api.dto.OrderCreateRequestDTO;
+import com.examble.drone_api.exception.OrderAllocationException;
 import com.examble.drone_api.model.Order;
 import com.examble.drone_api.model.type.Priority;
+import com.examble.drone_api.repository.interfaces.DroneRepository;
 import com.examble.drone_api.repository.interfaces.OrderRepository;
 import com.examble.drone_api.service.interfaces.OrderAllocator;
 import org.junit.jupiter.api.BeforeEach;
@@ -128,8 +130,7 @@ class OrderServiceImplTest {
                 .build();
 
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
-        doNothing().when(orderAllocator).allocateOrders();
-
+        
         // When
         Order result = orderService.createOrder(requestDTO);
 
@@ -142,7 +143,7 @@ class OrderServiceImplTest {
         assertEquals(Priority.HIGH, result.getPriority());
 
         verify(orderRepository).save(any(Order.class));
-        verify(orderAllocator).allocateOrders();
+        verify(orderAllocator).allocate(savedOrder);
     }
 
     @Test
@@ -159,8 +160,7 @@ class OrderServiceImplTest {
                 .build();
 
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
-        doNothing().when(orderAllocator).allocateOrders();
-
+        
         // When
         Order result = orderService.createOrder(requestDTO);
 
@@ -169,7 +169,7 @@ class OrderServiceImplTest {
         assertEquals(Priority.LOW, result.getPriority());
 
         verify(orderRepository).save(any(Order.class));
-        verify(orderAllocator).allocateOrders();
+        verify(orderAllocator).allocate(savedOrder);
     }
 
     @Test
@@ -183,7 +183,7 @@ class OrderServiceImplTest {
         // When & Then
         assertThrows(RuntimeException.class, () -> orderService.createOrder(requestDTO));
         verify(orderRepository).save(any(Order.class));
-        verify(orderAllocator, never()).allocateOrders();
+        verify(orderAllocator, never()).allocate(any());
     }
 
     @Test
@@ -200,12 +200,37 @@ class OrderServiceImplTest {
                 .build();
 
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
-        doThrow(new RuntimeException("Allocation error")).when(orderAllocator).allocateOrders();
+        when(orderAllocator.allocate(savedOrder)).thenThrow(new RuntimeException("Allocation error"));
 
         // When & Then
         assertThrows(RuntimeException.class, () -> orderService.createOrder(requestDTO));
         verify(orderRepository).save(any(Order.class));
+        verify(orderAllocator).allocate(savedOrder);
+    }
+
+    @Test
+    void testCreateOrder_ShouldRejectDestinationNoDroneCanReach() {
+        // Given
+        DroneRepository droneRepository = mock(DroneRepository.class);
+        OrderServiceImpl service = new OrderServiceImpl(orderRepository, orderAllocator,
+                new DirectOrderIntake(orderAllocator), droneRepository);
+        when(droneRepository.isReachable(90, 90)).thenReturn(false);
+
+        // When & Then
+        assertThrows(OrderAllocationException.class,
+                () -> service.createOrder(new OrderCreateRequestDTO(90, 90, 5, Priority.HIGH)));
+        verify(orderRepository, never()).save(any());
+        verify(orderAllocator, never()).allocate(any());
+    }
+
+    @Test
+    void testReallocateOrders_ShouldTriggerFullReplan() {
+        // When
+        orderService.reallocateOrders();
+
+        // Then
         verify(orderAllocator).allocateOrders();
+        verify(orderAllocator, never()).allocate(any());
     }
 
     @Test
@@ -222,8 +247,7 @@ class OrderServiceImplTest {
                 .build();
 
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
-        doNothing().when(orderAllocator).allocateOrders();
-
+        
         // When
         Order result = orderService.createOrder(requestDTO);
 
@@ -234,7 +258,7 @@ class OrderServiceImplTest {
         assertEquals(Priority.MEDIUM, result.getPriority());
 
         verify(orderRepository).save(any(Order.class));
-        verify(orderAllocator).allocateOrders();
+        verify(orderAllocator).allocate(savedOrder);
     }
 
     @Test
@@ -251,8 +275,7 @@ class OrderServiceImplTest {
                 .build();
 
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
-        doNothing().when(orderAllocator).allocateOrders();
-
+        
         // When
         Order result = orderService.createOrder(requestDTO);
 
@@ -263,6 +286,6 @@ class OrderServiceImplTest {
         assertEquals(Priority.LOW, result.getPriority());
 
         verify(orderRepository).save(any(Order.class));
-        verify(orderAllocator).allocateOrders();
+        verify(orderAllocator).allocate(savedOrder);
     }
 }
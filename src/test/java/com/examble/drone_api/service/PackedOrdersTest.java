@@ -0,0 +1,79 @@
+package com.examble.drone_api.service;
+
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.model.type.Priority;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedOrdersTest {
+
+    @Test
+    void testAdd_ShouldRoundTripAllFields() {
+        // Given
+        PackedOrders packedOrders = new PackedOrders(1);
+        Order first = new Order(1L, 100, 1, 50, Priority.LOW, false);
+        Order second = new Order(2L, 0, 127, 1, Priority.HIGH, false);
+
+        // When
+        assertTrue(packedOrders.add(first));
+        assertTrue(packedOrders.add(second));
+
+        // Then
+        long value = packedOrders.get(1);
+        assertEquals(2, packedOrders.size());
+        assertEquals(0, PackedOrders.x(value));
+        assertEquals(127, PackedOrders.y(value));
+        assertEquals(1, PackedOrders.weight(value));
+        assertEquals(Priority.HIGH.ordinal(), PackedOrders.priority(value));
+        assertEquals(1, PackedOrders.slot(value));
+        assertSame(second, packedOrders.order(value));
+        assertEquals(50, PackedOrders.weight(packedOrders.get(0)));
+        assertSame(first, packedOrders.order(packedOrders.get(0)));
+    }
+
+    @Test
+    void testAdd_ShouldRejectOrdersOutsideLayout() {
+        // Given
+        PackedOrders packedOrders = new PackedOrders();
+
+        // When & Then
+        assertFalse(packedOrders.add(new Order(1L, 128, 1, 10, Priority.LOW, false)));
+        assertFalse(packedOrders.add(new Order(2L, 1, -1, 10, Priority.LOW, false)));
+        assertFalse(packedOrders.add(new Order(3L, 1, 1, 64, Priority.LOW, false)));
+        assertTrue(packedOrders.isEmpty());
+    }
+
+    @Test
+    void testSort_ShouldMatchPriorityThenHeaviestThenArrival() {
+        // Given: pendentes na ordem de alocação (prioridade e chegada)
+        Random random = new Random(7);
+        List<Order> pending = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            Priority priority = Priority.values()[random.nextInt(Priority.values().length)];
+            pending.add(new Order(id, 1 + random.nextInt(100), 1 + random.nextInt(100),
+                    1 + random.nextInt(50), priority, false));
+        }
+        pending.sort(Order.ALLOCATION_ORDER);
+        PackedOrders packedOrders = PackedOrders.of(pending);
+
+        // When
+        packedOrders.sort();
+
+        // Then
+        List<Order> expected = new ArrayList<>(pending);
+        expected.sort(Comparator.comparing(Order::getPriority)
+                .thenComparing(Comparator.comparingInt(Order::getWeight).reversed())
+                .thenComparing(Order::getId));
+        List<Order> sorted = new ArrayList<>();
+        for (int i = 0; i < packedOrders.size(); i++) {
+            sorted.add(packedOrders.order(packedOrders.get(i)));
+        }
+        assertEquals(expected, sorted);
+    }
+}
@@ -0,0 +1,151 @@
+package com.examble.drone_api.service;
+
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.model.type.DroneState;
+import com.examble.drone_api.model.type.Priority;
+import com.examble.drone_api.repository.DroneRepositoryImpl;
+import com.examble.drone_api.repository.OrderRepositoryImpl;
+import com.examble.drone_api.validation.DroneValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlanOptimizerTest {
+
+    private static final long BUDGET = TimeUnit.SECONDS.toNanos(1);
+
+    private final RoutePlanner routePlanner = new RoutePlanner();
+    private DroneRepositoryImpl droneRepository;
+    private PlanOptimizer optimizer;
+
+    @BeforeEach
+    void setUp() {
+        droneRepository = new DroneRepositoryImpl();
+        optimizer = new PlanOptimizer(droneRepository, routePlanner, 1000, 50);
+    }
+
+    @Test
+    void testOptimize_ShouldRegroupOrdersByNeighbourhood() {
+        // Given: cada drone leva um pedido perto da base e um longe
+        Order near1 = order(1L, 3, 3, 10);
+        Order near2 = order(2L, 4, 3, 10);
+        Order far1 = order(3L, 40, 40, 10);
+        Order far2 = order(4L, 41, 40, 10);
+        Drone drone1 = saveDrone(50, new ArrayList<>(List.of(near1, far1)));
+        Drone drone2 = saveDrone(50, new ArrayList<>(List.of(far2, near2)));
+        int before = totalLength(drone1, drone2);
+
+        // When
+        int improvements = optimizer.optimize(BUDGET);
+
+        // Then
+        assertTrue(improvements > 0);
+        assertTrue(totalLength(drone1, drone2) < before);
+        List<Order> all = new ArrayList<>(drone1.getOrderList());
+        all.addAll(drone2.getOrderList());
+        assertEquals(4, all.size());
+        assertTrue(all.containsAll(List.of(near1, near2, far1, far2)));
+    }
+
+    @Test
+    void testOptimize_ShouldRespectWeightLimit() {
+        // Given
+        Drone drone1 = saveDrone(20, new ArrayList<>(List.of(order(1L, 3, 3, 10), order(2L, 40, 40, 10))));
+        Drone drone2 = saveDrone(20, new ArrayList<>(List.of(order(3L, 41, 40, 10), order(4L, 4, 3, 10))));
+
+        // When
+        optimizer.optimize(BUDGET);
+
+        // Then
+        assertTrue(drone1.getTotalWeight() <= 20);
+        assertTrue(drone2.getTotalWeight() <= 20);
+        assertEquals(4, drone1.getOrderList().size() + drone2.getOrderList().size());
+    }
+
+    @Test
+    void testOptimize_ShouldNotTouchDronesThatTookOff() {
+        // Given
+        Order near = order(1L, 3, 3, 10);
+        Order far = order(2L, 40, 40, 10);
+        Drone flying = saveDrone(50, new ArrayList<>(List.of(near, far)));
+        flying.changeState(DroneState.IN_FLIGHT, LocalDateTime.now());
+        Drone waiting = saveDrone(50, new ArrayList<>(List.of(order(3L, 41, 40, 10))));
+
+        // When
+        int improvements = optimizer.optimize(BUDGET);
+
+        // Then
+        assertEquals(0, improvements);
+        assertEquals(List.of(near, far), flying.getOrderList());
+        assertEquals(1, waiting.getOrderList().size());
+    }
+
+    @Test
+    void testAllocateUnassignedOrders_ShouldKeepOptimizedPlans() {
+        // Given: planos refinados pelo otimizador e um pedido novo fora de qualquer plano
+        OrderRepositoryImpl orderRepository = new OrderRepositoryImpl();
+        Order near1 = orderRepository.save(order(null, 3, 3, 10));
+        Order near2 = orderRepository.save(order(null, 4, 3, 10));
+        Order far1 = orderRepository.save(order(null, 40, 40, 10));
+        Order far2 = orderRepository.save(order(null, 41, 40, 10));
+        Drone drone1 = saveDrone(50, new ArrayList<>(List.of(near1, far1)));
+        Drone drone2 = saveDrone(50, new ArrayList<>(List.of(far2, near2)));
+        optimizer.optimize(BUDGET);
+        List<Order> plan1 = List.copyOf(drone1.getOrderList());
+        List<Order> plan2 = List.copyOf(drone2.getOrderList());
+        Order extra = orderRepository.save(order(null, 5, 5, 10));
+        OrderAllocatorImpl orderAllocator = new OrderAllocatorImpl(orderRepository, droneRepository, new DroneValidator());
+        OrderServiceImpl orderService = new OrderServiceImpl(orderRepository, orderAllocator,
+                new DirectOrderIntake(orderAllocator), droneRepository);
+
+        // When
+        orderService.allocateUnassignedOrders();
+
+        // Then
+        assertTrue(drone1.getOrderList().contains(extra) || drone2.getOrderList().contains(extra));
+        assertEquals(plan1, withoutOrder(drone1.getOrderList(), extra));
+        assertEquals(plan2, withoutOrder(drone2.getOrderList(), extra));
+    }
+
+    @Test
+    void testConstructor_ShouldRejectNonPositiveBudget() {
+        assertThrows(IllegalArgumentException.class, () -> new PlanOptimizer(droneRepository, routePlanner, 1000, 0));
+    }
+
+    private int totalLength(Drone... drones) {
+        int total = 0;
+        for (Drone drone : drones) {
+            if (drone.hasOrders()) {
+                total += routePlanner.routeLength(1, 1, drone.getOrderList());
+            }
+        }
+        return total;
+    }
+
+    private List<Order> withoutOrder(List<Order> orders, Order removed) {
+        return orders.stream().filter(order -> order != removed).toList();
+    }
+
+    private Order order(Long id, int x, int y, int weight) {
+        return new Order(id, x, y, weight, Priority.MEDIUM, false);
+    }
+
+    private Drone saveDrone(int weightLimit, List<Order> orders) {
+        return droneRepository.save(Drone.builder()
+                .positionX(1)
+                .positionY(1)
+                .weightLimit(weightLimit)
+                .distancePerCargo(100)
+                .battery(100.0)
+                .state(DroneState.IDLE)
+                .orderList(orders)
+                .build());
+    }
+}
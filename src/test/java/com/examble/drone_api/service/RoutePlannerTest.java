@@ -0,0 +1,98 @@
+package com.examble.drone_api.service;
+
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.model.type.DroneState;
+import com.examble.drone_api.model.type.Priority;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoutePlannerTest {
+
+    private final RoutePlanner routePlanner = new RoutePlanner();
+
+    @Test
+    void testPlanRoute_ShouldVisitCollinearStopsInOrder() {
+        // Given
+        Order far = new Order(1L, 10, 1, 5, Priority.HIGH, false);
+        Order near = new Order(2L, 3, 1, 5, Priority.HIGH, false);
+        Order middle = new Order(3L, 7, 1, 5, Priority.HIGH, false);
+        Drone drone = createDrone(new ArrayList<>(List.of(far, near, middle)));
+
+        // When
+        routePlanner.planRoute(drone);
+
+        // Then
+        assertEquals(List.of(near, middle, far), drone.getOrderList());
+    }
+
+    @Test
+    void testPlan_ShouldRemoveCrossingLeftByNearestNeighbour() {
+        // Given: o vizinho mais próximo faz (5,5), (2,6), (6,1), (10,10) e volta: 30 células;
+        // as melhores rotas, como (2,6), (5,5), (10,10), (6,1), têm 27
+        Order a = new Order(1L, 2, 6, 5, Priority.HIGH, false);
+        Order b = new Order(2L, 5, 5, 5, Priority.HIGH, false);
+        Order c = new Order(3L, 10, 10, 5, Priority.HIGH, false);
+        Order d = new Order(4L, 6, 1, 5, Priority.HIGH, false);
+        List<Order> stops = List.of(a, b, c, d);
+
+        // When
+        List<Order> route = routePlanner.plan(1, 1, stops);
+
+        // Then
+        assertEquals(new HashSet<>(stops), new HashSet<>(route));
+        assertEquals(27, routePlanner.routeLength(1, 1, route));
+    }
+
+    @Test
+    void testPlan_ShouldNeverBeLongerThanAllocationOrder() {
+        // Given
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            List<Order> stops = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                stops.add(new Order((long) i, 1 + random.nextInt(100), 1 + random.nextInt(100), 5, Priority.LOW, false));
+            }
+
+            // When
+            List<Order> route = routePlanner.plan(1, 1, stops);
+
+            // Then
+            assertEquals(stops.size(), route.size());
+            assertEquals(new HashSet<>(stops), new HashSet<>(route));
+            assertTrue(routePlanner.routeLength(1, 1, route) <= routePlanner.routeLength(1, 1, stops));
+        }
+    }
+
+    @Test
+    void testPlanRoute_ShouldIgnoreSingleStop() {
+        // Given
+        Order only = new Order(1L, 10, 10, 5, Priority.HIGH, false);
+        Drone drone = createDrone(new ArrayList<>(List.of(only)));
+
+        // When
+        routePlanner.planRoute(drone);
+
+        // Then
+        assertEquals(List.of(only), drone.getOrderList());
+    }
+
+    private Drone createDrone(List<Order> orders) {
+        return Drone.builder()
+                .id(1L)
+                .positionX(1)
+                .positionY(1)
+                .weightLimit(50)
+                .distancePerCargo(20)
+                .battery(100.0)
+                .state(DroneState.IDLE)
+                .orderList(orders)
+                .build();
+    }
+}
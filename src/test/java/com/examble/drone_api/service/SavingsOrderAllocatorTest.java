@@ -0,0 +1,163 @@
+package com.examble.drone_api.service;
+
+import com.examble.drone_api.model.Drone;
+import com.examble.drone_api.model.Order;
+import com.examble.drone_api.model.type.DroneState;
+import com.examble.drone_api.model.type.Priority;
+import com.examble.drone_api.repository.DroneRepositoryImpl;
+import com.examble.drone_api.repository.OrderRepositoryImpl;
+import com.examble.drone_api.validation.DroneValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SavingsOrderAllocatorTest {
+
+    private DroneRepositoryImpl droneRepository;
+    private OrderRepositoryImpl orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        droneRepository = new DroneRepositoryImpl();
+        orderRepository = new OrderRepositoryImpl();
+    }
+
+    @Test
+    void testAllocateOrders_ShouldServeNeighbouringDestinationsInOneTrip() {
+        // Given
+        Drone drone1 = saveDrone(50, 50);
+        Drone drone2 = saveDrone(50, 50);
+        Order east1 = saveOrder(20, 1, 10, Priority.MEDIUM);
+        Order east2 = saveOrder(22, 2, 10, Priority.MEDIUM);
+        Order north1 = saveOrder(1, 20, 10, Priority.MEDIUM);
+        Order north2 = saveOrder(2, 22, 10, Priority.MEDIUM);
+
+        // When
+        allocator().allocateOrders();
+
+        // Then
+        List<List<Order>> trips = List.of(drone1.getOrderList(), drone2.getOrderList());
+        assertTrue(trips.stream().anyMatch(trip -> trip.containsAll(List.of(east1, east2))));
+        assertTrue(trips.stream().anyMatch(trip -> trip.containsAll(List.of(north1, north2))));
+    }
+
+    @Test
+    void testAllocateOrders_ShouldRespectWeightLimit() {
+        // Given
+        Drone drone1 = saveDrone(30, 50);
+        Drone drone2 = saveDrone(30, 50);
+        saveOrder(20, 20, 20, Priority.MEDIUM);
+        saveOrder(21, 20, 20, Priority.MEDIUM);
+
+        // When
+        allocator().allocateOrders();
+
+        // Then
+        assertEquals(20, drone1.getTotalWeight());
+        assertEquals(20, drone2.getTotalWeight());
+    }
+
+    @Test
+    void testAllocateOrders_ShouldServeHigherPriorityTripsFirst_WhenFleetIsShort() {
+        // Given
+        Drone drone = saveDrone(20, 50);
+        saveOrder(30, 30, 20, Priority.LOW);
+        Order high = saveOrder(5, 5, 20, Priority.HIGH);
+
+        // When
+        allocator().allocateOrders();
+
+        // Then
+        assertEquals(List.of(high), drone.getOrderList());
+    }
+
+    @Test
+    void testAllocateOrders_ShouldSplitTrip_WhenNoFreeDroneCarriesItWhole() {
+        // Given: a viagem de 50 kg é planejada para o drone grande, que já não está livre
+        Drone large = saveDrone(50, 50);
+        Drone small1 = saveDrone(25, 50);
+        Drone small2 = saveDrone(25, 50);
+        saveOrder(10, 10, 50, Priority.HIGH);
+        saveOrder(20, 20, 25, Priority.MEDIUM);
+        saveOrder(21, 20, 25, Priority.MEDIUM);
+
+        // When
+        allocator().allocateOrders();
+
+        // Then
+        assertEquals(50, large.getTotalWeight());
+        assertEquals(25, small1.getTotalWeight());
+        assertEquals(25, small2.getTotalWeight());
+    }
+
+    @Test
+    void testAllocateOrders_ShouldHandleThousandsOfOrders() {
+        // Given
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            saveDrone(50, 200);
+        }
+        for (int i = 0; i < 5000; i++) {
+            saveOrder(1 + random.nextInt(100), 1 + random.nextInt(100), 1 + random.nextInt(10), Priority.LOW);
+        }
+        SavingsOrderAllocator allocator = allocator();
+
+        // When
+        assertTimeoutPreemptively(Duration.ofSeconds(10), allocator::allocateOrders);
+
+        // Then
+        List<Drone> loaded = droneRepository.findAll().stream().filter(Drone::hasOrders).toList();
+        assertEquals(5000, loaded.stream().mapToInt(drone -> drone.getOrderList().size()).sum());
+        assertTrue(loaded.stream().allMatch(drone -> drone.getTotalWeight() <= 50));
+        assertTrue(loaded.size() < 2000);
+    }
+
+    @Test
+    void testAllocate_ShouldJoinTripWithPositiveSaving() {
+        // Given
+        Drone loaded = saveDrone(50, 50);
+        Drone empty = saveDrone(20, 50);
+        loaded.getOrderList().add(saveOrder(20, 20, 10, Priority.HIGH));
+        Order neighbour = saveOrder(21, 21, 10, Priority.HIGH);
+
+        // When & Then
+        assertEquals(loaded, allocator().allocate(neighbour).orElseThrow());
+        assertFalse(empty.hasOrders());
+    }
+
+    @Test
+    void testAllocate_ShouldReturnEmpty_WhenNoDroneReachesDestination() {
+        // Given
+        saveDrone(50, 5);
+        Order farOrder = saveOrder(90, 90, 5, Priority.HIGH);
+
+        // When & Then
+        assertTrue(allocator().allocate(farOrder).isEmpty());
+    }
+
+    private SavingsOrderAllocator allocator() {
+        return new SavingsOrderAllocator(orderRepository, droneRepository, new DroneValidator(), 32);
+    }
+
+    private Drone saveDrone(int weightLimit, int distancePerCargo) {
+        return droneRepository.save(Drone.builder()
+                .positionX(1)
+                .positionY(1)
+                .weightLimit(weightLimit)
+                .distancePerCargo(distancePerCargo)
+                .battery(100.0)
+                .state(DroneState.IDLE)
+                .orderList(new ArrayList<>())
+                .build());
+    }
+
+    private Order saveOrder(int x, int y, int weight, Priority priority) {
+        return orderRepository.save(new Order(null, x, y, weight, priority, false));
+    }
+}
@@ -0,0 +1,80 @@
+package com.examble.drone_api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentLongLongMapTest {
+
+    private static final long ABSENT = Long.MIN_VALUE;
+
+    @Test
+    void testOperations_ShouldMatchHashMap() {
+        // Given: inclui a chave 0, guardada fora da tabela
+        ConcurrentLongLongMap map = new ConcurrentLongLongMap();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(5);
+
+        // When & Then
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(5_000) - 100L;
+            if (random.nextBoolean()) {
+                map.put(key, i);
+                expected.put(key, (long) i);
+            } else {
+                assertEquals(expected.getOrDefault(key, ABSENT), map.remove(key, ABSENT));
+                expected.remove(key);
+            }
+            assertEquals(expected.getOrDefault(key, ABSENT), map.get(key, ABSENT));
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+        }
+        assertEquals(expected.size(), map.size());
+        for (long key = -100; key < 4_900; key++) {
+            assertEquals(expected.getOrDefault(key, ABSENT), map.get(key, ABSENT));
+        }
+    }
+
+    @Test
+    void testGet_ShouldNeverSeeTornEntries_WhileWritersResize() throws Exception {
+        // Given: o valor de cada chave é sempre a própria chave
+        ConcurrentLongLongMap map = new ConcurrentLongLongMap();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        Future<?> writer = executor.submit(() -> {
+            for (long key = 1; key <= 500_000; key++) {
+                map.put(key, key);
+                if (key % 3 == 0) {
+                    map.remove(key - 1, ABSENT);
+                }
+            }
+        });
+        Future<?>[] readers = new Future<?>[3];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = executor.submit(() -> {
+                Random random = new Random();
+                while (!writer.isDone()) {
+                    long key = 1 + random.nextInt(500_000);
+                    long value = map.get(key, ABSENT);
+                    assertTrue(value == ABSENT || value == key, "valor inconsistente para " + key);
+                }
+            });
+        }
+        writer.get(30, TimeUnit.SECONDS);
+        for (Future<?> reader : readers) {
+            reader.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(500_000 - 500_000 / 3, map.size());
+    }
+}
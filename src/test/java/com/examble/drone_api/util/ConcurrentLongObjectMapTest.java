@@ -0,0 +1,70 @@
+package com.examble.drone_api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentLongObjectMapTest {
+
+    @Test
+    void testOperations_ShouldMatchHashMap() {
+        // Given: poucas chaves para forçar colisões, remoções no meio das sondagens e redimensionamentos
+        ConcurrentLongObjectMap<String> map = new ConcurrentLongObjectMap<>();
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(11);
+
+        // When & Then
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(5_000) - 100L;
+            switch (random.nextInt(4)) {
+                case 0 -> assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+                case 1 -> assertEquals(expected.remove(key), map.remove(key));
+                case 2 -> assertEquals(expected.putIfAbsent(key, "p" + i), map.putIfAbsent(key, "p" + i));
+                default -> assertEquals(expected.computeIfAbsent(key, k -> "c" + k),
+                        map.computeIfAbsent(key, k -> "c" + k));
+            }
+            assertEquals(expected.get(key), map.get(key));
+        }
+        assertEquals(expected.size(), map.size());
+        Map<Long, String> copy = new HashMap<>();
+        map.forEach((value, key) -> copy.put(key, value));
+        assertEquals(expected, copy);
+        assertEquals(new HashSet<>(expected.values()), new HashSet<>(map.values()));
+    }
+
+    @Test
+    void testComputeIfAbsent_ShouldCreateOneValuePerKey_WhenCalledConcurrently() throws InterruptedException {
+        // Given
+        ConcurrentLongObjectMap<Object> map = new ConcurrentLongObjectMap<>();
+        AtomicInteger created = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        for (int thread = 0; thread < 8; thread++) {
+            executor.submit(() -> {
+                for (long key = 1; key <= 20_000; key++) {
+                    map.computeIfAbsent(key, k -> {
+                        created.incrementAndGet();
+                        return new Object();
+                    });
+                    assertNotNull(map.get(key));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(20_000, map.size());
+        assertEquals(20_000, created.get());
+    }
+}